@@ -0,0 +1,179 @@
+package AudioController;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.File;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Loads images from the file system, such as the playlist images chosen by users, and cover art through
+ * the {@link ImageCache}, without blocking the FX thread.
+ * <p>
+ * {@link #load(ImageView, String, Image)} shows a placeholder straight away and decodes the file on the
+ * {@link IOExecutor}, at the size the view shows it; {@link #loadResource(ImageView, String, double, double)}
+ * does the same for a resource that is not in the cache yet, and shows a cached one at once. Decoding is
+ * CPU-bound, so at most half as many decodes as there are processors, and at least two, run at once.
+ * When the decode finishes, the image is swapped in on the FX thread, unless the view has been given
+ * another image since or has left its scene. Loading another image into the same view, or removing the
+ * view from its scene, cancels a load that is still waiting to decode, so rows that scroll away or
+ * scenes the user navigates away from do not keep the decoders busy.
+ * </p>
+ *
+ * <p>
+ * Methods of this class must be called on the FX thread.
+ * </p>
+ */
+public class AsyncImageLoader {
+
+    private static final int WORKER_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Keys of the per-view state kept in ImageView.getProperties()
+    private static final String REQUEST_KEY = AsyncImageLoader.class.getName() + ".request";
+    private static final String LISTENER_KEY = AsyncImageLoader.class.getName() + ".listener";
+
+    // Only this many loads decode at once; the rest wait for a permit
+    private static final Semaphore decodePermits = new Semaphore(WORKER_COUNT);
+
+    private AsyncImageLoader() {}
+
+    /**
+     * Shows a placeholder in a view, then decodes an image file in the background and shows it instead.
+     * If the file is missing or cannot be decoded, the placeholder stays.
+     *
+     * @param view        the view to show the image in.
+     * @param filePath    the absolute path of the image file; null shows only the placeholder.
+     * @param placeholder the image to show until the file is decoded; may be null.
+     */
+    public static void load(ImageView view, String filePath, Image placeholder) {
+        cancel(view);
+        view.setImage(placeholder);
+        if (filePath == null || filePath.isEmpty()) {
+            return;
+        }
+        cancelWhenRemoved(view);
+
+        double scale = ImageCache.screenScale();
+        double width = view.getFitWidth() * scale;
+        double height = view.getFitHeight() * scale;
+        start(view, () -> decode(filePath, width, height));
+    }
+
+    /**
+     * Shows an image resource in a view, from the {@link ImageCache} if it is there and otherwise once
+     * the cache has decoded it in the background. The view is cleared while the image decodes, so a
+     * reused list row does not show the image of its previous item.
+     *
+     * @param view         the view to show the image in.
+     * @param resourcePath the resource path of the image, e.g. {@code /coverArt/song.png}; null clears
+     *                     the view.
+     * @param width        the width to fit the image in, or 0 for the natural size.
+     * @param height       the height to fit the image in, or 0 for the natural size.
+     */
+    public static void loadResource(ImageView view, String resourcePath, double width, double height) {
+        cancel(view);
+        Image cached = resourcePath == null ? null : ImageCache.getInstance().getIfCached(resourcePath, width, height);
+        view.setImage(cached);
+        if (resourcePath == null || cached != null) {
+            return;
+        }
+        cancelWhenRemoved(view);
+        double scale = ImageCache.screenScale();
+        start(view, () -> ImageCache.getInstance().get(resourcePath, width, height, scale));
+    }
+
+    /**
+     * Decodes an image on the {@link IOExecutor} once a decode permit is free, and swaps it into the view
+     * on the FX thread if the view still wants it.
+     */
+    private static void start(ImageView view, Supplier<Image> decoder) {
+        Request request = new Request();
+        view.getProperties().put(REQUEST_KEY, request);
+        request.future = IOExecutor.executor().submit(() -> {
+            decodePermits.acquireUninterruptibly();
+            Image image;
+            try {
+                if (request.cancelled) {
+                    return; // Cancelled while waiting for a permit
+                }
+                image = decoder.get();
+            } finally {
+                decodePermits.release();
+            }
+            if (image != null) {
+                show(view, request, image);
+            }
+        });
+    }
+
+    /**
+     * Decodes an image file at a size in device pixels.
+     *
+     * @return the image, or null if the file is missing or cannot be decoded.
+     */
+    private static Image decode(String filePath, double width, double height) {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            System.out.println("Image file does not exist: " + filePath);
+            return null;
+        }
+        // Decode on this thread rather than with background loading, so the worker does the work
+        Image image = new Image(file.toURI().toString(), width, height, true, true, false);
+        if (image.isError()) {
+            System.out.println("Error loading image from path: " + filePath);
+            return null;
+        }
+        return image;
+    }
+
+    private static void show(ImageView view, Request request, Image image) {
+        Platform.runLater(() -> {
+            if (view.getProperties().get(REQUEST_KEY) == request) {
+                view.getProperties().remove(REQUEST_KEY);
+                view.setImage(image);
+            }
+        });
+    }
+
+    /**
+     * Cancels the pending load of a view, if any. The view keeps showing what it shows now.
+     *
+     * @param view the view whose load to cancel.
+     */
+    public static void cancel(ImageView view) {
+        Object request = view.getProperties().remove(REQUEST_KEY);
+        if (request instanceof Request pending && pending.future != null) {
+            pending.cancelled = true;
+            pending.future.cancel(false);
+        }
+    }
+
+    /**
+     * Makes a view cancel its pending load when it is removed from its scene. Installed once per view.
+     */
+    private static void cancelWhenRemoved(ImageView view) {
+        if (view.getProperties().containsKey(LISTENER_KEY)) {
+            return;
+        }
+        ChangeListener<Scene> listener = (observable, oldScene, newScene) -> {
+            if (newScene == null) {
+                cancel(view);
+            }
+        };
+        view.sceneProperty().addListener(listener);
+        view.getProperties().put(LISTENER_KEY, listener);
+    }
+
+    /**
+     * A load in progress. Compared by identity to tell whether a finished load is still wanted.
+     */
+    private static final class Request {
+        private Future<?> future;
+        private volatile boolean cancelled;
+    }
+}
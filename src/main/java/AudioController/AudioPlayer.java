@@ -1,20 +1,24 @@
 package AudioController;
 
 import AudioController.controllers.HomeScene;
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.media.Media;
+import javafx.scene.media.MediaException;
+import javafx.scene.media.MediaMarkerEvent;
 import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
 
 import java.net.URL;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 
 
 /**
@@ -25,21 +29,76 @@ import java.util.List;
  * The {@link AudioPlayer} class interacts with a {@link HomeScene} to update the user interface
  * and fetches audio file details from a database. It is a singleton class to ensure only one
  * instance of the player exists during the application's lifecycle.
+ *
+ * <p>
+ * While a track plays, the player resolves the track that {@link #playNext()} would pick (respecting
+ * shuffle and loop) and prepares a paused {@link MediaPlayer} for it, so the next track starts as soon
+ * as the current one ends instead of after a database lookup and a fresh media load. The prepared
+ * player is discarded whenever the queue, shuffle or loop state changes, and players that are no
+ * longer used are disposed of to release their native resources. Looking up a track's file, which
+ * queries the database and the {@link MediaStore}, runs on the {@link IOExecutor}; a track chosen
+ * while an earlier one is still being looked up wins. Apart from the lookups, this class is used on
+ * the FX thread.
+ * </p>
+ *
+ * <p>
+ * With a crossfade set (see {@link #setCrossfadeDuration(double)}), the prepared player starts that
+ * long before the current track ends and the volumes of both are ramped with an equal-power curve.
+ * The start of the fade is a marker on the current media, so it is triggered by the playback position
+ * itself. The next track is only prepared once the fade has finished and the outgoing player has been
+ * disposed of, so no more than two players exist at any time.
+ * </p>
+ *
+ * <p>
+ * Once {@link #restoreQueue(int)} has been called for a user, every change to the queue, the current
+ * track, shuffle and loop, and every few seconds the playback position, is recorded in that user's
+ * {@link QueueJournal}, so the next session starts from the same place. The position is taken from
+ * the {@link PlaybackPositionService}, which also feeds the progress slider.
+ * </p>
  */
 public class AudioPlayer implements SceneWithHomeContext {
 
     private HomeScene homeScene;
     private static AudioPlayer instance;
     private static MediaPlayer mediaPlayer;
-    private List<Integer> audioQueue = new ArrayList<>();
-    private List<Integer> originalQueue = new ArrayList<>();
-    private int currentIndex = 0;
+    private final PlayQueue audioQueue = new PlayQueue();
+    private final Random random = new Random();
+    private final ShuffleOrder shuffleOrder = new ShuffleOrder(random);
     private BooleanProperty isPlaying = new SimpleBooleanProperty(false);
     private boolean isLooped = false;
     private boolean isShuffled = false;
     private double volume = 0.5; // Default volume (50%)
 
-    private AudioPlayer() {}
+    public static final double MAX_CROSSFADE_SECONDS = 12;
+    private static final String CROSSFADE_MARKER = "crossfade";
+    private double crossfadeSeconds = 0;
+    private Crossfade crossfade;
+
+    private static final Duration POSITION_SAVE_INTERVAL = Duration.seconds(5);
+    private QueueJournal journal;
+    private int journalUserID = -1;
+    private Duration lastSavedPosition = Duration.ZERO;
+
+    private final PlaybackPositionService positionService = new PlaybackPositionService(() -> mediaPlayer);
+    private PlaybackPositionService.Subscription positionSaving;
+
+    // The track playNext() will play, and its player once prepared; generation guards stale lookups
+    private int preloadedIndex = -1;
+    private MediaPlayer preloadedPlayer;
+    private int preloadGeneration = 0;
+    // Guards lookups for playAt() and restoreQueue() against a track chosen after them
+    private int playGeneration = 0;
+
+    private AudioPlayer() {
+        String configured = System.getProperty("crossfadeSeconds");
+        if (configured != null) {
+            try {
+                setCrossfadeDuration(Double.parseDouble(configured));
+            } catch (NumberFormatException e) {
+                System.out.println("Ignoring invalid crossfadeSeconds: " + configured);
+            }
+        }
+    }
 
 
     //Playback Controllers
@@ -54,114 +113,427 @@ public class AudioPlayer implements SceneWithHomeContext {
      * @param audioID the ID of the audio to play.
      */
     public void playAudio(int audioID) {
-        currentIndex = audioQueue.indexOf(audioID);
-        System.out.println("Trying to play audioID: " + audioID + " at index: " + currentIndex);
-
-        if (currentIndex != -1) { // If the audioID is found in the queue
-            String audioFileName = ResourceLoader.getAudioFileName(audioID);
-            if (audioFileName != null) {
-                String filePath = "/audioFiles/" + audioFileName;
-                URL resource = AudioPlayer.class.getResource(filePath);
-
-                if (resource != null) {
-                    playMedia(resource.toString());
-
-                    if (homeScene != null) {
-                        Platform.runLater(() -> homeScene.loadCurrentSong(currentIndex));
-                    }
-                } else {
-                    System.out.println("Audio file not found in resources: " + filePath);
-                }
-            } else {
-                System.out.println("No audio found for audioID: " + audioID);
+        int index = audioQueue.indexOf(audioID);
+        System.out.println("Trying to play audioID: " + audioID + " at index: " + index);
+
+        if (index != -1) { // If the audioID is found in the queue
+            if (isShuffled) {
+                shuffleOrder.jumpTo(index);
             }
+            playAt(index);
         } else {
             System.out.println("AudioID not found in the queue: " + audioID);
         }
     }
 
+    /**
+     * Makes the queue entry at a position the current one and plays it. Used instead of
+     * {@link #playAudio(int)} when moving through the queue, so the right entry plays when a track is
+     * queued more than once.
+     *
+     * @param index the position in the queue.
+     */
+    private void playAt(int index) {
+        setCurrentIndex(index);
+        playResolved(audioQueue.get(index), null, true);
+    }
+
+    /**
+     * Looks up the file of a track on the {@link IOExecutor} and plays it once found, unless another
+     * track has started or been chosen in the meantime.
+     *
+     * @param audioID  the ID of the audio.
+     * @param startAt  the position to start at, or null to start at the beginning.
+     * @param autoPlay true to start playing, false to leave the player paused.
+     */
+    private void playResolved(int audioID, Duration startAt, boolean autoPlay) {
+        int generation = ++playGeneration;
+        IOExecutor.supply(() -> resolveAudioResource(audioID)).whenComplete((resource, e) -> {
+            if (e != null) {
+                e.printStackTrace();
+                System.out.println("Error looking up audioID: " + audioID);
+                return;
+            }
+            Platform.runLater(() -> {
+                if (resource != null && generation == playGeneration) {
+                    playMedia(resource, startAt, autoPlay);
+                    showCurrentSong();
+                }
+            });
+        });
+    }
+
+    /**
+     * Makes the queue entry at a position the current one and records it in the journal.
+     *
+     * @param index the position in the queue.
+     */
+    private void setCurrentIndex(int index) {
+        audioQueue.setCurrentIndex(index);
+        lastSavedPosition = Duration.ZERO;
+        record(journal -> {
+            journal.current(index);
+            journal.position(0);
+        });
+    }
+
+    /**
+     * Shows the current entry in the current song pane of the {@link HomeScene}.
+     */
+    private void showCurrentSong() {
+        if (homeScene != null) {
+            Platform.runLater(() -> homeScene.loadCurrentSong(audioQueue.getCurrentIndex()));
+        }
+    }
+
+    /**
+     * Looks up the audio file of a track and returns the URI to play it from: its blob in the
+     * {@link MediaStore} once it has been imported, and its resource until then.
+     *
+     * @param audioID the ID of the audio.
+     * @return the URI of the audio file, or null if the track or its file is not found.
+     */
+    private static String resolveAudioResource(int audioID) {
+        String audioFileName = ResourceLoader.getAudioFileName(audioID);
+        if (audioFileName == null) {
+            System.out.println("No audio found for audioID: " + audioID);
+            return null;
+        }
+
+        String filePath = "/audioFiles/" + audioFileName;
+        URL resource = AudioPlayer.class.getResource(filePath);
+        if (resource == null) {
+            System.out.println("Audio file not found in resources: " + filePath);
+            return null;
+        }
+        return MediaStore.getInstance().playbackUri(resource);
+    }
+
     /**
      * Initializes and starts playing the media from the specified file path.
-     * Stops the current media player (if any) and creates a new one.
+     * Disposes of the current media player (if any) and creates a new one.
      * <p>
      * Also handles setting the volume and behavior when the media finishes playing.
      * </p>
      *
      * @param filePath the path to the audio file.
+     * @param startAt  the position to start at once the media is ready, or null to start at the beginning.
+     * @param autoPlay true to start playing, false to leave the player paused.
      */
-    private void playMedia(String filePath) {
-        // Stop the current player if one exists
-        if (mediaPlayer != null) {
-            mediaPlayer.stop();
+    private void playMedia(String filePath, Duration startAt, boolean autoPlay) {
+        discardPreload();
+
+        MediaPlayer player;
+        try {
+            player = new MediaPlayer(new Media(filePath));
+        } catch (MediaException e) {
+            e.printStackTrace();
+            System.out.println("Error initializing MediaPlayer for file: " + filePath);
+            return;
         }
 
-        // Create a new Media object
-        Media media = new Media(filePath);
-        mediaPlayer = new MediaPlayer(media);
-
-        if (mediaPlayer != null) {
-            mediaPlayer.setVolume(volume);
-            mediaPlayer.setOnEndOfMedia(() -> {
-                    playNext();
-            });
+        switchTo(player);
+        player.setOnReady(() -> {
+            System.out.println("Media is ready with duration: " + player.getTotalDuration());
+            if (startAt != null) {
+                player.seek(startAt);
+            }
+            showCurrentSong();
+            onCurrentReady(player);
+        });
 
-            mediaPlayer.setOnReady(() -> {
-                System.out.println("Media is ready with duration: " + mediaPlayer.getTotalDuration());
-                if (homeScene != null) {
-                    Platform.runLater(() -> homeScene.loadCurrentSong(currentIndex));
-                }
-            });
+        if (autoPlay) {
+            player.play();
+        }
+        setPlaying(autoPlay);
+    }
 
-            mediaPlayer.play();
-            setPlaying(true);
-        } else {
-            System.out.println("Error initializing MediaPlayer for file: " + filePath);
+    /**
+     * Makes a player the current one and disposes of the previous player, so its decoder and audio
+     * buffers are released rather than left to the garbage collector.
+     *
+     * @param player the player to make current.
+     */
+    private void switchTo(MediaPlayer player) {
+        playGeneration++;
+        finishCrossfade();
+        MediaPlayer previous = mediaPlayer;
+        mediaPlayer = player;
+
+        player.setVolume(volume);
+        player.setOnEndOfMedia(this::playNext);
+
+        if (previous != null) {
+            previous.setOnEndOfMedia(null);
+            previous.setOnReady(null);
+            previous.setOnMarker(null);
+            previous.stop();
+            previous.dispose();
         }
     }
 
     /**
      * Plays the next audio in the queue, either sequentially or shuffled, depending on the settings.
      * If looping is enabled, it will continue playing the queue cyclically.
+     * <p>
+     * If the next track has already been prepared, its player is started straight away.
+     * </p>
      */
     public void playNext() {
-        if (!audioQueue.isEmpty()) {
-            if (isShuffled) {
-                List<Integer> remainingQueue = new ArrayList<>(audioQueue);
-                remainingQueue.remove(currentIndex);
+        if (audioQueue.isEmpty()) {
+            return;
+        }
 
-                Collections.shuffle(remainingQueue);
-                currentIndex = audioQueue.indexOf(remainingQueue.get(0));
-            } else {
-                if (!isLooped) {
-                    if (currentIndex + 1 < audioQueue.size()) {
-                        currentIndex++;
-                    } else {
-                        return;
-                    }
-                } else {
-                    currentIndex = (currentIndex + 1) % audioQueue.size();
-                }
+        int next = nextIndex();
+        if (next == -1) {
+            return;
+        }
+
+        MediaPlayer prepared = preloadedIndex == next ? preloadedPlayer : null;
+        advanceTo(next);
+        if (prepared == null) {
+            playAt(next);
+            return;
+        }
+
+        // Take the prepared player so discardPreload() does not dispose of it
+        preloadedPlayer = null;
+        discardPreload();
+        switchTo(prepared);
+        prepared.play();
+        setPlaying(true);
+
+        showCurrentSong();
+        whenReady(prepared);
+    }
+
+    /**
+     * Runs {@link #onCurrentReady(MediaPlayer)} for a prepared player that has just become the current
+     * one, now if it is already ready, or else once it is.
+     */
+    private void whenReady(MediaPlayer player) {
+        if (player.getStatus() == MediaPlayer.Status.READY || player.getStatus() == MediaPlayer.Status.PLAYING) {
+            onCurrentReady(player);
+        } else {
+            player.setOnReady(() -> onCurrentReady(player));
+        }
+    }
+
+    /**
+     * Sets up the current player once its duration is known: places the crossfade marker and prepares
+     * the next track.
+     */
+    private void onCurrentReady(MediaPlayer player) {
+        if (player != mediaPlayer) {
+            return;
+        }
+        armCrossfade(player);
+        preloadNext();
+    }
+
+    /**
+     * Places the marker at which the crossfade into the next track starts, or removes it if the
+     * crossfade is off. The fade is shortened to half the track for tracks shorter than two fades.
+     */
+    private void armCrossfade(MediaPlayer player) {
+        Media media = player.getMedia();
+        media.getMarkers().remove(CROSSFADE_MARKER);
+        player.setOnMarker(null);
+
+        Duration total = media.getDuration();
+        if (crossfadeSeconds <= 0 || total == null || total.isUnknown() || total.isIndefinite()) {
+            return;
+        }
+        Duration fade = Duration.seconds(Math.min(crossfadeSeconds, total.toSeconds() / 2));
+        media.getMarkers().put(CROSSFADE_MARKER, total.subtract(fade));
+        player.setOnMarker((MediaMarkerEvent event) -> {
+            if (CROSSFADE_MARKER.equals(event.getMarker().getKey())) {
+                startCrossfade(fade);
             }
+        });
+    }
+
+    /**
+     * Starts the prepared next track silently and fades it in while the current one fades out. If no
+     * track has been prepared, nothing happens and the current track plays to its end as usual.
+     *
+     * @param fade the length of the fade.
+     */
+    private void startCrossfade(Duration fade) {
+        MediaPlayer prepared = preloadedPlayer;
+        if (crossfade != null || prepared == null || mediaPlayer == null) {
+            return;
+        }
+
+        playGeneration++;
+        MediaPlayer outgoing = mediaPlayer;
+        outgoing.setOnEndOfMedia(null);
+        outgoing.setOnMarker(null);
+
+        preloadedPlayer = null;
+        advanceTo(preloadedIndex);
+        discardPreload();
+
+        mediaPlayer = prepared;
+        prepared.setOnEndOfMedia(this::playNext);
+        prepared.setVolume(0);
+        prepared.play();
+        setPlaying(true);
+
+        crossfade = new Crossfade(outgoing, prepared, fade);
+        crossfade.setOnFinished(event -> finishCrossfade());
+        crossfade.play();
+
+        showCurrentSong();
+    }
 
-            playAudio(audioQueue.get(currentIndex));
+    /**
+     * Ends a running crossfade at once: disposes of the outgoing player and gives the incoming one the
+     * full volume. Stopping the fade early skips its finished handler, so the incoming player, if it is
+     * still the current one, is set up here.
+     */
+    private void finishCrossfade() {
+        if (crossfade == null) {
+            return;
+        }
+        Crossfade finished = crossfade;
+        crossfade = null;
+        finished.stop();
+        finished.outgoing.stop();
+        finished.outgoing.dispose();
+        finished.incoming.setVolume(volume);
+        if (finished.incoming == mediaPlayer) {
+            whenReady(finished.incoming);
+        }
+    }
+
+    /**
+     * Returns the index {@link #playNext()} would move to, without moving there. With shuffle on,
+     * this is the next entry of the {@link ShuffleOrder}.
+     *
+     * @return the index of the next track, or -1 if playback ends after the current track.
+     */
+    private int nextIndex() {
+        int size = audioQueue.size();
+        if (size == 0) {
+            return -1;
+        }
+        if (isShuffled) {
+            return shuffleOrder.peekNext(isLooped);
+        }
+        int currentIndex = audioQueue.getCurrentIndex();
+        if (currentIndex + 1 < size) {
+            return currentIndex + 1;
+        }
+        return isLooped ? 0 : -1;
+    }
+
+    /**
+     * Moves to the track returned by {@link #nextIndex()}, advancing the shuffle order with it.
+     *
+     * @param next the index of the next track.
+     */
+    private void advanceTo(int next) {
+        if (isShuffled) {
+            shuffleOrder.next(isLooped);
+        }
+        setCurrentIndex(next);
+    }
+
+    /**
+     * Chooses the next track and prepares a paused player for it. The track's file is looked up on
+     * the {@link IOExecutor}; the player is created on the FX thread, where it buffers the start of the
+     * track while the current one plays.
+     */
+    private void preloadNext() {
+        discardPreload();
+        int next = nextIndex();
+        if (next == -1) {
+            return;
+        }
+
+        preloadedIndex = next;
+        int audioID = audioQueue.get(next);
+        int generation = preloadGeneration;
+        IOExecutor.supply(() -> resolveAudioResource(audioID)).whenComplete((resource, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                System.out.println("Error looking up audioID: " + audioID);
+                return;
+            }
+            if (resource == null) {
+                return;
+            }
+            Platform.runLater(() -> {
+                if (generation != preloadGeneration) {
+                    return; // The queue, shuffle or loop state changed in the meantime
+                }
+                try {
+                    MediaPlayer player = new MediaPlayer(new Media(resource));
+                    player.setVolume(volume);
+                    player.setOnError(() -> {
+                        System.out.println("Error preloading audioID: " + audioID);
+                        if (preloadedPlayer == player) {
+                            preloadedPlayer = null;
+                        }
+                        player.dispose();
+                    });
+                    preloadedPlayer = player;
+                } catch (MediaException e) {
+                    e.printStackTrace();
+                    System.out.println("Error preloading audioID: " + audioID);
+                }
+            });
+        });
+    }
+
+    /**
+     * Forgets the prepared next track, disposing of its player, and ignores lookups still running.
+     */
+    private void discardPreload() {
+        preloadGeneration++;
+        preloadedIndex = -1;
+        if (preloadedPlayer != null) {
+            preloadedPlayer.dispose();
+            preloadedPlayer = null;
+        }
+    }
+
+    /**
+     * Prepares the next track again after a change to the queue, shuffle or loop state may have
+     * changed which track comes next.
+     */
+    private void refreshPreload() {
+        if (crossfade != null) {
+            return; // The next track is prepared once the running fade has finished
+        }
+        if (mediaPlayer != null && mediaPlayer.getStatus() != MediaPlayer.Status.STOPPED) {
+            preloadNext();
+        } else {
+            discardPreload();
         }
     }
 
     /**
      * Plays the previous audio in the queue, either sequentially or looped, depending on the settings.
+     * With shuffle on, this is the track that was played before the current one.
      */
     public void playPrevious() {
         if (!audioQueue.isEmpty()) {
-            if (!isLooped) {
+            int currentIndex = audioQueue.getCurrentIndex();
+            if (isShuffled) {
+                int previous = shuffleOrder.previous();
+                if (previous != -1) {
+                    playAt(previous);
+                }
+            } else if (!isLooped) {
                 // If not looped, don't go beyond the first song
                 if (currentIndex - 1 >= 0) {
-                    currentIndex--;
-                    playAudio(audioQueue.get(currentIndex));
+                    playAt(currentIndex - 1);
                 }
             } else {
                 // If looped, cycle through the queue normally
-                currentIndex = (currentIndex - 1 + audioQueue.size()) % audioQueue.size();
-                playAudio(audioQueue.get(currentIndex));
+                playAt((currentIndex - 1 + audioQueue.size()) % audioQueue.size());
             }
         }
     }
@@ -172,8 +544,10 @@ public class AudioPlayer implements SceneWithHomeContext {
     public void togglePlayPause() {
         if (mediaPlayer != null) {
             if (isPlaying()) {
+                finishCrossfade();
                 mediaPlayer.pause();
                 setPlaying(false);
+                savePosition(mediaPlayer.getCurrentTime());
             } else {
                 mediaPlayer.play();
                 setPlaying(true);
@@ -190,9 +564,11 @@ public class AudioPlayer implements SceneWithHomeContext {
      */
     public void addToQueue(int audioID) {
         audioQueue.add(audioID);
-        if (!isShuffled) {
-            originalQueue.add(audioID);
+        if (isShuffled) {
+            shuffleOrder.add();
         }
+        record(journal -> journal.insert(audioQueue.size() - 1, audioID));
+        refreshPreload();
     }
     /**
      * Removes a song (identified by its audio ID) from the audio queue.
@@ -200,21 +576,25 @@ public class AudioPlayer implements SceneWithHomeContext {
      * @param audioID the ID of the audio to remove from the queue.
      */
     public void removeFromQueue(int audioID) {
-        audioQueue.remove((Integer) audioID);
-        if (!isShuffled && originalQueue != null) {
-            originalQueue.remove((Integer) audioID);
-        }
-        if (currentIndex >= audioQueue.size()) {
-            currentIndex = Math.max(0, audioQueue.size() - 1);
+        int index = audioQueue.removeValue(audioID);
+        if (index != -1) {
+            if (isShuffled) {
+                shuffleOrder.remove(index);
+            }
+            record(journal -> journal.remove(index));
         }
+        refreshPreload();
     }
     /**
      * Clears the audio queue and stops any currently playing audio.
      */
     public void clearQueue() {
         audioQueue.clear();
-        originalQueue.clear();
-        currentIndex = 0;
+        shuffleOrder.reset(0, -1);
+        record(QueueJournal::clear);
+        playGeneration++;
+        finishCrossfade();
+        discardPreload();
         if (mediaPlayer != null) {
             mediaPlayer.stop();
         }
@@ -222,6 +602,98 @@ public class AudioPlayer implements SceneWithHomeContext {
     }
 
 
+
+    //Saved Queue
+    /**
+     * Restores the queue a user had at the end of their last session and records every change from
+     * now on. The saved track is loaded paused at the saved position once its file has been looked up.
+     * Does nothing if the queue of this user is already being recorded.
+     *
+     * @param userID the ID of the user.
+     */
+    public void restoreQueue(int userID) {
+        if (journal != null && journalUserID == userID) {
+            return;
+        }
+        closeJournal();
+        clearQueue();
+
+        QueueJournal restored = QueueJournal.forUser(userID);
+        QueueJournal.State state = restored.replay(audioQueue);
+        if (state != null) {
+            isLooped = state.looped();
+            isShuffled = state.shuffled();
+            if (isShuffled) {
+                shuffleOrder.reset(audioQueue.size(), audioQueue.getCurrentIndex());
+            }
+        }
+        journal = restored;
+        journalUserID = userID;
+        positionSaving = positionService.subscribe((currentTime, totalDuration) -> {
+            if (Math.abs(currentTime.toMillis() - lastSavedPosition.toMillis()) >= POSITION_SAVE_INTERVAL.toMillis()) {
+                savePosition(currentTime);
+            }
+        });
+
+        Duration position = Duration.millis(state == null ? 0 : state.positionMillis());
+        // Start the journal over from a snapshot, which also drops a record cut off by a crash
+        writeSnapshot((long) position.toMillis());
+
+        int index = audioQueue.getCurrentIndex();
+        if (index != -1) {
+            playResolved(audioQueue.get(index), position.greaterThan(Duration.ZERO) ? position : null, false);
+        }
+    }
+
+    /**
+     * Records the playback position and closes the journal, waiting for it to be written. Called when
+     * the application exits.
+     */
+    public void saveQueue() {
+        if (mediaPlayer != null) {
+            savePosition(mediaPlayer.getCurrentTime());
+        }
+        closeJournal();
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            positionSaving.unsubscribe();
+            journal.close();
+            journal = null;
+            journalUserID = -1;
+        }
+    }
+
+    /**
+     * Applies a change to the journal, if the queue is being recorded, and compacts the journal once it
+     * holds more changes than a snapshot would take.
+     */
+    private void record(Consumer<QueueJournal> change) {
+        if (journal == null) {
+            return;
+        }
+        change.accept(journal);
+        if (journal.needsCompaction(audioQueue.size())) {
+            writeSnapshot((long) lastSavedPosition.toMillis());
+        }
+    }
+
+    private void writeSnapshot(long positionMillis) {
+        if (journal != null) {
+            journal.snapshot(audioQueue.toIntList(), audioQueue.getCurrentIndex(), isShuffled, isLooped, positionMillis);
+        }
+    }
+
+    private void savePosition(Duration position) {
+        if (position == null || position.isUnknown()) {
+            return;
+        }
+        lastSavedPosition = position;
+        record(journal -> journal.position((long) position.toMillis()));
+    }
+
+
     //Getters
     /**
      * Returns the singleton instance of the AudioPlayer.
@@ -248,17 +720,36 @@ public class AudioPlayer implements SceneWithHomeContext {
         return mediaPlayer;
     }
 
+    /**
+     * Returns the service that publishes the playback position of the current player.
+     *
+     * @return the position service.
+     */
+    public PlaybackPositionService getPositionService() {
+        return positionService;
+    }
+
     /**
      * Returns a copy of the current audio queue.
      *
-     * This method returns a new {@link List} containing the IDs of the audio tracks in the current queue.
+     * This method returns a new {@link IntList} containing the IDs of the audio tracks in the current queue.
      * The returned list is a copy, so modifications to it will not affect the original queue. This is useful
      * for cases where you want to access the queue state without altering it.
      *
-     * @return a new {@link List} containing the audio IDs in the current queue.
+     * @return a new {@link IntList} containing the audio IDs in the current queue.
      */
-    public List<Integer> getAudioQueue() {
-        return new ArrayList<>(audioQueue);
+    public IntList getAudioQueue() {
+        return audioQueue.toIntList();
+    }
+
+    /**
+     * Returns the audio ID at a position of the queue, without copying the queue.
+     *
+     * @param index the position in the queue.
+     * @return the audio ID, or -1 if the position is outside the queue.
+     */
+    public int getAudioIDAt(int index) {
+        return index >= 0 && index < audioQueue.size() ? audioQueue.get(index) : -1;
     }
 
     /**
@@ -271,10 +762,7 @@ public class AudioPlayer implements SceneWithHomeContext {
      * @return a new {@link List} containing the audio IDs in the current queue.
      */
     public int getCurrentAudioID() {
-        if (currentIndex >= 0 && currentIndex < audioQueue.size()) {
-            return audioQueue.get(currentIndex);
-        }
-        return -1;
+        return audioQueue.getCurrentAudioID();
     }
 
 
@@ -289,6 +777,29 @@ public class AudioPlayer implements SceneWithHomeContext {
         if (mediaPlayer != null) {
             mediaPlayer.setVolume(volume);
         }
+        if (preloadedPlayer != null) {
+            preloadedPlayer.setVolume(volume);
+        }
+    }
+
+    /**
+     * Sets how long consecutive tracks overlap, fading the current one out and the next one in. Takes
+     * effect from the current track on. The initial value can be given with the
+     * {@code crossfadeSeconds} system property.
+     *
+     * @param seconds the length of the crossfade, between 0 (off) and {@link #MAX_CROSSFADE_SECONDS}.
+     */
+    public void setCrossfadeDuration(double seconds) {
+        if (Double.isNaN(seconds) || seconds < 0 || seconds > MAX_CROSSFADE_SECONDS) {
+            throw new IllegalArgumentException("Crossfade must be between 0 and " + MAX_CROSSFADE_SECONDS + " seconds: " + seconds);
+        }
+        this.crossfadeSeconds = seconds;
+        if (mediaPlayer != null && crossfade == null) {
+            MediaPlayer.Status status = mediaPlayer.getStatus();
+            if (status == MediaPlayer.Status.READY || status == MediaPlayer.Status.PLAYING || status == MediaPlayer.Status.PAUSED) {
+                armCrossfade(mediaPlayer);
+            }
+        }
     }
 
     /**
@@ -298,6 +809,8 @@ public class AudioPlayer implements SceneWithHomeContext {
      */
     public void setLooped(boolean isLooped) {
         this.isLooped = isLooped;
+        record(journal -> journal.looped(isLooped));
+        refreshPreload();
     }
 
     /**
@@ -310,24 +823,14 @@ public class AudioPlayer implements SceneWithHomeContext {
             return; // No change needed if shuffle state is already the same
         }
 
-        int currentAudioID = getCurrentAudioID(); // Track the currently playing song
         this.isShuffled = isShuffled;
 
+        // The queue keeps its order; shuffle only changes the order it is played in
         if (isShuffled) {
-            // Backup the original queue order and shuffle the audioQueue
-            originalQueue = new ArrayList<>(audioQueue);
-            Collections.shuffle(audioQueue);
-        } else {
-            // Restore the original queue order
-            if (originalQueue != null) {
-                audioQueue = new ArrayList<>(originalQueue);
-            }
-        }
-
-        // Update currentIndex to match the current song's new position
-        if (currentAudioID != -1) {
-            currentIndex = audioQueue.indexOf(currentAudioID);
+            shuffleOrder.reset(audioQueue.size(), audioQueue.getCurrentIndex());
         }
+        record(journal -> journal.shuffled(isShuffled));
+        refreshPreload();
     }
 
     /**
@@ -344,14 +847,18 @@ public class AudioPlayer implements SceneWithHomeContext {
     }
 
     /**
-     * Sets the playback queue to a new list of audio IDs.
+     * Sets the playback queue to a copy of the given list of audio IDs.
      * Resets the current index to the beginning of the queue.
      *
      * @param queue the new audio queue.
      */
-    public void setQueue(List<Integer> queue) {
-        audioQueue = queue;
-        currentIndex = 0; // Reset to start of the queue
+    public void setQueue(IntList queue) {
+        audioQueue.setAll(queue); // Starts at the beginning of the queue
+        if (isShuffled) {
+            shuffleOrder.reset(audioQueue.size(), -1);
+        }
+        writeSnapshot(0);
+        refreshPreload();
     }
 
     /**
@@ -401,5 +908,39 @@ public class AudioPlayer implements SceneWithHomeContext {
     public boolean isShuffled() {
         return isShuffled;
     }
+
+    /**
+     * Returns how long consecutive tracks overlap.
+     *
+     * @return the length of the crossfade in seconds, or 0 if crossfading is off.
+     */
+    public double getCrossfadeDuration() {
+        return crossfadeSeconds;
+    }
+
+
+    /**
+     * Ramps the volume of the outgoing player down and of the incoming player up. Uses an equal-power
+     * curve, so the combined loudness stays level through the middle of the fade. Reads the player's
+     * volume on every frame, so volume changes during the fade are followed.
+     */
+    private class Crossfade extends Transition {
+        private final MediaPlayer outgoing;
+        private final MediaPlayer incoming;
+
+        Crossfade(MediaPlayer outgoing, MediaPlayer incoming, Duration duration) {
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+            setCycleDuration(duration);
+            setInterpolator(Interpolator.LINEAR);
+        }
+
+        @Override
+        protected void interpolate(double fraction) {
+            double angle = fraction * Math.PI / 2;
+            outgoing.setVolume(volume * Math.cos(angle));
+            incoming.setVolume(volume * Math.sin(angle));
+        }
+    }
 }
 
@@ -0,0 +1,411 @@
+package AudioController;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache for the catalog reference data that {@link ResourceLoader} reads from the database:
+ * tracks, artists, albums, genres and playlist names and images.
+ * <p>
+ * Each kind of entity lives in its own {@link Region}, which is keyed by unboxed int IDs, bounded in
+ * size (least recently used entries are evicted first), expires entries after a time-to-live, and
+ * counts hits and misses.
+ * Code that writes to the catalog tables must call the matching {@code invalidate...} method so the
+ * next lookup goes back to the database.
+ * </p>
+ *
+ * <p>
+ * This class is a singleton; use {@link #getInstance()} to access it.
+ * </p>
+ */
+public class CatalogCache {
+
+    private static final long CATALOG_TTL_MILLIS = 10 * 60_000;
+    private static final long PLAYLIST_TTL_MILLIS = 60_000;
+
+    private static final CatalogCache instance = new CatalogCache();
+
+    private final Region<TrackInfo> tracks = new Region<>("tracks", 20_000, CATALOG_TTL_MILLIS);
+    private final Region<String> artistNames = new Region<>("artistNames", 2_000, CATALOG_TTL_MILLIS);
+    private final Region<String> artistImagePaths = new Region<>("artistImagePaths", 2_000, CATALOG_TTL_MILLIS);
+    private final Region<String> albumNames = new Region<>("albumNames", 2_000, CATALOG_TTL_MILLIS);
+    private final Region<String> genreNames = new Region<>("genreNames", 500, CATALOG_TTL_MILLIS);
+    private final Region<String> playlistNames = new Region<>("playlistNames", 1_000, PLAYLIST_TTL_MILLIS);
+    private final Region<String> playlistImagePaths = new Region<>("playlistImagePaths", 1_000, PLAYLIST_TTL_MILLIS);
+
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private CatalogCache() {}
+
+    /**
+     * Returns the singleton instance of the CatalogCache.
+     *
+     * @return the CatalogCache instance.
+     */
+    public static CatalogCache getInstance() {
+        return instance;
+    }
+
+
+    //Regions
+    public Region<TrackInfo> tracks() {
+        return tracks;
+    }
+
+    public Region<String> artistNames() {
+        return artistNames;
+    }
+
+    public Region<String> artistImagePaths() {
+        return artistImagePaths;
+    }
+
+    public Region<String> albumNames() {
+        return albumNames;
+    }
+
+    public Region<String> genreNames() {
+        return genreNames;
+    }
+
+    public Region<String> playlistNames() {
+        return playlistNames;
+    }
+
+    public Region<String> playlistImagePaths() {
+        return playlistImagePaths;
+    }
+
+
+    //Invalidation hooks
+    /**
+     * Drops the cached details of a single track. Call after updating its Audio row.
+     *
+     * @param audioID the ID of the audio whose row changed.
+     */
+    public void invalidateTrack(int audioID) {
+        tracks.invalidate(audioID);
+        notifyListeners(Entity.TRACK, audioID);
+    }
+
+    /**
+     * Drops the cached name and image of an artist, and every cached track that embeds the artist's name.
+     *
+     * @param artistID the ID of the artist whose row changed.
+     */
+    public void invalidateArtist(int artistID) {
+        artistNames.invalidate(artistID);
+        artistImagePaths.invalidate(artistID);
+        tracks.invalidateIf(track -> track.artistID() == artistID);
+        notifyListeners(Entity.ARTIST, artistID);
+    }
+
+    /**
+     * Drops the cached name of an album, and every cached track that embeds the album's name.
+     *
+     * @param albumID the ID of the album whose row changed.
+     */
+    public void invalidateAlbum(int albumID) {
+        albumNames.invalidate(albumID);
+        tracks.invalidateIf(track -> track.albumID() == albumID);
+        notifyListeners(Entity.ALBUM, albumID);
+    }
+
+    /**
+     * Drops the cached name of a genre, and every cached track that embeds the genre's name.
+     *
+     * @param genreID the ID of the genre whose row changed.
+     */
+    public void invalidateGenre(int genreID) {
+        genreNames.invalidate(genreID);
+        tracks.invalidateIf(track -> track.genreID() == genreID);
+        notifyListeners(Entity.GENRE, genreID);
+    }
+
+    /**
+     * Drops the cached name and image path of a playlist. Call after renaming it, changing its
+     * image or deleting it.
+     *
+     * @param playlistID the ID of the playlist whose row changed.
+     */
+    public void invalidatePlaylist(int playlistID) {
+        playlistNames.invalidate(playlistID);
+        playlistImagePaths.invalidate(playlistID);
+        notifyListeners(Entity.PLAYLIST, playlistID);
+    }
+
+    /**
+     * Drops every cached entry of every region.
+     */
+    public void invalidateAll() {
+        for (Region<?> region : regions()) {
+            region.invalidateAll();
+        }
+        notifyListeners(null, -1);
+    }
+
+    /**
+     * Registers a listener that is told whenever an entry is invalidated, so that structures
+     * derived from the catalog can be kept current.
+     *
+     * @param listener the listener to register.
+     */
+    public void addInvalidationListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns a one-line summary of the size and hit rate of every region, for logging.
+     *
+     * @return the cache statistics.
+     */
+    public String getStats() {
+        StringBuilder stats = new StringBuilder("CatalogCache[");
+        List<Region<?>> regions = regions();
+        for (int i = 0; i < regions.size(); i++) {
+            if (i > 0) {
+                stats.append(", ");
+            }
+            stats.append(regions.get(i));
+        }
+        return stats.append(']').toString();
+    }
+
+    private List<Region<?>> regions() {
+        return List.of(tracks, artistNames, artistImagePaths, albumNames, genreNames,
+                playlistNames, playlistImagePaths);
+    }
+
+    private void notifyListeners(Entity entity, int id) {
+        for (InvalidationListener listener : listeners) {
+            listener.invalidated(entity, id);
+        }
+    }
+
+
+    /**
+     * The kinds of catalog entities that can be invalidated.
+     */
+    public enum Entity {
+        TRACK, ARTIST, ALBUM, GENRE, PLAYLIST
+    }
+
+    /**
+     * Callback for catalog invalidations.
+     */
+    @FunctionalInterface
+    public interface InvalidationListener {
+
+        /**
+         * Called after an entry was invalidated.
+         *
+         * @param entity the kind of entity that changed, or null if the whole cache was cleared.
+         * @param id     the ID of the entity that changed, or -1 if the whole cache was cleared.
+         */
+        void invalidated(Entity entity, int id);
+    }
+
+
+    /**
+     * A size-bounded, expiring cache of values keyed by an int ID.
+     * <p>
+     * Entries are held in an {@link IntMap} so IDs are never boxed, and are threaded onto an
+     * intrusive doubly linked list in access order so the least recently used entry can be
+     * evicted in constant time.
+     * </p>
+     *
+     * @param <V> the type of the cached values.
+     */
+    public static final class Region<V> {
+        private final String name;
+        private final int maxEntries;
+        private final long ttlMillis;
+        private final IntMap<Node<V>> entries;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        // Sentinel of the LRU list: head.next is the most recently used entry, head.prev the least
+        private final Node<V> head = new Node<>(0, null, 0);
+
+        private Region(String name, int maxEntries, long ttlMillis) {
+            this.name = name;
+            this.maxEntries = maxEntries;
+            this.ttlMillis = ttlMillis;
+            this.entries = new IntMap<>(Math.min(maxEntries, 1024));
+            head.prev = head;
+            head.next = head;
+        }
+
+        /**
+         * Returns the cached value for the given ID, or null if it is absent or expired.
+         * Counts a hit or a miss.
+         *
+         * @param id the ID to look up.
+         * @return the cached value, or null.
+         */
+        public V getIfPresent(int id) {
+            synchronized (entries) {
+                Node<V> node = entries.get(id);
+                if (node != null && node.expiresAt > System.currentTimeMillis()) {
+                    unlink(node);
+                    linkFirst(node);
+                    hits.incrementAndGet();
+                    return node.value;
+                }
+                if (node != null) {
+                    entries.remove(id);
+                    unlink(node);
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+
+        /**
+         * Returns the cached value for the given ID, loading and caching it on a miss.
+         * The loader runs outside the cache lock; null results are not cached.
+         *
+         * @param id     the ID to look up.
+         * @param loader loads the value from the database on a miss.
+         * @return the cached or freshly loaded value, or null if the loader found nothing.
+         */
+        public V get(int id, IntFunction<V> loader) {
+            V value = getIfPresent(id);
+            if (value == null) {
+                value = loader.apply(id);
+                if (value != null) {
+                    put(id, value);
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Stores a value for the given ID, replacing any previous value. Evicts the least recently
+         * used entry if the region is full.
+         *
+         * @param id    the ID of the value.
+         * @param value the value to cache; must not be null.
+         */
+        public void put(int id, V value) {
+            synchronized (entries) {
+                Node<V> node = entries.get(id);
+                long expiresAt = System.currentTimeMillis() + ttlMillis;
+                if (node != null) {
+                    node.value = value;
+                    node.expiresAt = expiresAt;
+                    unlink(node);
+                } else {
+                    node = new Node<>(id, value, expiresAt);
+                    entries.put(id, node);
+                }
+                linkFirst(node);
+
+                if (entries.size() > maxEntries) {
+                    Node<V> eldest = head.prev;
+                    entries.remove(eldest.id);
+                    unlink(eldest);
+                }
+            }
+        }
+
+        /**
+         * Removes the entry for the given ID.
+         *
+         * @param id the ID to remove.
+         */
+        public void invalidate(int id) {
+            synchronized (entries) {
+                Node<V> node = entries.remove(id);
+                if (node != null) {
+                    unlink(node);
+                }
+            }
+        }
+
+        /**
+         * Removes every entry whose value matches the predicate.
+         *
+         * @param predicate selects the values to remove.
+         */
+        public void invalidateIf(Predicate<V> predicate) {
+            synchronized (entries) {
+                for (Node<V> node = head.next; node != head; ) {
+                    Node<V> next = node.next;
+                    if (predicate.test(node.value)) {
+                        entries.remove(node.id);
+                        unlink(node);
+                    }
+                    node = next;
+                }
+            }
+        }
+
+        /**
+         * Removes every entry.
+         */
+        public void invalidateAll() {
+            synchronized (entries) {
+                entries.clear();
+                head.prev = head;
+                head.next = head;
+            }
+        }
+
+        public int size() {
+            synchronized (entries) {
+                return entries.size();
+            }
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+
+        private void linkFirst(Node<V> node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+        }
+
+        private void unlink(Node<V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        @Override
+        public String toString() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return name + ": " + size() + "/" + maxEntries + " entries, "
+                    + (total == 0 ? 0 : hitCount * 100 / total) + "% hits (" + hitCount + "/" + total + ")";
+        }
+    }
+
+    /**
+     * A cached value, linked into its region's LRU list.
+     */
+    private static final class Node<V> {
+        private final int id;
+        private V value;
+        private long expiresAt;
+        private Node<V> prev;
+        private Node<V> next;
+
+        private Node(int id, V value, long expiresAt) {
+            this.id = id;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package AudioController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SHA-256 checksums of audio files, and a record of the checksums already computed.
+ * <p>
+ * The record maps a file, identified by its location, size and modification time, to the checksum of
+ * its content. It lets {@link FileTransfer} check a download against the checksum of its source, and
+ * tell that a file already at the destination is identical to the source without reading the source
+ * again. A file that changes gets a new size or modification time, so a stale entry is never used.
+ * </p>
+ *
+ * <p>
+ * Entries are appended as lines to {@code ~/.audiolibrary/checksums.txt}, unless the {@code checksumFile}
+ * system property names another file, and read back the first time a checksum is looked up. Only the
+ * last entry for a location is kept, so once the file holds more than twice as many lines as there are
+ * locations, and at least {@value #MIN_LINES_BEFORE_COMPACTION}, it is rewritten with one line per
+ * location. The methods of this class may be called from any thread.
+ * </p>
+ */
+public class Checksums {
+
+    private static final int MIN_LINES_BEFORE_COMPACTION = 1024;
+
+    // Latest entry for each location
+    private static final Map<String, Entry> known = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+    // Lines in the file, guarded by the class lock
+    private static int lines;
+
+    private Checksums() {}
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return a new digest.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+
+    /**
+     * Returns the recorded checksum of a file.
+     *
+     * @param location     the file's path or resource URL.
+     * @param size         the file's size in bytes.
+     * @param lastModified the file's modification time in milliseconds.
+     * @return the checksum in hex, or null if none is recorded for this version of the file.
+     */
+    public static String known(String location, long size, long lastModified) {
+        load();
+        Entry entry = known.get(location);
+        return entry != null && entry.size() == size && entry.lastModified() == lastModified ? entry.sha256() : null;
+    }
+
+    /**
+     * Records the checksum of a file.
+     *
+     * @param location     the file's path or resource URL.
+     * @param size         the file's size in bytes.
+     * @param lastModified the file's modification time in milliseconds.
+     * @param sha256       the checksum in hex.
+     */
+    public static void record(String location, long size, long lastModified, String sha256) {
+        load();
+        Entry entry = new Entry(size, lastModified, sha256);
+        if (entry.equals(known.put(location, entry))) {
+            return;
+        }
+        synchronized (Checksums.class) {
+            try {
+                Path file = file();
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, entry.toLine(location), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                lines++;
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to record checksum of " + location);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Returns the checksum of a local file, from the record if this version of the file is in it, and
+     * otherwise by reading the file and recording the result.
+     *
+     * @param file the file.
+     * @return the checksum in hex.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String of(Path file) throws IOException {
+        String location = file.toAbsolutePath().toString();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String sha256 = known(location, size, lastModified);
+        if (sha256 == null) {
+            MessageDigest digest = newDigest();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                update(digest, channel, 0, size, ByteBuffer.allocateDirect(64 * 1024));
+            }
+            sha256 = toHex(digest.digest());
+            record(location, size, lastModified, sha256);
+        }
+        return sha256;
+    }
+
+    /**
+     * Adds a range of a file to a digest, reading it through a buffer.
+     *
+     * @param digest the digest.
+     * @param file   the file, opened for reading.
+     * @param from   the first byte of the range.
+     * @param to     the end of the range, exclusive.
+     * @param buffer the buffer to read through; its contents are overwritten.
+     * @throws IOException if the file cannot be read or ends before the range does.
+     */
+    static void update(MessageDigest digest, FileChannel file, long from, long to, ByteBuffer buffer) throws IOException {
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            if (to - position < buffer.capacity()) {
+                buffer.limit((int) (to - position));
+            }
+            int read = file.read(buffer, position);
+            if (read == -1) {
+                throw new IOException("File ended at " + position + " of " + to + " bytes");
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+    }
+
+    public static String toHex(byte[] hash) {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    private static Path file() {
+        String configured = System.getProperty("checksumFile");
+        return configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".audiolibrary", "checksums.txt");
+    }
+
+    private static void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (Checksums.class) {
+            if (loaded) {
+                return;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines++;
+                    // sha256 size lastModified location; the location may contain spaces
+                    String[] fields = line.split(" ", 4);
+                    if (fields.length == 4) {
+                        try {
+                            known.put(fields[3], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[0]));
+                        } catch (NumberFormatException e) {
+                            // A line cut short by a crash; compaction drops it
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // Nothing recorded yet
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to read the checksum record");
+            }
+            loaded = true;
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Rewrites the file with the latest entry for each location, once enough superseded lines have
+     * piled up. Must be called holding the class lock.
+     */
+    private static void compactIfNeeded() {
+        if (lines < Math.max(MIN_LINES_BEFORE_COMPACTION, 2L * known.size())) {
+            return;
+        }
+        List<String> snapshot = new ArrayList<>(known.size());
+        known.forEach((location, entry) -> snapshot.add(entry.toLine(location)));
+        Path file = file();
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temporary, String.join("", snapshot), StandardCharsets.UTF_8);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            lines = snapshot.size();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed to compact the checksum record: " + file);
+        }
+    }
+
+    /**
+     * Forgets the entries read so far, so the next lookup reads the file again. Used by tests that point
+     * {@code checksumFile} at a new file.
+     */
+    static void reset() {
+        synchronized (Checksums.class) {
+            known.clear();
+            lines = 0;
+            loaded = false;
+        }
+    }
+
+    /**
+     * The checksum of one version of a file.
+     */
+    private record Entry(long size, long lastModified, String sha256) {
+        String toLine(String location) {
+            return sha256 + ' ' + size + ' ' + lastModified + ' ' + location + '\n';
+        }
+    }
+}
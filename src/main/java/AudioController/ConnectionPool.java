@@ -0,0 +1,395 @@
+package AudioController;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of JDBC connections used by {@link DatabaseConnection}.
+ * <p>
+ * Physical connections are opened lazily up to {@code maxSize} and handed out wrapped in a proxy
+ * whose {@link Connection#close()} returns the connection to the pool instead of closing it, so
+ * existing try-with-resources callers keep working unchanged. Connections that sat idle for a
+ * while are validated before being handed out again.
+ * </p>
+ *
+ * <p>
+ * A background housekeeper closes idle connections above {@code minIdle} once they exceed the idle
+ * timeout, tops the pool back up to {@code minIdle}, and logs connections that have been borrowed
+ * for longer than the leak threshold together with the stack trace of the borrower.
+ * </p>
+ */
+public class ConnectionPool {
+
+    private static final long VALIDATION_INTERVAL_MILLIS = 5_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_SECONDS = 30;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final long borrowTimeoutMillis;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+
+    /**
+     * Creates a new pool. No connection is opened until the first borrow or housekeeping run.
+     *
+     * @param url                 the JDBC URL of the database.
+     * @param user                the database user.
+     * @param password            the database password.
+     * @param minIdle             the number of idle connections the housekeeper keeps open.
+     * @param maxSize             the maximum number of physical connections, idle and borrowed combined.
+     * @param idleTimeoutMillis   how long a connection above {@code minIdle} may stay idle before it is closed.
+     * @param leakThresholdMillis how long a connection may stay borrowed before it is reported as leaked.
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection before failing.
+     */
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long idleTimeoutMillis, long leakThresholdMillis, long borrowTimeoutMillis) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool bounds: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_SECONDS, HOUSEKEEPING_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout for one to become free.
+     * <p>
+     * Closing the returned connection hands it back to the pool.
+     * </p>
+     *
+     * @return a pooled {@link Connection}.
+     * @throws SQLTimeoutException if no connection became free within the borrow timeout.
+     * @throws SQLException        if a new physical connection could not be opened.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + "ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(openPhysical());
+            }
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            borrowCount.incrementAndGet();
+            return pooled.newLease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's current usage and wait statistics.
+     *
+     * @return the current {@link PoolStats}.
+     */
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long borrows = borrowCount.get();
+        return new PoolStats(
+                borrowed.size(),
+                idleCount,
+                maxSize,
+                created.get(),
+                borrows,
+                borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1_000,
+                maxWaitNanos.get() / 1_000,
+                timeouts.get(),
+                leaks.get()
+        );
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeper. Borrowed connections are closed
+     * when their borrowers return them.
+     */
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledConnection pooled : idle) {
+                closeQuietly(pooled.physical);
+            }
+            idle.clear();
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            closeQuietly(pooled.physical);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            // Skip the round trip for connections that were returned moments ago
+            if (System.currentTimeMillis() - pooled.returnedAt < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        created.incrementAndGet();
+        System.out.println("Connection successful! (pool size " + (borrowed.size() + 1) + "/" + maxSize + ")");
+        return connection;
+    }
+
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        pooled.borrowSite = null;
+        try {
+            if (!pooled.physical.isClosed()) {
+                // Undo whatever transactional state the borrower left behind
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.returnedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding broken pooled connection: " + e.getMessage());
+            closeQuietly(pooled.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            synchronized (idle) {
+                // Oldest returns sit at the tail of the deque
+                while (idle.size() > minIdle && now - idle.peekLast().returnedAt > idleTimeoutMillis) {
+                    closeQuietly(idle.pollLast().physical);
+                }
+            }
+
+            if (leakThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                        pooled.leakReported = true;
+                        leaks.incrementAndGet();
+                        System.err.println("Possible connection leak: connection held for "
+                                + (now - pooled.borrowedAt) + "ms");
+                        if (pooled.borrowSite != null) {
+                            pooled.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            fillToMinIdle();
+        } catch (Exception e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private void fillToMinIdle() {
+        while (true) {
+            synchronized (idle) {
+                if (idle.size() >= minIdle) {
+                    return;
+                }
+            }
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            try {
+                PooledConnection pooled = new PooledConnection(openPhysical());
+                pooled.returnedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.addLast(pooled);
+                }
+            } catch (SQLException e) {
+                System.err.println("Failed to pre-open pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is being discarded anyway
+        }
+    }
+
+
+    /**
+     * Bookkeeping for one physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long borrowedAt;
+        private volatile long returnedAt;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Creates the proxy handed to a borrower. Each borrow gets its own proxy so a stale
+         * reference from a previous borrower cannot use or return the connection again.
+         */
+        private Connection newLease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Lease(this));
+        }
+    }
+
+    /**
+     * Proxy handler that turns {@link Connection#close()} into a return to the pool.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (closed ? ", returned" : "") + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+
+    /**
+     * Point-in-time statistics of a {@link ConnectionPool}, used to size the pool under load.
+     *
+     * @param active          connections currently borrowed.
+     * @param idle            connections open and waiting in the pool.
+     * @param maxSize         the configured upper bound on physical connections.
+     * @param created         physical connections opened since startup.
+     * @param borrows         successful borrows since startup.
+     * @param averageWaitMicros average time a borrower waited for a free connection, in microseconds.
+     * @param maxWaitMicros   longest time a borrower waited for a free connection, in microseconds.
+     * @param timeouts        borrows that failed because no connection became free in time.
+     * @param leaks           connections reported as held longer than the leak threshold.
+     */
+    public record PoolStats(int active, int idle, int maxSize, long created, long borrows,
+                            long averageWaitMicros, long maxWaitMicros, long timeouts, long leaks) {
+    }
+}
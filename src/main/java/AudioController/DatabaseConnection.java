@@ -1,15 +1,16 @@
 package AudioController;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * This class provides a method to establish a connection
+ * This class provides a method to obtain a connection
  * to the MySQL database for the AudioLibrary application.
  *
- * It uses the JDBC API to connect to a database specified by the URL, user, and password.
- * If the connection fails, a {@link RuntimeException} is thrown with the underlying cause.
+ * Connections are served from a shared, bounded {@link ConnectionPool} so that repeated queries
+ * reuse already-authenticated connections instead of opening a new one each time. Closing the
+ * returned connection hands it back to the pool.
+ * If no connection can be obtained, a {@link RuntimeException} is thrown with the underlying cause.
  *
  */
 public class DatabaseConnection {
@@ -18,24 +19,49 @@ public class DatabaseConnection {
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";
 
+    private static final int POOL_MIN_IDLE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = 60_000;
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = 10_000;
+
+    private static final ConnectionPool pool = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD,
+            POOL_MIN_IDLE, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT_MILLIS,
+            POOL_LEAK_THRESHOLD_MILLIS, POOL_BORROW_TIMEOUT_MILLIS);
+
     /**
-     * Establishes a connection to the database.
+     * Borrows a connection to the database from the shared pool.
      *
-     * This method attempts to connect to the database using the provided URL, username,
-     * and password. If the connection is successful, it returns a {@link Connection} object.
-     * Otherwise, it throws a {@link RuntimeException}.
+     * This method returns an idle pooled connection if one is available, opens a new one if the
+     * pool has not reached its maximum size, or otherwise waits for a connection to be returned.
+     * The caller must close the returned {@link Connection} to give it back to the pool.
      *
      * @return a {@link Connection} object representing the connection to the database.
-     * @throws RuntimeException if the connection fails due to a {@link SQLException}.
+     * @throws RuntimeException if no connection could be obtained due to a {@link SQLException}.
      */
     public Connection getConnection() {
         try {
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("Connection successful!");
-            return conn;
+            return pool.borrow();
         } catch (SQLException e) {
             System.err.println("Failed to connect to the database: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Returns the current statistics of the shared connection pool, such as the number of
+     * active and idle connections and the time borrowers spent waiting.
+     *
+     * @return the pool's current {@link ConnectionPool.PoolStats}.
+     */
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+
+    /**
+     * Closes all idle pooled connections. Should be called when the application is shutting down.
+     */
+    public static void shutdown() {
+        pool.shutdown();
+    }
 }
@@ -0,0 +1,520 @@
+package AudioController;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A set of audio files being downloaded together, such as the songs a library or playlist scene shows,
+ * and the handle through which the UI follows and controls them.
+ * <p>
+ * The file names of all tracks are resolved with a single {@link ResourceLoader#loadTracks} query when
+ * the batch starts. Each file then reports the bytes copied so far and a future that completes with
+ * its destination, and the batch reports the totals and a future that completes once every file has
+ * finished, failed or been cancelled. {@link #cancel()} stops the files still waiting and makes the
+ * running ones stop at their next chunk. Their partial files stay next to the destination, and
+ * downloading the same track there again resumes them; the destination itself is only replaced once a
+ * file is complete and verified.
+ * </p>
+ *
+ * <p>
+ * The number of files copied at once starts at {@value #INITIAL_CONCURRENCY} and follows the disk:
+ * whenever a file finishes, the throughput since the last adjustment is compared with the one before,
+ * and one more copy is allowed if it rose noticeably, one fewer if it fell, up to
+ * {@value #MAX_CONCURRENCY}. A fast disk is kept busy, and a slow one is not made to seek between
+ * many files at once.
+ * </p>
+ *
+ * <p>
+ * Batches are created and started by {@link DownloadManager}. The getters may be called from any
+ * thread; the listener set with {@link #setOnProgress(Runnable)} is called on the FX thread.
+ * </p>
+ */
+public class DownloadBatch {
+
+    static final int INITIAL_CONCURRENCY = 2;
+    static final int MAX_CONCURRENCY = 8;
+
+    private static final long ADJUST_INTERVAL_NANOS = 250_000_000L;
+    private static final double THROUGHPUT_TOLERANCE = 0.1;
+
+    /**
+     * The state of a file in the batch.
+     */
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final IntList audioIDs;
+    private final Function<TrackInfo, Path> destinationFor;
+    private final ExecutorService executor;
+
+    private final List<FileDownload> files;
+    private final ArrayDeque<FileDownload> pending = new ArrayDeque<>();
+    private final CompletableFuture<DownloadBatch> completion = new CompletableFuture<>();
+    private final AtomicLong bytesCopied = new AtomicLong();
+    private volatile boolean cancelled;
+
+    // Guarded by this
+    private int running;
+    private int finished;
+    private int concurrency = INITIAL_CONCURRENCY;
+    private long windowStartNanos;
+    private long windowStartBytes;
+    private double lastThroughput;
+
+    private volatile Runnable onProgress;
+    private final AtomicBoolean progressPending = new AtomicBoolean();
+
+    /**
+     * Creates a batch that has not started yet.
+     *
+     * @param audioIDs       the tracks to download.
+     * @param destinationFor chooses the file a track is saved to.
+     * @param executor       the threads to resolve and copy on.
+     */
+    DownloadBatch(IntList audioIDs, Function<TrackInfo, Path> destinationFor, ExecutorService executor) {
+        this.audioIDs = new IntList(audioIDs);
+        this.destinationFor = destinationFor;
+        this.executor = executor;
+
+        List<FileDownload> list = new ArrayList<>(audioIDs.size());
+        for (int i = 0; i < audioIDs.size(); i++) {
+            list.add(new FileDownload(audioIDs.get(i)));
+        }
+        this.files = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Resolves the files of every track in the background and starts copying them.
+     */
+    void start() {
+        if (files.isEmpty()) {
+            completion.complete(this);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                resolve();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                System.out.println("Error resolving the files of a download batch");
+                synchronized (this) {
+                    pending.clear();
+                    for (FileDownload file : files) {
+                        if (file.status == Status.QUEUED) {
+                            finish(file, Status.FAILED, e);
+                        }
+                    }
+                }
+            }
+            synchronized (this) {
+                windowStartNanos = System.nanoTime();
+                dispatch();
+            }
+        });
+    }
+
+    /**
+     * Looks up the file names of all tracks with one query and the size of each file.
+     */
+    private void resolve() {
+        Map<Integer, TrackInfo> tracks = ResourceLoader.loadTracks(audioIDs.toList());
+        for (FileDownload file : files) {
+            TrackInfo track = tracks.get(file.audioID);
+            URL resource = track == null || track.audioFileName() == null
+                    ? null
+                    : DownloadBatch.class.getResource("/audioFiles/" + track.audioFileName());
+            if (resource == null) {
+                System.out.println("No audio file found for audioID: " + file.audioID);
+                synchronized (this) {
+                    finish(file, Status.FAILED, new IOException("No audio file for audioID " + file.audioID));
+                }
+                continue;
+            }
+
+            file.source = resource;
+            file.destination = destinationFor.apply(track);
+            try {
+                file.totalBytes = FileTransfer.inspect(resource).size();
+            } catch (IOException e) {
+                file.totalBytes = -1; // Progress of this file stays unknown until it completes
+            }
+            synchronized (this) {
+                if (cancelled) {
+                    finish(file, Status.CANCELLED, null);
+                } else {
+                    pending.add(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts queued files until the concurrency limit is reached. Called with the lock held.
+     */
+    private void dispatch() {
+        while (running < concurrency && !pending.isEmpty()) {
+            FileDownload file = pending.poll();
+            running++;
+            file.status = Status.RUNNING;
+            executor.execute(() -> run(file));
+        }
+    }
+
+    private void run(FileDownload file) {
+        Status outcome = Status.FAILED;
+        Throwable cause = null;
+        try {
+            System.out.println("Starting download for audioID: " + file.audioID);
+            copy(file);
+            outcome = Status.COMPLETED;
+            if (file.isSkipped()) {
+                System.out.println("Already downloaded: " + file.destination);
+            } else {
+                System.out.printf("Download completed: %s (%s, %.1f MiB/s)%n",
+                        file.destination, file.method, file.getThroughput() / (1024 * 1024));
+            }
+        } catch (CancellationException e) {
+            outcome = Status.CANCELLED;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error during file download for audioID: " + file.audioID);
+            e.printStackTrace();
+            cause = e;
+        } finally {
+            synchronized (this) {
+                running--;
+                finish(file, outcome, cause);
+                adjustConcurrency();
+                dispatch();
+            }
+            publishProgress();
+        }
+    }
+
+    /**
+     * Exports a file from the {@link MediaStore}, importing it first if needed, counting the bytes and
+     * stopping between chunks if the batch is cancelled.
+     */
+    private void copy(FileDownload file) throws IOException {
+        file.startNanos = System.nanoTime();
+        FileTransfer.Result result = MediaStore.getInstance().export(file.source, file.destination, bytes -> {
+            file.bytesCopied.addAndGet(bytes);
+            bytesCopied.addAndGet(bytes);
+            publishProgress();
+        }, () -> cancelled);
+        file.endNanos = System.nanoTime();
+        file.method = result.method();
+        file.sha256 = result.sha256();
+        file.reusedBytes = result.reusedBytes();
+    }
+
+    /**
+     * Compares the throughput since the last adjustment with the one before and allows one copy more
+     * or less. Called with the lock held whenever a file finishes.
+     */
+    private void adjustConcurrency() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStartNanos;
+        if (elapsed < ADJUST_INTERVAL_NANOS) {
+            return;
+        }
+        long bytes = bytesCopied.get();
+        double throughput = (bytes - windowStartBytes) * 1e9 / elapsed;
+
+        if (throughput > lastThroughput * (1 + THROUGHPUT_TOLERANCE)) {
+            concurrency = Math.min(MAX_CONCURRENCY, concurrency + 1);
+        } else if (throughput < lastThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+            concurrency = Math.max(1, concurrency - 1);
+        }
+        lastThroughput = throughput;
+        windowStartNanos = now;
+        windowStartBytes = bytes;
+    }
+
+    /**
+     * Puts a file in its final state and completes the batch once every file is in one. Called with
+     * the lock held.
+     *
+     * @param cause the reason a file failed, or null.
+     */
+    private void finish(FileDownload file, Status status, Throwable cause) {
+        file.status = status;
+        switch (status) {
+            case COMPLETED -> file.future.complete(file.destination);
+            case CANCELLED -> file.future.cancel(false);
+            default -> file.future.completeExceptionally(cause != null ? cause : new IOException("Download failed"));
+        }
+        finished++;
+        if (finished == files.size()) {
+            completion.complete(this);
+        }
+    }
+
+    /**
+     * Calls the progress listener on the FX thread, unless a call is already waiting to run, so a fast
+     * copy does not flood the FX thread.
+     */
+    private void publishProgress() {
+        Runnable listener = onProgress;
+        if (listener != null && progressPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                progressPending.set(false);
+                listener.run();
+            });
+        }
+    }
+
+    /**
+     * Cancels the batch: files not started yet are dropped, and running files stop and keep what they
+     * have written as a partial file. Files already completed are kept.
+     */
+    public void cancel() {
+        cancelled = true;
+        synchronized (this) {
+            FileDownload file;
+            while ((file = pending.poll()) != null) {
+                finish(file, Status.CANCELLED, null);
+            }
+        }
+        publishProgress();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sets a listener called on the FX thread when the progress of the batch has changed.
+     *
+     * @param onProgress the listener, or null to remove it.
+     */
+    public void setOnProgress(Runnable onProgress) {
+        this.onProgress = onProgress;
+    }
+
+    /**
+     * Returns a future that completes with this batch once every file has completed, failed or been
+     * cancelled. It never completes exceptionally; check the files for failures.
+     *
+     * @return the completion future.
+     */
+    public CompletableFuture<DownloadBatch> getCompletion() {
+        return completion;
+    }
+
+    public List<FileDownload> getFiles() {
+        return files;
+    }
+
+    public int getFileCount() {
+        return files.size();
+    }
+
+    public synchronized int getFinishedCount() {
+        return finished;
+    }
+
+    public int getCount(Status status) {
+        int count = 0;
+        for (FileDownload file : files) {
+            if (file.status == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied.get();
+    }
+
+    /**
+     * Returns the combined size of the files whose size is known.
+     *
+     * @return the total bytes.
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (FileDownload file : files) {
+            if (file.totalBytes > 0) {
+                total += file.totalBytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the share of the batch that is done, by bytes once the sizes are known and by files
+     * before that.
+     *
+     * @return the progress between 0 and 1.
+     */
+    public double getProgress() {
+        if (completion.isDone()) {
+            return 1;
+        }
+        long total = getTotalBytes();
+        if (total > 0) {
+            return Math.min(1, (double) getBytesCopied() / total);
+        }
+        return files.isEmpty() ? 1 : (double) getFinishedCount() / files.size();
+    }
+
+    /**
+     * Returns the average throughput of the batch so far, from the start of its first copy, not counting
+     * bytes kept from partial downloads or files skipped because they were already there.
+     *
+     * @return the throughput in bytes per second, or 0 before any copy has started.
+     */
+    public double getThroughput() {
+        long start = Long.MAX_VALUE;
+        long end = 0;
+        long reused = 0;
+        for (FileDownload file : files) {
+            reused += file.reusedBytes;
+            if (file.startNanos != 0) {
+                start = Math.min(start, file.startNanos);
+                end = Math.max(end, file.endNanos != 0 ? file.endNanos : System.nanoTime());
+            }
+        }
+        return end > start ? (getBytesCopied() - reused) * 1e9 / (end - start) : 0;
+    }
+
+    /**
+     * Returns how many files may currently be copied at once.
+     *
+     * @return the concurrency limit.
+     */
+    public synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+
+    /**
+     * One file of a batch.
+     */
+    public static final class FileDownload {
+        private final int audioID;
+        private final AtomicLong bytesCopied = new AtomicLong();
+        private final CompletableFuture<Path> future = new CompletableFuture<>();
+        private volatile URL source;
+        private volatile Path destination;
+        private volatile long totalBytes = -1;
+        private volatile Status status = Status.QUEUED;
+        private volatile FileTransfer.Method method;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile long reusedBytes;
+        private volatile String sha256;
+
+        private FileDownload(int audioID) {
+            this.audioID = audioID;
+        }
+
+        public int getAudioID() {
+            return audioID;
+        }
+
+        /**
+         * Returns the file the track is saved to.
+         *
+         * @return the destination, or null until the batch has resolved it.
+         */
+        public Path getDestination() {
+            return destination;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getBytesCopied() {
+            return bytesCopied.get();
+        }
+
+        /**
+         * Returns the size of the file.
+         *
+         * @return the size in bytes, or -1 if it is not known.
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Returns the share of the file copied so far.
+         *
+         * @return the progress between 0 and 1, or -1 if the size of the file is not known.
+         */
+        public double getProgress() {
+            if (status == Status.COMPLETED) {
+                return 1;
+            }
+            return totalBytes > 0 ? Math.min(1, (double) bytesCopied.get() / totalBytes) : -1;
+        }
+
+        /**
+         * Returns how the file was copied.
+         *
+         * @return the copy method, or null until the file has been copied.
+         */
+        public FileTransfer.Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the SHA-256 checksum of the saved file.
+         *
+         * @return the checksum in hex, or null until the file is saved.
+         */
+        public String getSha256() {
+            return sha256;
+        }
+
+        /**
+         * Returns whether the file was not copied because the destination already held the same content.
+         *
+         * @return true if the file was skipped.
+         */
+        public boolean isSkipped() {
+            return method == FileTransfer.Method.SKIPPED;
+        }
+
+        /**
+         * Returns the throughput of this file's copy, up to now if it is still running. Bytes kept from
+         * a partial download do not count.
+         *
+         * @return the throughput in bytes per second, or 0 before the copy has started.
+         */
+        public double getThroughput() {
+            long start = startNanos;
+            if (start == 0) {
+                return 0;
+            }
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            return end > start ? (bytesCopied.get() - reusedBytes) * 1e9 / (end - start) : 0;
+        }
+
+        /**
+         * Returns a future that completes with the destination once the file is saved, or exceptionally
+         * if it fails or is cancelled.
+         *
+         * @return the file's future.
+         */
+        public CompletableFuture<Path> getFuture() {
+            return future;
+        }
+    }
+}
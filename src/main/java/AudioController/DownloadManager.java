@@ -1,78 +1,81 @@
 package AudioController;
 
-import java.io.*;
-import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * The {@code DownloadManager} class manages downloading audio files asynchronously.
  * <p>
- * This class uses a fixed thread pool to handle multiple audio downloads concurrently,
- * ensuring efficient resource utilization. The audio files are fetched from resources
- * and saved to a specified destination path on the file system.
+ * Downloads are grouped in {@link DownloadBatch}es, which resolve the file names of all their tracks
+ * with one query, report per-file and overall progress, can be cancelled, and adapt how many files
+ * they copy at once to the throughput of the disk. The audio files are fetched from resources and
+ * saved to a specified destination on the file system.
+ * </p>
  */
 public class DownloadManager {
 
     /**
-     * Thread pool executor with a fixed pool size of 5 to manage download tasks concurrently.
+     * The virtual threads on which batches resolve and copy their files; each batch limits how many
+     * files it copies at once.
      */
-    private static final ExecutorService executor = Executors.newFixedThreadPool(5);
+    private static final ExecutorService executor = IOExecutor.executor();
 
     /**
      * Downloads an audio file associated with a specific audio ID and saves it to the given destination.
      * <p>
-     * This method runs the download task asynchronously in a separate thread.
-     * It retrieves the audio file name using {@link ResourceLoader#getAudioFileName(int)} and attempts
-     * to locate the file in the application's resource directory. If found, the file is copied to the
-     * specified destination path. The method logs progress and errors to the console.
+     * This method runs the download task asynchronously in a separate thread, as a batch of one file.
+     * The method logs progress and errors to the console.
+     * </p>
      *
      * @param audioID     The unique identifier for the audio file to download.
      * @param destination The {@link Path} where the downloaded file will be saved.
+     * @return the batch, through which the download can be followed or cancelled.
      */
-    public static void downloadAudio(int audioID, Path destination) {
-        executor.submit(() -> {
-            try {
-                System.out.println("Starting download for audioID: " + audioID);
-
-                // Fetch audio file name
-                String audioFileName = ResourceLoader.getAudioFileName(audioID);
-                if (audioFileName != null) {
-                    String filePath = "/audioFiles/" + audioFileName;
-                    URL resource = DownloadManager.class.getResource(filePath);
+    public static DownloadBatch downloadAudio(int audioID, Path destination) {
+        IntList audioIDs = new IntList(1);
+        audioIDs.add(audioID);
+        return start(new DownloadBatch(audioIDs, track -> destination, executor));
+    }
 
-                    if (resource != null) {
-                        System.out.println("Found audio file: " + resource);
+    /**
+     * Downloads several audio files into a directory, naming each file after its track. The files are
+     * started in the order of the IDs, so pass the IDs a scene has already loaded, in the order it shows
+     * them; this method does not query the database on the calling thread.
+     *
+     * @param audioIDs  the IDs of the audio files to download.
+     * @param directory the directory to save the files in; it must exist.
+     * @return the batch, through which the downloads can be followed or cancelled.
+     */
+    public static DownloadBatch downloadAll(IntList audioIDs, Path directory) {
+        Set<String> usedNames = new HashSet<>();
+        return start(new DownloadBatch(audioIDs, track -> directory.resolve(fileNameFor(track, usedNames)), executor));
+    }
 
-                        // Copy the file to the destination
-                        try (InputStream inputStream = resource.openStream()) {
-                            Files.copy(inputStream, destination, StandardCopyOption.REPLACE_EXISTING);
-                            System.out.println("Download completed: " + destination);
-                        }
-                    } else {
-                        System.out.println("Audio file not found in resources: " + filePath);
-                    }
-                } else {
-                    System.out.println("No audio found for audioID: " + audioID);
-                }
-            } catch (IOException e) {
-                System.out.println("Error during file download for audioID: " + audioID);
-                e.printStackTrace();
-            }
-        });
+    private static DownloadBatch start(DownloadBatch batch) {
+        batch.start();
+        return batch;
     }
 
     /**
-     * Shuts down the download manager's thread pool.
-     * <p>
-     * This method should be called when downloads are no longer needed or when the
-     * application is shutting down. It ensures that all running tasks are terminated
-     * and no new tasks are accepted.
+     * Names a downloaded file after its track, keeping the extension of the audio file and replacing
+     * characters file systems reject. Tracks with the same name get their audio ID appended.
      */
-    public static void shutdown() {
-        executor.shutdown();
+    private static String fileNameFor(TrackInfo track, Set<String> usedNames) {
+        String fileName = track.audioFileName();
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot >= 0 ? fileName.substring(dot) : ".mp3";
+        String baseName = track.audioName() == null || track.audioName().isBlank()
+                ? "audio-" + track.audioID()
+                : track.audioName().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+
+        String name = baseName + extension;
+        if (!usedNames.add(name.toLowerCase(Locale.ROOT))) {
+            name = baseName + " (" + track.audioID() + ")" + extension;
+            usedNames.add(name.toLowerCase(Locale.ROOT));
+        }
+        return name;
     }
 }
@@ -0,0 +1,434 @@
+package AudioController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.jar.JarEntry;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Copies audio files for the {@link DownloadManager} without passing them through the Java heap.
+ * <p>
+ * When the source is a file, as it is when the application runs from an exploded build, and its
+ * checksum is already recorded, the kernel copies it with {@link FileChannel#transferTo}, as
+ * {@link Files#copy} does; the bytes need no hashing, because the checksum to record is known. A file
+ * whose checksum is not known yet, or whose copy resumes a partial one, is mapped into memory a chunk
+ * at a time instead, and each chunk is hashed and written from the mapping, so the file is read once.
+ * Resources inside a jar can only be read as a stream; those are read through a pooled direct buffer
+ * straight into the destination channel. Either way the copy proceeds in chunks, so the caller can
+ * count progress and cancel between them.
+ * </p>
+ *
+ * <p>
+ * {@link #download} writes to a part file next to the destination and moves it into place only once
+ * it is complete and its checksum is verified, so it can resume after a cancellation or crash and never
+ * leaves a truncated file at the destination. It skips files already identical to their source, using
+ * the checksums recorded by {@link Checksums}.
+ * </p>
+ */
+public class FileTransfer {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 256 * 1024;
+
+    private static final int OFFSET_MAGIC = 0x41445031; // "ADP1"
+    private static final int OFFSET_FILE_SIZE = 4 + 8 + 8 + 8;
+    private static final long CHECKPOINT_INTERVAL = 4 * TRANSFER_CHUNK;
+
+    // Direct buffers are costly to allocate and copies run on short-lived virtual threads, so buffers
+    // are pooled rather than kept per thread
+    private static final int MAX_POOLED_BUFFERS = DownloadBatch.MAX_CONCURRENCY;
+    private static final Queue<ByteBuffer> streamBuffers = new ConcurrentLinkedQueue<>();
+
+    private FileTransfer() {}
+
+    /**
+     * Downloads a resource to a file, replacing the file if it exists, unless the file is already
+     * identical to the resource.
+     * <p>
+     * The data is written to {@code <destination>.part}, and {@code <destination>.part.offset} records
+     * how much of it is safely on disk. A download that was cancelled or cut short, even by a crash,
+     * leaves both behind, and the next download of the same version of the resource to the same file
+     * continues from the recorded offset. The part file is hashed with SHA-256 as it is written; once it
+     * is complete and its checksum matches the one recorded for the resource, it is moved over the
+     * destination atomically, so the destination is never a partial file.
+     * </p>
+     *
+     * @param source      the resource.
+     * @param destination the file to write.
+     * @param onBytes     told the number of bytes after every chunk, including the bytes kept from a
+     *                    partial download or found already at the destination.
+     * @param cancelled   checked before every chunk.
+     * @return how the data was copied and its checksum.
+     * @throws IOException           if the resource cannot be read, the file cannot be written, or the
+     *                               copy does not match the checksum of the resource.
+     * @throws CancellationException if {@code cancelled} returned true; the partial file is kept.
+     */
+    public static Result download(URL source, Path destination, LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        SourceInfo info = inspect(source);
+        long size = info.size();
+        long lastModified = info.lastModified();
+        String location = source.toExternalForm();
+        String expected = size >= 0 ? Checksums.known(location, size, lastModified) : null;
+
+        // Only the destination is read: the checksum of the source is already recorded
+        if (expected != null && Files.isRegularFile(destination) && Files.size(destination) == size
+                && expected.equals(Checksums.of(destination))) {
+            onBytes.accept(size);
+            return new Result(Method.SKIPPED, expected, size);
+        }
+
+        Path part = destination.resolveSibling(destination.getFileName() + ".part");
+        Path offsetFile = destination.resolveSibling(destination.getFileName() + ".part.offset");
+        Path file = toPath(source);
+        MessageDigest digest = Checksums.newDigest();
+        Method method;
+        long resumedFrom;
+        ByteBuffer buffer = acquireBuffer();
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel offsets = FileChannel.open(offsetFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            resumedFrom = resumableOffset(offsets, out, size, lastModified);
+            if (resumedFrom > 0) {
+                Checksums.update(digest, out, 0, resumedFrom, buffer);
+                if (expected == null && !matchesSource(source, resumedFrom, digest, buffer)) {
+                    System.out.println("Partial download does not match its source, starting over: " + part);
+                    digest.reset();
+                    resumedFrom = 0;
+                }
+            }
+            out.truncate(resumedFrom);
+            if (resumedFrom == 0) {
+                offsets.truncate(0);
+                offsets.write(ByteBuffer.allocate(OFFSET_FILE_SIZE).putInt(OFFSET_MAGIC).putLong(size)
+                        .putLong(lastModified).putLong(0).flip(), 0);
+            } else {
+                System.out.println("Resuming download at byte " + resumedFrom + ": " + destination);
+                onBytes.accept(resumedFrom);
+            }
+
+            Checkpoint checkpoint = new Checkpoint(out, offsets, resumedFrom);
+            try {
+                if (file != null && expected != null && resumedFrom == 0) {
+                    method = Method.TRANSFER;
+                    copyTransferred(file, out, checkpoint, onBytes, cancelled);
+                } else if (file != null) {
+                    method = Method.MAPPED;
+                    copyMapped(file, resumedFrom, out, digest, checkpoint, onBytes, cancelled);
+                } else {
+                    method = Method.DIRECT_BUFFER;
+                    try (InputStream in = source.openStream()) {
+                        in.skipNBytes(resumedFrom);
+                        streamFrom(in, out, digest, buffer, checkpoint, onBytes, cancelled);
+                    }
+                }
+                out.force(true);
+            } finally {
+                // Keep what is on disk for the next attempt, whether this one completed or not
+                checkpoint.save();
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+
+        // A transferred copy is not hashed; its checksum is the recorded one
+        String sha256 = method == Method.TRANSFER ? expected : Checksums.toHex(digest.digest());
+        if (expected != null && !expected.equals(sha256)) {
+            Files.deleteIfExists(part);
+            Files.deleteIfExists(offsetFile);
+            throw new IOException("Checksum mismatch for " + destination + ": expected " + expected + ", got " + sha256);
+        }
+        Files.move(part, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(offsetFile);
+
+        if (size >= 0) {
+            Checksums.record(location, size, lastModified, sha256);
+        }
+        Checksums.record(destination.toAbsolutePath().toString(), Files.size(destination),
+                Files.getLastModifiedTime(destination).toMillis(), sha256);
+        return new Result(method, sha256, resumedFrom);
+    }
+
+    /**
+     * Returns the offset recorded for a partial download, or 0 if there is none, it was recorded for
+     * another version of the resource, or the part file is shorter than it.
+     */
+    private static long resumableOffset(FileChannel offsets, FileChannel part, long size, long lastModified) throws IOException {
+        if (size < 0 || offsets.size() < OFFSET_FILE_SIZE) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(OFFSET_FILE_SIZE);
+        while (header.hasRemaining() && offsets.read(header, header.position()) > 0) {
+            // Fill the header
+        }
+        header.flip();
+        if (header.getInt() != OFFSET_MAGIC || header.getLong() != size || header.getLong() != lastModified) {
+            return 0;
+        }
+        long offset = header.getLong();
+        return offset > 0 && offset <= size && offset <= part.size() ? offset : 0;
+    }
+
+    /**
+     * Checks the kept part of a partial download against the start of its source, for when there is no
+     * recorded checksum to check the whole file against at the end.
+     *
+     * @param partDigest the digest of the kept part; not changed.
+     */
+    private static boolean matchesSource(URL source, long length, MessageDigest partDigest, ByteBuffer buffer) throws IOException {
+        MessageDigest sourceDigest = Checksums.newDigest();
+        Path file = toPath(source);
+        if (file != null) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                Checksums.update(sourceDigest, in, 0, length, buffer);
+            }
+        } else {
+            try (ReadableByteChannel in = Channels.newChannel(source.openStream())) {
+                long remaining = length;
+                while (remaining > 0) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                    int read = in.read(buffer);
+                    if (read == -1) {
+                        return false;
+                    }
+                    buffer.flip();
+                    sourceDigest.update(buffer);
+                    remaining -= read;
+                }
+            }
+        }
+        try {
+            MessageDigest kept = (MessageDigest) partDigest.clone();
+            return MessageDigest.isEqual(kept.digest(), sourceDigest.digest());
+        } catch (CloneNotSupportedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies a whole file into an empty part file with {@link FileChannel#transferTo}, a chunk at a time,
+     * so the kernel copies the data without it passing through user space.
+     */
+    private static void copyTransferred(Path source, FileChannel out, Checkpoint checkpoint,
+                                        LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            out.position(0);
+            while (position < size) {
+                checkCancelled(cancelled);
+                long copied = in.transferTo(position, Math.min(TRANSFER_CHUNK, size - position), out);
+                if (copied <= 0) {
+                    throw new IOException("File shrank while it was copied: " + source);
+                }
+                position += copied;
+                checkpoint.advance(position);
+                onBytes.accept(copied);
+            }
+        }
+    }
+
+    /**
+     * Copies a file into a part file from an offset, one mapped chunk at a time. Each chunk is hashed
+     * and written from the same mapping, so the source is read once and the checksum is of the bytes
+     * written.
+     */
+    private static void copyMapped(Path source, long offset, FileChannel out, MessageDigest digest,
+                                   Checkpoint checkpoint, LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = offset;
+            out.position(offset);
+            while (position < size) {
+                checkCancelled(cancelled);
+                MappedByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(TRANSFER_CHUNK, size - position));
+                int length = chunk.remaining();
+                digest.update(chunk.duplicate());
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+                position += length;
+                checkpoint.advance(position);
+                onBytes.accept(length);
+            }
+        }
+    }
+
+    /**
+     * Streams the rest of a resource into a part file through a direct buffer, hashing it on the way.
+     */
+    private static void streamFrom(InputStream source, FileChannel out, MessageDigest digest, ByteBuffer buffer,
+                                   Checkpoint checkpoint, LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        ReadableByteChannel in = Channels.newChannel(source);
+        long position = out.size();
+        out.position(position);
+        buffer.clear();
+        while (true) {
+            checkCancelled(cancelled);
+            int read = in.read(buffer);
+            if (read == -1) {
+                break;
+            }
+            buffer.flip();
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+            position += read;
+            checkpoint.advance(position);
+            onBytes.accept(read);
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = streamBuffers.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        if (streamBuffers.size() < MAX_POOLED_BUFFERS) {
+            streamBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the file a resource is stored in.
+     *
+     * @param resource the resource.
+     * @return the file, or null if the resource is not a plain file, e.g. because it is inside a jar.
+     */
+    static Path toPath(URL resource) {
+        if (!"file".equalsIgnoreCase(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            Path path = Path.of(resource.toURI());
+            return Files.isRegularFile(path) ? path : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the size and modification time of a resource without leaving it open. A file is only looked
+     * up, and an entry of a jar is read from the jar's directory. Asking a {@link URLConnection} for
+     * these instead opens a stream it never closes: a {@code file:} connection opens the file, and a
+     * {@code jar:} connection opens the whole jar file again for every resource in it.
+     *
+     * @param resource the resource.
+     * @return the size, or -1 if unknown, and the modification time, or 0 if unknown.
+     * @throws IOException if the file or jar cannot be read.
+     */
+    static SourceInfo inspect(URL resource) throws IOException {
+        Path file = toPath(resource);
+        if (file != null) {
+            return new SourceInfo(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+        }
+        URLConnection connection = resource.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            JarEntry entry = jarConnection.getJarEntry();
+            // A rebuilt jar is a new version of every resource in it, as with the connection's own date
+            Path jar = toPath(jarConnection.getJarFileURL());
+            return new SourceInfo(entry.getSize(), jar != null ? Files.getLastModifiedTime(jar).toMillis() : entry.getTime());
+        }
+        try {
+            return new SourceInfo(connection.getContentLengthLong(), connection.getLastModified());
+        } finally {
+            try {
+                connection.getInputStream().close();
+            } catch (IOException e) {
+                // The resource cannot be read, so nothing was left open
+            }
+        }
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * The size and modification time of a resource.
+     *
+     * @param size         the size in bytes, or -1 if unknown.
+     * @param lastModified the modification time in milliseconds, or 0 if unknown.
+     */
+    record SourceInfo(long size, long lastModified) {}
+
+    /**
+     * How a file was copied.
+     */
+    public enum Method {
+        /** The kernel copied the file with {@link FileChannel#transferTo}; its recorded checksum was kept. */
+        TRANSFER,
+        MAPPED, DIRECT_BUFFER,
+        /** The destination was linked to a blob of the {@link MediaStore}. */
+        HARD_LINK,
+        /** The destination already held the same content, so nothing was copied. */
+        SKIPPED
+    }
+
+    /**
+     * The outcome of {@link #download}.
+     *
+     * @param method      how the file was copied.
+     * @param sha256      the checksum of the file, in hex.
+     * @param reusedBytes the bytes that were not copied by this call: those kept from a partial
+     *                    download, or the whole file if it was skipped or linked.
+     */
+    public record Result(Method method, String sha256, long reusedBytes) {}
+
+    /**
+     * Records in the offset file how much of a part file is on disk, every
+     * {@link #CHECKPOINT_INTERVAL} bytes and when the download stops. The part file is forced to disk
+     * before its offset is recorded, so a recorded offset never runs ahead of the data.
+     */
+    private static final class Checkpoint {
+        private final FileChannel part;
+        private final FileChannel offsets;
+        private long position;
+        private long saved;
+
+        Checkpoint(FileChannel part, FileChannel offsets, long position) {
+            this.part = part;
+            this.offsets = offsets;
+            this.position = position;
+            this.saved = position;
+        }
+
+        void advance(long position) throws IOException {
+            this.position = position;
+            if (position - saved >= CHECKPOINT_INTERVAL) {
+                save();
+            }
+        }
+
+        void save() throws IOException {
+            if (position == saved) {
+                return;
+            }
+            part.force(false);
+            offsets.write(ByteBuffer.allocate(8).putLong(0, position), OFFSET_FILE_SIZE - 8);
+            saved = position;
+        }
+    }
+}
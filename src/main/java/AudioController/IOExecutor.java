@@ -0,0 +1,179 @@
+package AudioController;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs the application's blocking I/O, such as database queries, file copies and image decodes, off
+ * the FX thread.
+ * <p>
+ * Every task gets a virtual thread of its own. A virtual thread blocked on a socket or a file costs a
+ * few kilobytes instead of a platform thread, so there is no pool to size and a slow query never
+ * holds up an unrelated one; callers that must limit how much runs at once, such as downloads and
+ * image decodes, do so themselves.
+ * </p>
+ *
+ * <p>
+ * Work started by a scene belongs to a {@link Scope} tied to one of the scene's nodes, obtained with
+ * {@link #scopeOf(Node)}. When the node leaves its scene, e.g. because the user navigated to another
+ * page, the scope cancels its tasks: those not finished are interrupted and their results are never
+ * delivered, so a page that is gone does not fill itself in or keep the database busy. Writes are
+ * started with {@link #commit} instead, which always runs them to the end.
+ * </p>
+ */
+public class IOExecutor {
+
+    // Key of the scope kept in Node.getProperties()
+    private static final String SCOPE_KEY = IOExecutor.class.getName() + ".scope";
+
+    private static final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("io-", 0).factory());
+
+    private IOExecutor() {}
+
+    /**
+     * Returns the executor, for code that manages its own tasks.
+     *
+     * @return the virtual-thread executor.
+     */
+    public static ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Runs a task on a virtual thread.
+     *
+     * @param task the task.
+     * @param <T>  the type of the result.
+     * @return a future that completes with the result of the task, or exceptionally with what it threw.
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a task that changes data, such as a database insert, on a virtual thread and hands its result
+     * to a callback on the FX thread. Unlike {@link Scope#load}, the task is never cancelled, because a
+     * write cut short would leave the database and what the session remembers of it out of step. A task
+     * that throws is logged and the callback is not called.
+     *
+     * @param task        the blocking work.
+     * @param onCommitted called on the FX thread with the result.
+     * @param <T>         the type of the result.
+     * @return the future of the task.
+     */
+    public static <T> CompletableFuture<T> commit(Callable<T> task, Consumer<? super T> onCommitted) {
+        CompletableFuture<T> future = supply(task);
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                e.printStackTrace();
+                return;
+            }
+            Platform.runLater(() -> onCommitted.accept(result));
+        });
+        return future;
+    }
+
+    /**
+     * Returns the scope of a node, creating it the first time. Must be called on the FX thread.
+     *
+     * @param owner the node whose removal from its scene cancels the scope's tasks.
+     * @return the node's scope.
+     */
+    public static Scope scopeOf(Node owner) {
+        Object existing = owner.getProperties().get(SCOPE_KEY);
+        if (existing instanceof Scope scope) {
+            return scope;
+        }
+        Scope scope = new Scope();
+        ChangeListener<Scene> removal = (observable, oldScene, newScene) -> {
+            if (newScene == null) {
+                scope.cancel();
+            }
+        };
+        owner.sceneProperty().addListener(removal);
+        owner.getProperties().put(SCOPE_KEY, scope);
+        return scope;
+    }
+
+    /**
+     * The tasks started on behalf of one part of the UI, cancelled together when it goes away. Methods
+     * of this class must be called on the FX thread.
+     */
+    public static final class Scope {
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+        private Scope() {}
+
+        /**
+         * Runs a task on a virtual thread and hands its result to a callback on the FX thread, unless
+         * the scope has been cancelled in the meantime. A task that throws is logged and the callback is
+         * not called.
+         *
+         * @param task     the blocking work, e.g. a database query.
+         * @param onLoaded called on the FX thread with the result.
+         * @param <T>      the type of the result.
+         * @return the future of the task; cancelling it cancels the task.
+         */
+        public <T> CompletableFuture<T> load(Callable<T> task, Consumer<? super T> onLoaded) {
+            CompletableFuture<T> future = supply(task);
+            inFlight.add(future);
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    inFlight.remove(future);
+                    if (!(e instanceof CancellationException)) {
+                        e.printStackTrace();
+                    }
+                    return;
+                }
+                Platform.runLater(() -> {
+                    // Cancelling the scope empties the set, so a result that arrives late is dropped
+                    if (inFlight.remove(future)) {
+                        onLoaded.accept(result);
+                    }
+                });
+            });
+            return future;
+        }
+
+        /**
+         * Cancels the tasks of this scope that have not delivered their result yet. The scope can
+         * still start new tasks afterwards.
+         */
+        public void cancel() {
+            for (CompletableFuture<?> future : inFlight) {
+                future.cancel(true);
+            }
+            inFlight.clear();
+        }
+
+        public int getInFlightCount() {
+            return inFlight.size();
+        }
+    }
+}
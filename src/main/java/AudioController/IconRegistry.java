@@ -0,0 +1,124 @@
+package AudioController;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Shared, decoded instances of the icons in {@code /ProjectImages}.
+ * <p>
+ * Controllers that swap icons in response to user input, such as the volume, play/pause, shuffle and
+ * loop icons of the home scene or the bin icons of the list rows, used to decode the PNG again on every
+ * swap. {@link #preloadAll()} decodes every icon once at startup, after which {@link #get(Icon)} is an
+ * array lookup that allocates nothing. Images are immutable, so any number of ImageViews may show the
+ * same instance.
+ * </p>
+ *
+ * <p>
+ * {@link Main} calls {@link #preloadAll()} on the FX thread at startup. After that the images are never
+ * replaced, so {@link #get(Icon)} may be called from any thread, for example while a template is
+ * loaded in the background.
+ * </p>
+ */
+public class IconRegistry {
+
+    private static final String ICON_DIRECTORY = "/ProjectImages/";
+
+    private static final Icon[] ICONS = Icon.values();
+    private static final Image[] images = new Image[ICONS.length];
+
+    private IconRegistry() {}
+
+    /**
+     * The icons in {@code /ProjectImages}. The artist photos kept in the same folder are not icons
+     * and are loaded through {@link ImageCache} instead.
+     */
+    public enum Icon {
+        ADD_IMAGE("AddImage.png"),
+        ADD_IMAGE_CLICKED("AddImageClicked.png"),
+        BIN_RED("binred.png"),
+        BIN_WHITE("binwhite.png"),
+        CARD_PLACEHOLDER("cardplaceholder.png"),
+        CART("cart.png"),
+        CHECKOUT("checkout.png"),
+        DOWNLOAD("download.png"),
+        FORWARD("forward-button.png"),
+        LIBRARY("library.png"),
+        LOOP("loop.png"),
+        LOOPED("looped.png"),
+        MUTE("muteicon.png"),
+        PAUSE("pause.png"),
+        PLAY("play-button.png"),
+        PLAYLIST("playlist.png"),
+        PLAYLIST_PLACEHOLDER("Vector.png"),
+        PROFILE_PAGE("profilePageIcon.png"),
+        PROFILE_USER("profile-user.png"),
+        REVERSE("reverse-button.png"),
+        SHUFFLE("shuffle.png"),
+        SHUFFLED("shuffled.png"),
+        VOLUME_HIGH("volumehighicon.png"),
+        VOLUME_MID("volumemidicon.png");
+
+        private final String fileName;
+
+        Icon(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getResourcePath() {
+            return ICON_DIRECTORY + fileName;
+        }
+    }
+
+    /**
+     * Decodes every icon that has not been decoded yet.
+     */
+    public static void preloadAll() {
+        for (Icon icon : ICONS) {
+            get(icon);
+        }
+    }
+
+    /**
+     * Returns the shared image of an icon, decoding it first if {@link #preloadAll()} has not.
+     *
+     * @param icon the icon.
+     * @return the image.
+     */
+    public static Image get(Icon icon) {
+        Image image = images[icon.ordinal()];
+        if (image == null) {
+            image = decode(icon);
+            images[icon.ordinal()] = image;
+        }
+        return image;
+    }
+
+    /**
+     * Returns the shared image of the icon at a resource URL, as resolved by FXMLLoader from a
+     * template's {@code @../ProjectImages/...} reference.
+     *
+     * @param url the URL of the image.
+     * @return the icon's image, or null if the URL is not one of the icons.
+     */
+    public static Image forUrl(String url) {
+        for (Icon icon : ICONS) {
+            if (url.endsWith(icon.getResourcePath())) {
+                return get(icon);
+            }
+        }
+        return null;
+    }
+
+    private static Image decode(Icon icon) {
+        try (InputStream in = IconRegistry.class.getResourceAsStream(icon.getResourcePath())) {
+            if (in == null) {
+                throw new IllegalStateException("Missing icon: " + icon.getResourcePath());
+            }
+            return new Image(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read icon: " + icon.getResourcePath(), e);
+        }
+    }
+}
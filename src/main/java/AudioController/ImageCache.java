@@ -0,0 +1,277 @@
+package AudioController;
+
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of decoded cover art and artist images, shared by every scene and list row that shows them.
+ * <p>
+ * Images are keyed by resource path and requested size, so a list of 80px covers and a 180px song
+ * card of the same file are decoded separately, each at the size it is shown at (in device pixels,
+ * so covers stay sharp on high-DPI screens). Decoded images are kept in least-recently-used order
+ * until their pixels exceed a byte budget (four bytes per pixel). Sized images are decoded from the
+ * {@link ThumbnailService}'s downscaled variant once it exists, rather than from the full-size file.
+ * Images evicted over the budget are kept through {@link SoftReference}s, so they can still be reused
+ * until the garbage collector needs the memory.
+ * </p>
+ *
+ * <p>
+ * This class is a singleton; use {@link #getInstance()} to access it. It is safe to use from any
+ * thread, but {@link #get} decodes on the calling thread when the image is not cached; the FX thread
+ * shows images with {@link AsyncImageLoader#loadResource}, which decodes on the {@link IOExecutor}.
+ * </p>
+ */
+public class ImageCache {
+
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private static final ImageCache instance = new ImageCache();
+
+    // Access-ordered, so iteration starts at the least recently used image
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, SoftEntry> evicted = new HashMap<>();
+    private final ReferenceQueue<Image> collected = new ReferenceQueue<>();
+
+    private long budgetBytes = DEFAULT_BUDGET_BYTES;
+    private long residentBytes;
+
+    private long hits;
+    private long softHits;
+    private long misses;
+    private long evictions;
+
+    private ImageCache() {}
+
+    public static ImageCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns an image at its natural size, always decoded from the full-size file.
+     *
+     * @param path the resource path of the image, e.g. {@code /coverArt/song.png}.
+     * @return the image, or null if the resource does not exist or cannot be decoded.
+     */
+    public Image get(String path) {
+        return get(path, 0, 0, 1);
+    }
+
+    /**
+     * Returns an image scaled to fit within a box, keeping its aspect ratio. A width or height of 0
+     * leaves that dimension unconstrained.
+     *
+     * @param path   the resource path of the image.
+     * @param width  the width to fit the image in, e.g. the fit width of the ImageView showing it.
+     * @param height the height to fit the image in.
+     * @param scale  the output scale of the screen the image is shown on, from {@link #screenScale()}; the
+     *               image is decoded at this many device pixels per layout pixel.
+     * @return the image, or null if the resource does not exist or cannot be decoded.
+     */
+    public Image get(String path, double width, double height, double scale) {
+        String key = key(path, width, height);
+
+        synchronized (this) {
+            Image image = lookup(key);
+            if (image != null) {
+                return image;
+            }
+            misses++;
+        }
+
+        // Decode outside the lock; if two threads race for the same image, the later one wins
+        Image image = decode(path, width, height, scale);
+        if (image == null) {
+            return null;
+        }
+        synchronized (this) {
+            insert(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Returns the output scale of the primary screen, to pass to
+     * {@link #get(String, double, double, double)}. Must be called on the FX thread, so callers read it
+     * when they request an image rather than on the thread that decodes it.
+     *
+     * @return the number of device pixels per layout pixel.
+     */
+    public static double screenScale() {
+        return Screen.getPrimary().getOutputScaleX();
+    }
+
+    /**
+     * Returns an image if it has been decoded at this size and is still cached, without decoding it.
+     *
+     * @param path   the resource path of the image.
+     * @param width  the width to fit the image in.
+     * @param height the height to fit the image in.
+     * @return the image, or null if it would have to be decoded.
+     */
+    public synchronized Image getIfCached(String path, double width, double height) {
+        return lookup(key(path, width, height));
+    }
+
+    /**
+     * Sets how many bytes of decoded pixels are kept strongly reachable. Evicts images straight away
+     * if the cache is over the new budget.
+     *
+     * @param budgetBytes the budget; must not be negative.
+     */
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Returns the number of bytes of decoded pixels held within the budget.
+     *
+     * @return the resident bytes.
+     */
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Returns the share of lookups answered without decoding, including images recovered from soft
+     * references.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + softHits + misses;
+        return total == 0 ? 0 : (double) (hits + softHits) / total;
+    }
+
+    /**
+     * Drops every cached image, for example after the image files have changed.
+     */
+    public synchronized void clear() {
+        images.clear();
+        evicted.clear();
+        residentBytes = 0;
+    }
+
+    /**
+     * Returns the hit rate, the resident bytes against the budget and the eviction count.
+     *
+     * @return a one-line summary.
+     */
+    public synchronized String getStats() {
+        long total = hits + softHits + misses;
+        return "ImageCache[" + images.size() + " images, " + residentBytes / 1024 + "/" + budgetBytes / 1024 + " KiB resident, "
+                + Math.round(getHitRate() * 100) + "% hits (" + hits + " + " + softHits + " soft / " + total + "), "
+                + evictions + " evictions]";
+    }
+
+    /**
+     * Returns a cached image, counting the hit, or null without counting a miss. Must be called holding
+     * the lock.
+     */
+    private Image lookup(String key) {
+        Image image = images.get(key);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        expungeCollected();
+        SoftEntry entry = evicted.remove(key);
+        image = entry == null ? null : entry.get();
+        if (image != null) {
+            softHits++;
+            insert(key, image);
+        }
+        return image;
+    }
+
+    private void insert(String key, Image image) {
+        Image previous = images.put(key, image);
+        if (previous != null) {
+            residentBytes -= sizeOf(previous);
+        }
+        residentBytes += sizeOf(image);
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Image>> iterator = images.entrySet().iterator();
+        while (residentBytes > budgetBytes && iterator.hasNext()) {
+            Map.Entry<String, Image> eldest = iterator.next();
+            iterator.remove();
+            residentBytes -= sizeOf(eldest.getValue());
+            evicted.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), collected));
+            evictions++;
+        }
+    }
+
+    /**
+     * Forgets the soft references whose images the garbage collector has reclaimed.
+     */
+    private void expungeCollected() {
+        SoftEntry entry;
+        while ((entry = (SoftEntry) collected.poll()) != null) {
+            evicted.remove(entry.key, entry);
+        }
+    }
+
+    private Image decode(String path, double width, double height, double scale) {
+        Path variant = width > 0 || height > 0
+                ? ThumbnailService.getInstance().findVariant(path, (int) Math.ceil(Math.max(width, height) * scale))
+                : null;
+
+        try (InputStream in = variant != null ? Files.newInputStream(variant) : ImageCache.class.getResourceAsStream(path)) {
+            if (in == null) {
+                System.out.println("Image not found: " + path);
+                return null;
+            }
+            Image image = new Image(in, width * scale, height * scale, true, true);
+            if (image.isError()) {
+                System.out.println("Error decoding image: " + path);
+                return null;
+            }
+            return image;
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Exception loading image: " + path);
+            return null;
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+    }
+
+    private static String key(String path, double width, double height) {
+        return path + '@' + (int) Math.ceil(width) + 'x' + (int) Math.ceil(height);
+    }
+
+    /**
+     * A soft reference to an evicted image that remembers its key, so it can be removed once cleared.
+     */
+    private static final class SoftEntry extends SoftReference<Image> {
+        private final String key;
+
+        SoftEntry(String key, Image image, ReferenceQueue<Image> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package AudioController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * A growable list of primitive {@code int} values.
+ * <p>
+ * Used in place of {@code List<Integer>} for audio ID queues and index lists so that elements are
+ * stored unboxed in a single array instead of as one {@link Integer} object each.
+ * </p>
+ */
+public class IntList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public IntList() {
+        this.elements = EMPTY;
+    }
+
+    /**
+     * Creates an empty list that can hold {@code initialCapacity} elements before growing.
+     *
+     * @param initialCapacity the initial capacity.
+     */
+    public IntList(int initialCapacity) {
+        this.elements = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    /**
+     * Creates a list holding a copy of another list's elements.
+     *
+     * @param other the list to copy.
+     */
+    public IntList(IntList other) {
+        this.elements = Arrays.copyOf(other.elements, other.size);
+        this.size = other.size;
+    }
+
+    /**
+     * Creates a list holding the given boxed values, in iteration order.
+     *
+     * @param values the values to copy.
+     * @return a new list.
+     */
+    public static IntList of(Collection<Integer> values) {
+        IntList list = new IntList(values.size());
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the given position.
+     *
+     * @param index the position of the element.
+     * @return the element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the element at the given position.
+     *
+     * @param index the position of the element.
+     * @param value the new value.
+     * @return the previous value.
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value the value to append.
+     */
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+    }
+
+    /**
+     * Inserts a value at the given position, shifting later elements to the right.
+     *
+     * @param index the position to insert at, between 0 and {@link #size()} inclusive.
+     * @param value the value to insert.
+     */
+    public void add(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Appends every element of another list.
+     *
+     * @param other the list whose elements are appended.
+     */
+    public void addAll(IntList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Removes the element at the given position, shifting later elements to the left.
+     *
+     * @param index the position of the element to remove.
+     * @return the removed value.
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes and returns the last element.
+     *
+     * @return the removed value.
+     * @throws IndexOutOfBoundsException if the list is empty.
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("List is empty");
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Removes the first occurrence of a value.
+     *
+     * @param value the value to remove.
+     * @return true if the value was found and removed.
+     */
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes every element matching a filter in a single pass, keeping the order of the rest.
+     *
+     * @param filter returns true for the elements to remove.
+     * @return the number of elements removed.
+     */
+    public int removeIf(IntPredicate filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(elements[i])) {
+                elements[kept++] = elements[i];
+            }
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Returns the position of the first occurrence of a value.
+     *
+     * @param value the value to look for.
+     * @return the position, or -1 if the value is not in the list.
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Randomly permutes the elements in place with a Fisher-Yates shuffle.
+     *
+     * @param random the source of randomness.
+     */
+    public void shuffle(Random random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+    }
+
+    /**
+     * Sorts the elements in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Calls the action for every element, in order.
+     *
+     * @param action the action to call.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * Returns a copy of the elements as an array.
+     *
+     * @return a new array of length {@link #size()}.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Returns a boxed copy of the elements, for APIs that require a {@link List}.
+     *
+     * @return a new mutable list.
+     */
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(elements[i]);
+        }
+        return list;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > elements.length) {
+            int newCapacity = Math.max(required, Math.max(8, elements.length + (elements.length >> 1)));
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList other) || other.size != size) {
+            return false;
+        }
+        return Arrays.equals(elements, 0, size, other.elements, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,305 @@
+package AudioController;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A hash map from primitive {@code int} keys to object values, using open addressing with
+ * linear probing.
+ * <p>
+ * Keys are stored unboxed in a flat array, so a map of a million audio IDs costs two arrays
+ * instead of a million {@link Integer} keys and hash-map nodes. Removal shifts later entries of a
+ * probe run back instead of leaving tombstones, so lookups stay short after many removals.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <V> the type of the values.
+ */
+public class IntMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    // Key 0 marks free slots, so its value is stored out of line
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map that can hold {@code expectedSize} entries before resizing.
+     *
+     * @param expectedSize the expected number of entries.
+     */
+    public IntMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key the key to look up.
+     * @return the value, or null if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : null;
+        }
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == FREE_KEY) {
+            V previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry for a key.
+     *
+     * @param key the key to remove.
+     * @return the removed value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeSlot(slot);
+        return previous;
+    }
+
+    /**
+     * Removes every entry whose value matches the predicate.
+     *
+     * @param predicate selects the values to remove.
+     * @return the number of entries removed.
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(Predicate<? super V> predicate) {
+        int removed = 0;
+        if (hasZeroKey && predicate.test(zeroValue)) {
+            remove(FREE_KEY);
+            removed++;
+        }
+        int slot = 0;
+        while (slot < keys.length) {
+            // A removal may shift a later entry into this slot, so only advance when nothing moved in
+            if (keys[slot] != FREE_KEY && predicate.test((V) values[slot])) {
+                removeSlot(slot);
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every entry, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in no particular order. The map must not be modified
+     * from within the action.
+     *
+     * @param action the action to call.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Entry<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(FREE_KEY, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE_KEY) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of the map, in no particular order.
+     *
+     * @return a new list of the keys.
+     */
+    public IntList keys() {
+        IntList result = new IntList(size);
+        if (hasZeroKey) {
+            result.add(FREE_KEY);
+        }
+        for (int key : keys) {
+            if (key != FREE_KEY) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Frees a slot and shifts back any later entries of the same probe run that would otherwise
+     * become unreachable.
+     */
+    private void removeSlot(int slot) {
+        size--;
+        int gap = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            int key = keys[current];
+            if (key == FREE_KEY) {
+                break;
+            }
+            int home = mix(key) & mask;
+            // Move the entry into the gap unless its home slot lies cyclically between the gap and itself
+            boolean reachable = gap <= current ? (gap < home && home <= current) : (gap < home || home <= current);
+            if (!reachable) {
+                keys[gap] = key;
+                values[gap] = values[current];
+                gap = current;
+            }
+        }
+        keys[gap] = FREE_KEY;
+        values[gap] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        size = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        int required = (int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+        return Integer.highestOneBit(required - 1) << 1;
+    }
+
+    /**
+     * Scrambles sequential IDs so they do not cluster into long probe runs.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * Callback receiving one key and value of an {@link IntMap}.
+     *
+     * @param <V> the type of the values.
+     */
+    @FunctionalInterface
+    public interface Entry<V> {
+        void accept(int key, V value);
+    }
+}
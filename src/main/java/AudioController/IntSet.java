@@ -0,0 +1,182 @@
+package AudioController;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A hash set of primitive {@code int} values, using open addressing with linear probing.
+ * <p>
+ * Used for membership checks such as "is this audio in the user's library" so that a whole
+ * library or cart can be held in memory as a single array instead of boxed {@link Integer}s.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class IntSet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    // Value 0 marks free slots, so its membership is tracked separately
+    private boolean hasZero;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set that can hold {@code expectedSize} values before resizing.
+     *
+     * @param expectedSize the expected number of values.
+     */
+    public IntSet(int expectedSize) {
+        allocate(IntMap.tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value == FREE_KEY) {
+            return hasZero;
+        }
+        int slot = IntMap.mix(value) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value to add.
+     * @return true if the value was not already present.
+     */
+    public boolean add(int value) {
+        if (value == FREE_KEY) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = IntMap.mix(value) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param value the value to remove.
+     * @return true if the value was present.
+     */
+    public boolean remove(int value) {
+        if (value == FREE_KEY) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int slot = IntMap.mix(value) & mask;
+        while (keys[slot] != value) {
+            if (keys[slot] == FREE_KEY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift back later members of the probe run so they stay reachable
+        size--;
+        int gap = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            int key = keys[current];
+            if (key == FREE_KEY) {
+                break;
+            }
+            int home = IntMap.mix(key) & mask;
+            boolean reachable = gap <= current ? (gap < home && home <= current) : (gap < home || home <= current);
+            if (!reachable) {
+                keys[gap] = key;
+                gap = current;
+            }
+        }
+        keys[gap] = FREE_KEY;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * Calls the action for every value, in no particular order.
+     *
+     * @param action the action to call.
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(FREE_KEY);
+        }
+        for (int key : keys) {
+            if (key != FREE_KEY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        allocate(newCapacity);
+        for (int key : oldKeys) {
+            if (key != FREE_KEY) {
+                int slot = IntMap.mix(key) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -33,6 +33,17 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage stage) throws Exception {
+        // Build the search index in the background while the user logs in
+        SearchIndex.getInstance().buildAsync();
+
+        // Decode the icons once, before any scene swaps them
+        IconRegistry.preloadAll();
+
+        // Build the rows of the home page and the song lists while the user logs in
+        TemplateFactory.prepare("/FXMLs/songcardtemplateScene.fxml", 16);
+        TemplateFactory.prepare("/FXMLs/songlisttemplateScene.fxml", 10);
+        TemplateFactory.prepare("/FXMLs/librarylisttemplateScene.fxml", 10);
+
         // Load the login scene FXML file
         Parent root = FXMLLoader.load(getClass().getResource("/FXMLs/loginScene.fxml"));
 
@@ -44,6 +55,19 @@ public class Main extends Application {
         stage.show();
     }
 
+    /**
+     * Called when the application exits.
+     * <p>
+     * Saves the play queue and closes the pooled database connections so the database server does not
+     * have to time them out.
+     * </p>
+     */
+    @Override
+    public void stop() {
+        AudioPlayer.getInstance().saveQueue();
+        DatabaseConnection.shutdown();
+    }
+
     /**
      * The entry point for launching the JavaFX application.
      * <p>
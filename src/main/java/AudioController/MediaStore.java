@@ -0,0 +1,230 @@
+package AudioController;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * A local store of media files addressed by their content, from which the {@link AudioPlayer} plays
+ * and the {@link DownloadManager} exports.
+ * <p>
+ * Each file is stored once, as a blob named after its SHA-256 checksum, in
+ * {@code <store>/<first two hex digits>/<checksum><extension>}. Resources with the same content, such as
+ * a track bundled under two names or downloaded by several users, share one blob. The index from a
+ * resource to its blob is the record kept by {@link Checksums}: a resource's location, size and
+ * modification time give the checksum, and the checksum gives the blob, so a changed resource is
+ * imported again and an unchanged one is never read twice.
+ * </p>
+ *
+ * <p>
+ * Resources are imported with {@link FileTransfer#download}, so an import is resumable and verified.
+ * Exports are hard links to the blob where the destination is on the same file system, which takes no
+ * time and no space. Elsewhere they are verified copies made by {@link FileTransfer#download}, which
+ * reads the blob once. A hard-linked export shares the blob's file, so a blob whose size or modification time
+ * changes is checked against its name before it is used again, and dropped if it no longer matches.
+ * </p>
+ *
+ * <p>
+ * The store is {@code ~/.audiolibrary/media} unless the {@code mediaStoreDir} system property names
+ * another directory. This class is a singleton; use {@link #getInstance()} to access it.
+ * </p>
+ */
+public class MediaStore {
+
+    private static final MediaStore instance = new MediaStore();
+
+    private final Path directory;
+    // ReentrantLocks rather than monitors, which would pin the virtual thread for the whole import
+    private final Map<String, ReentrantLock> importLocks = new ConcurrentHashMap<>();
+    private final Set<String> pendingImports = ConcurrentHashMap.newKeySet();
+
+    private MediaStore() {
+        String configured = System.getProperty("mediaStoreDir");
+        this.directory = configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".audiolibrary", "media");
+    }
+
+    public static MediaStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the blob of a resource if it is already in the store.
+     *
+     * @param resource the resource.
+     * @return the blob, or null if the resource has not been imported or has changed since.
+     */
+    public Path find(URL resource) {
+        try {
+            FileTransfer.SourceInfo info = FileTransfer.inspect(resource);
+            String sha256 = Checksums.known(resource.toExternalForm(), info.size(), info.lastModified());
+            return sha256 != null ? verifiedBlob(sha256, extensionOf(resource)) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the URI to play a resource from: its blob if it is in the store, and otherwise the
+     * resource itself, in which case the resource is imported in the background for next time.
+     *
+     * @param resource the resource.
+     * @return the URI as a string.
+     */
+    public String playbackUri(URL resource) {
+        Path blob = find(resource);
+        if (blob != null) {
+            return blob.toUri().toString();
+        }
+        String location = resource.toExternalForm();
+        if (pendingImports.add(location)) {
+            IOExecutor.executor().execute(() -> {
+                try {
+                    importResource(resource, bytes -> {}, () -> false);
+                } catch (IOException | RuntimeException e) {
+                    e.printStackTrace();
+                    System.out.println("Failed to import into the media store: " + location);
+                } finally {
+                    pendingImports.remove(location);
+                }
+            });
+        }
+        return resource.toString();
+    }
+
+    /**
+     * Returns the blob of a resource, importing the resource first if it is not in the store.
+     *
+     * @param resource  the resource.
+     * @param onBytes   told the number of bytes imported after every chunk; not called if the resource
+     *                  was already in the store.
+     * @param cancelled checked between chunks of the import.
+     * @return the blob and how it was imported.
+     * @throws IOException           if the resource cannot be read or the blob cannot be written.
+     * @throws CancellationException if {@code cancelled} returned true; the partial import is kept.
+     */
+    public Blob importResource(URL resource, LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        String location = resource.toExternalForm();
+        ReentrantLock lock = importLocks.computeIfAbsent(location, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            Path blob = find(resource);
+            if (blob != null) {
+                return new Blob(blob, Checksums.of(blob), false);
+            }
+
+            // Named after the location, so an interrupted import of the same resource resumes
+            String incomingName = Checksums.toHex(Checksums.newDigest().digest(location.getBytes(StandardCharsets.UTF_8)));
+            Path incoming = directory.resolve("incoming").resolve(incomingName + extensionOf(resource));
+            Files.createDirectories(incoming.getParent());
+            FileTransfer.Result result = FileTransfer.download(resource, incoming, onBytes, cancelled);
+
+            blob = blobPath(result.sha256(), extensionOf(resource));
+            Files.createDirectories(blob.getParent());
+            if (Files.exists(blob)) {
+                Files.delete(incoming); // Same content as a blob imported from another resource
+            } else {
+                Files.move(incoming, blob, StandardCopyOption.ATOMIC_MOVE);
+                Checksums.record(blob.toAbsolutePath().toString(), Files.size(blob),
+                        Files.getLastModifiedTime(blob).toMillis(), result.sha256());
+            }
+            return new Blob(blob, result.sha256(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves a resource to a file through the store: imports it if needed, then links or copies its blob
+     * to the destination, replacing the destination atomically. Nothing is written if the destination
+     * already holds the same content.
+     *
+     * @param resource    the resource.
+     * @param destination the file to write.
+     * @param onBytes     told the number of bytes after every chunk of the import or copy.
+     * @param cancelled   checked between chunks.
+     * @return how the file was saved and its checksum.
+     * @throws IOException           if the resource cannot be read or the file cannot be written.
+     * @throws CancellationException if {@code cancelled} returned true.
+     */
+    public FileTransfer.Result export(URL resource, Path destination, LongConsumer onBytes, BooleanSupplier cancelled) throws IOException {
+        Blob blob = importResource(resource, onBytes, cancelled);
+        long size = Files.size(blob.path());
+        // An import has already counted the bytes; otherwise the export reuses the whole blob
+        LongConsumer exportBytes = blob.imported() ? bytes -> {} : onBytes;
+        long reusedBytes = blob.imported() ? 0 : size;
+
+        if (Files.exists(destination) && (Files.isSameFile(destination, blob.path())
+                || blob.sha256().equals(Checksums.of(destination)))) {
+            exportBytes.accept(size);
+            return new FileTransfer.Result(FileTransfer.Method.SKIPPED, blob.sha256(), reusedBytes);
+        }
+
+        Path link = destination.resolveSibling(destination.getFileName() + ".link");
+        try {
+            Files.deleteIfExists(link);
+            Files.createLink(link, blob.path());
+            Files.move(link, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            exportBytes.accept(size);
+            return new FileTransfer.Result(FileTransfer.Method.HARD_LINK, blob.sha256(), reusedBytes);
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            // Another file system, or one without hard links
+            Files.deleteIfExists(link);
+        }
+        FileTransfer.Result copied = FileTransfer.download(blob.path().toUri().toURL(), destination, exportBytes, cancelled);
+        return blob.imported() ? new FileTransfer.Result(copied.method(), copied.sha256(), 0) : copied;
+    }
+
+    /**
+     * Returns the blob with a checksum, unless it is missing or its content no longer matches its name.
+     */
+    private Path verifiedBlob(String sha256, String extension) throws IOException {
+        Path blob = blobPath(sha256, extension);
+        if (!Files.isRegularFile(blob)) {
+            return null;
+        }
+        if (!sha256.equals(Checksums.of(blob))) {
+            System.out.println("Dropping media blob whose content changed: " + blob);
+            Files.deleteIfExists(blob);
+            return null;
+        }
+        return blob;
+    }
+
+    private Path blobPath(String sha256, String extension) {
+        return directory.resolve(sha256.substring(0, 2)).resolve(sha256 + extension);
+    }
+
+    /**
+     * Returns the extension of a resource's file name, which the blob keeps so players can tell the
+     * format from the name.
+     */
+    private static String extensionOf(URL resource) {
+        String path = resource.getPath();
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        return dot > slash ? path.substring(dot).toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * A file in the store.
+     *
+     * @param path     the blob.
+     * @param sha256   its checksum, in hex.
+     * @param imported whether the call that returned it imported it.
+     */
+    public record Blob(Path path, String sha256, boolean imported) {}
+}
@@ -0,0 +1,373 @@
+package AudioController;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The play queue of the {@link AudioPlayer}: a sequence of audio IDs in which the same track may
+ * appear more than once, and one entry is the current one.
+ * <p>
+ * The entries are kept in an implicit treap, a randomly balanced binary tree ordered by position in
+ * which every node knows the size of its subtree. Reading, inserting, removing and moving an entry at
+ * a position therefore take O(log n), where the {@link IntList} used before shifted every later
+ * element. Each entry also links to its parent, so the position of an entry is found by walking up
+ * the tree, and the entries of each audio ID are chained from a hash map, so finding where a track is
+ * in the queue does not scan it.
+ * </p>
+ *
+ * <p>
+ * The current entry is held by reference, so it stays current, and {@link #getCurrentIndex()} keeps
+ * pointing at it, when entries before it are inserted, removed or moved.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class PlayQueue {
+
+    private Entry root;
+    private Entry current;
+    private final IntMap<Entry> entriesByAudioID = new IntMap<>();
+
+    // Results of split(), kept in fields so splitting allocates nothing
+    private Entry splitLeft;
+    private Entry splitRight;
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the audio ID at a position.
+     *
+     * @param index the position.
+     * @return the audio ID.
+     * @throws IndexOutOfBoundsException if the position is outside the queue.
+     */
+    public int get(int index) {
+        return entryAt(index).audioID;
+    }
+
+    /**
+     * Returns the first position of an audio ID.
+     *
+     * @param audioID the audio ID.
+     * @return the position, or -1 if the track is not in the queue.
+     */
+    public int indexOf(int audioID) {
+        int first = -1;
+        for (Entry entry = entriesByAudioID.get(audioID); entry != null; entry = entry.nextSame) {
+            int position = positionOf(entry);
+            if (first == -1 || position < first) {
+                first = position;
+            }
+        }
+        return first;
+    }
+
+    public boolean contains(int audioID) {
+        return entriesByAudioID.containsKey(audioID);
+    }
+
+    /**
+     * Appends a track to the end of the queue.
+     *
+     * @param audioID the audio ID.
+     */
+    public void add(int audioID) {
+        insert(size(), audioID);
+    }
+
+    /**
+     * Inserts a track at a position, shifting the entries from there on back by one.
+     *
+     * @param index   the position, between 0 and {@link #size()}.
+     * @param audioID the audio ID.
+     */
+    public void insert(int index, int audioID) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Entry entry = new Entry(audioID);
+        attach(entry, index);
+
+        Entry head = entriesByAudioID.get(audioID);
+        if (head != null) {
+            entry.nextSame = head;
+            head.previousSame = entry;
+        }
+        entriesByAudioID.put(audioID, entry);
+    }
+
+    /**
+     * Removes the entry at a position. If it was the current entry, the entry that takes its place
+     * becomes current, or the new last entry if it was the last.
+     *
+     * @param index the position.
+     * @return the audio ID of the removed entry.
+     */
+    public int removeAt(int index) {
+        Entry entry = entryAt(index);
+        Entry replacement = entry == current ? null : current;
+        detach(entry, index);
+
+        Entry previous = entry.previousSame;
+        Entry next = entry.nextSame;
+        if (next != null) {
+            next.previousSame = previous;
+        }
+        if (previous != null) {
+            previous.nextSame = next;
+        } else if (next != null) {
+            entriesByAudioID.put(entry.audioID, next);
+        } else {
+            entriesByAudioID.remove(entry.audioID);
+        }
+
+        if (entry == current) {
+            int size = size();
+            replacement = size == 0 ? null : entryAt(Math.min(index, size - 1));
+        }
+        current = replacement;
+        return entry.audioID;
+    }
+
+    /**
+     * Removes the first entry of an audio ID.
+     *
+     * @param audioID the audio ID.
+     * @return the position the entry had, or -1 if the track was not in the queue.
+     */
+    public int removeValue(int audioID) {
+        int index = indexOf(audioID);
+        if (index != -1) {
+            removeAt(index);
+        }
+        return index;
+    }
+
+    /**
+     * Moves the entry at one position to another, shifting the entries in between. The entry stays
+     * current if it was.
+     *
+     * @param from the position of the entry.
+     * @param to   the position it should have afterwards.
+     */
+    public void move(int from, int to) {
+        Entry entry = entryAt(from);
+        if (to < 0 || to >= size()) {
+            throw new IndexOutOfBoundsException("Index " + to + " out of bounds for size " + size());
+        }
+        detach(entry, from);
+        attach(entry, to);
+    }
+
+    /**
+     * Replaces the whole queue and makes its first entry current.
+     *
+     * @param audioIDs the new queue.
+     */
+    public void setAll(IntList audioIDs) {
+        clear();
+        for (int i = 0; i < audioIDs.size(); i++) {
+            add(audioIDs.get(i));
+        }
+        current = root == null ? null : entryAt(0);
+    }
+
+    public void clear() {
+        root = null;
+        current = null;
+        entriesByAudioID.clear();
+    }
+
+    /**
+     * Returns the position of the current entry.
+     *
+     * @return the position, or -1 if the queue is empty.
+     */
+    public int getCurrentIndex() {
+        return current == null ? -1 : positionOf(current);
+    }
+
+    /**
+     * Makes the entry at a position the current one.
+     *
+     * @param index the position.
+     */
+    public void setCurrentIndex(int index) {
+        current = entryAt(index);
+    }
+
+    /**
+     * Returns the audio ID of the current entry.
+     *
+     * @return the audio ID, or -1 if the queue is empty.
+     */
+    public int getCurrentAudioID() {
+        return current == null ? -1 : current.audioID;
+    }
+
+    /**
+     * Returns the audio IDs in queue order.
+     *
+     * @return a new list.
+     */
+    public IntList toIntList() {
+        IntList list = new IntList(size());
+        appendInOrder(root, list);
+        return list;
+    }
+
+    private static void appendInOrder(Entry entry, IntList list) {
+        while (entry != null) {
+            appendInOrder(entry.left, list);
+            list.add(entry.audioID);
+            entry = entry.right;
+        }
+    }
+
+    private Entry entryAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Entry entry = root;
+        while (true) {
+            int leftSize = size(entry.left);
+            if (index < leftSize) {
+                entry = entry.left;
+            } else if (index == leftSize) {
+                return entry;
+            } else {
+                index -= leftSize + 1;
+                entry = entry.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of an entry by walking from it up to the root.
+     */
+    private static int positionOf(Entry entry) {
+        int position = size(entry.left);
+        while (entry.parent != null) {
+            if (entry == entry.parent.right) {
+                position += size(entry.parent.left) + 1;
+            }
+            entry = entry.parent;
+        }
+        return position;
+    }
+
+    /**
+     * Links a single entry into the tree at a position.
+     */
+    private void attach(Entry entry, int index) {
+        split(root, index);
+        Entry right = splitRight;
+        root = merge(merge(splitLeft, entry), right);
+        root.parent = null;
+    }
+
+    /**
+     * Unlinks the entry at a position from the tree, leaving it a single detached node.
+     */
+    private void detach(Entry entry, int index) {
+        split(root, index);
+        Entry left = splitLeft;
+        split(splitRight, 1);
+        root = merge(left, splitRight);
+        if (root != null) {
+            root.parent = null;
+        }
+        entry.left = null;
+        entry.right = null;
+        entry.parent = null;
+        entry.size = 1;
+    }
+
+    /**
+     * Splits a tree into its first {@code count} entries, left in {@link #splitLeft}, and the rest,
+     * left in {@link #splitRight}.
+     */
+    private void split(Entry tree, int count) {
+        if (tree == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        if (size(tree.left) >= count) {
+            split(tree.left, count);
+            tree.left = splitRight;
+            update(tree);
+            splitRight = tree;
+        } else {
+            split(tree.right, count - size(tree.left) - 1);
+            tree.right = splitLeft;
+            update(tree);
+            splitLeft = tree;
+        }
+        if (splitLeft != null) {
+            splitLeft.parent = null;
+        }
+        if (splitRight != null) {
+            splitRight.parent = null;
+        }
+    }
+
+    /**
+     * Joins two trees, every entry of the first coming before every entry of the second.
+     */
+    private static Entry merge(Entry left, Entry right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void update(Entry entry) {
+        entry.size = 1 + size(entry.left) + size(entry.right);
+        if (entry.left != null) {
+            entry.left.parent = entry;
+        }
+        if (entry.right != null) {
+            entry.right.parent = entry;
+        }
+    }
+
+    private static int size(Entry entry) {
+        return entry == null ? 0 : entry.size;
+    }
+
+    /**
+     * One entry of the queue: a node of the treap, and a link in the chain of entries of its audio ID.
+     */
+    private static final class Entry {
+        private final int audioID;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Entry left;
+        private Entry right;
+        private Entry parent;
+        private Entry nextSame;
+        private Entry previousSame;
+
+        Entry(int audioID) {
+            this.audioID = audioID;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package AudioController;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the playback position of the {@link AudioPlayer} to the parts of the UI that show it, such
+ * as the progress slider of the current song scene.
+ * <p>
+ * A media player's current time changes on every media tick. Listening to it directly means one
+ * {@code Platform.runLater} per tick per listener, and a listener added to a player outlives the scene
+ * that added it. Instead, this service samples the current player at a fixed rate (10 times a second
+ * by default) with an animation on the FX thread, and hands every subscriber the current time and
+ * total duration at most once per sample, and only when the time has moved. Subscribers never hold on
+ * to a player, so it does not matter when the player changes between tracks.
+ * </p>
+ *
+ * <p>
+ * A subscription tied to a node ends when the node is removed from its scene, so reloading a scene
+ * does not leave its old subscribers behind. The sampling stops while nobody is subscribed. Methods of
+ * this class must be called on the FX thread.
+ * </p>
+ */
+public class PlaybackPositionService {
+
+    public static final double DEFAULT_SAMPLE_RATE = 10;
+
+    private final Supplier<MediaPlayer> currentPlayer;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private Timeline sampler;
+    private double sampleRate = DEFAULT_SAMPLE_RATE;
+
+    private MediaPlayer lastPlayer;
+    private Duration lastTime;
+
+    /**
+     * Creates a service that samples whichever player is current at the time of each sample.
+     *
+     * @param currentPlayer returns the current player, or null if nothing is loaded.
+     */
+    PlaybackPositionService(Supplier<MediaPlayer> currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    /**
+     * Receives the playback position.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called on the FX thread when the playback position has moved since the last sample.
+         *
+         * @param currentTime   the position in the current track.
+         * @param totalDuration the length of the current track; unknown until the media is ready.
+         */
+        void positionChanged(Duration currentTime, Duration totalDuration);
+    }
+
+    /**
+     * A registered listener. Calling {@link #unsubscribe()} more than once has no further effect.
+     */
+    public final class Subscription {
+        private final Listener listener;
+        private Runnable onUnsubscribe;
+
+        private Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        public void unsubscribe() {
+            if (subscriptions.remove(this)) {
+                if (onUnsubscribe != null) {
+                    onUnsubscribe.run();
+                }
+                if (subscriptions.isEmpty()) {
+                    stopSampling();
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers a listener until it is unsubscribed.
+     *
+     * @param listener the listener.
+     * @return the subscription.
+     */
+    public Subscription subscribe(Listener listener) {
+        Subscription subscription = new Subscription(listener);
+        subscriptions.add(subscription);
+        startSampling();
+        return subscription;
+    }
+
+    /**
+     * Registers a listener for as long as a node stays in its scene: the subscription ends when the node
+     * is removed from the scene it is in, or is added to, e.g. because the scene's content is reloaded.
+     *
+     * @param owner    the node whose removal ends the subscription.
+     * @param listener the listener.
+     * @return the subscription.
+     */
+    public Subscription subscribe(Node owner, Listener listener) {
+        Subscription subscription = subscribe(listener);
+        ChangeListener<Scene> removal = (observable, oldScene, newScene) -> {
+            if (newScene == null) {
+                subscription.unsubscribe();
+            }
+        };
+        owner.sceneProperty().addListener(removal);
+        subscription.onUnsubscribe = () -> owner.sceneProperty().removeListener(removal);
+        return subscription;
+    }
+
+    /**
+     * Sets how many times a second the position is sampled.
+     *
+     * @param samplesPerSecond the rate; must be positive.
+     */
+    public void setSampleRate(double samplesPerSecond) {
+        if (!(samplesPerSecond > 0)) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + samplesPerSecond);
+        }
+        this.sampleRate = samplesPerSecond;
+        if (sampler != null) {
+            stopSampling();
+            startSampling();
+        }
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void startSampling() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = new Timeline(new KeyFrame(Duration.seconds(1 / sampleRate), event -> sample()));
+        sampler.setCycleCount(Animation.INDEFINITE);
+        sampler.play();
+    }
+
+    private void stopSampling() {
+        if (sampler != null) {
+            sampler.stop();
+            sampler = null;
+        }
+        lastPlayer = null;
+        lastTime = null;
+    }
+
+    private void sample() {
+        MediaPlayer player = currentPlayer.get();
+        if (player == null) {
+            return;
+        }
+        Duration currentTime = player.getCurrentTime();
+        if (currentTime == null || (player == lastPlayer && currentTime.equals(lastTime))) {
+            return;
+        }
+        lastPlayer = player;
+        lastTime = currentTime;
+
+        Duration totalDuration = player.getTotalDuration();
+        for (Subscription subscription : subscriptions) {
+            subscription.listener.positionChanged(currentTime, totalDuration);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package AudioController;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the state of a user's play queue on disk, so {@link AudioPlayer} can pick up where the user
+ * left off after a restart: the queued tracks, the current one, shuffle and loop, and the playback
+ * position.
+ * <p>
+ * The file is a binary journal. It starts with a snapshot of the whole state, followed by one small
+ * record per change (a track inserted or removed, the current track or a flag changed, the position
+ * moved on), so a change costs the same few bytes however long the queue is. Once the records
+ * outnumber twice the queue length, the owner writes a new snapshot in place of the file, which keeps
+ * both the file and the replay on startup in proportion to the queue.
+ * </p>
+ *
+ * <p>
+ * Records are encoded on the calling thread and written on a background thread in the order they were
+ * made, so the FX thread never waits for the disk. A snapshot is written to a temporary file and moved
+ * over the journal atomically. If the application dies in the middle of a record, replay stops at the
+ * last complete one.
+ * </p>
+ *
+ * <p>
+ * Journals are kept in {@code ~/.audiolibrary}, one per user, unless the {@code queueJournalDir} system
+ * property names another directory.
+ * </p>
+ */
+public class QueueJournal {
+
+    private static final int MAGIC = 0x41514A31; // "AQJ1"
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 1024;
+
+    private static final byte INSERT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte MOVE = 3;
+    private static final byte CLEAR = 4;
+    private static final byte CURRENT = 5;
+    private static final byte SHUFFLED = 6;
+    private static final byte LOOPED = 7;
+    private static final byte POSITION = 8;
+    private static final byte SNAPSHOT = 9;
+
+    private final Path file;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queue-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the writer thread
+    private FileChannel channel;
+
+    private int recordsSinceSnapshot;
+
+    private QueueJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the journal of a user. Nothing is read or written until {@link #replay(PlayQueue)} or one
+     * of the record methods is called.
+     *
+     * @param userID the ID of the user.
+     * @return the user's journal.
+     */
+    public static QueueJournal forUser(int userID) {
+        String configured = System.getProperty("queueJournalDir");
+        Path directory = configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".audiolibrary");
+        return new QueueJournal(directory.resolve("queue-" + userID + ".journal"));
+    }
+
+    /**
+     * Rebuilds the saved queue into an empty queue, including which entry is current.
+     *
+     * @param queue the queue to fill.
+     * @return the saved flags and position, or null if there is no saved queue.
+     */
+    public State replay(PlayQueue queue) {
+        boolean shuffled = false;
+        boolean looped = false;
+        long positionMillis = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                System.out.println("Ignoring queue journal with unknown format: " + file);
+                return null;
+            }
+            int op;
+            while ((op = in.read()) != -1) {
+                switch (op) {
+                    case INSERT -> queue.insert(in.readInt(), in.readInt());
+                    case REMOVE -> queue.removeAt(in.readInt());
+                    case MOVE -> queue.move(in.readInt(), in.readInt());
+                    case CLEAR -> queue.clear();
+                    case CURRENT -> queue.setCurrentIndex(in.readInt());
+                    case SHUFFLED -> shuffled = in.readBoolean();
+                    case LOOPED -> looped = in.readBoolean();
+                    case POSITION -> positionMillis = in.readLong();
+                    case SNAPSHOT -> {
+                        int count = in.readInt();
+                        IntList audioIDs = new IntList(count);
+                        for (int i = 0; i < count; i++) {
+                            audioIDs.add(in.readInt());
+                        }
+                        queue.setAll(audioIDs);
+                        int current = in.readInt();
+                        if (current >= 0) {
+                            queue.setCurrentIndex(current);
+                        }
+                        shuffled = in.readBoolean();
+                        looped = in.readBoolean();
+                        positionMillis = in.readLong();
+                    }
+                    default -> throw new IOException("Unknown record " + op);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException e) {
+            System.out.println("Queue journal ends in an incomplete record; restored up to it: " + file);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.out.println("Stopped reading damaged queue journal: " + file);
+        }
+        return new State(shuffled, looped, positionMillis);
+    }
+
+    public void insert(int index, int audioID) {
+        append(ByteBuffer.allocate(9).put(INSERT).putInt(index).putInt(audioID));
+    }
+
+    public void remove(int index) {
+        append(ByteBuffer.allocate(5).put(REMOVE).putInt(index));
+    }
+
+    public void move(int from, int to) {
+        append(ByteBuffer.allocate(9).put(MOVE).putInt(from).putInt(to));
+    }
+
+    public void clear() {
+        append(ByteBuffer.allocate(1).put(CLEAR));
+    }
+
+    public void current(int index) {
+        append(ByteBuffer.allocate(5).put(CURRENT).putInt(index));
+    }
+
+    public void shuffled(boolean shuffled) {
+        append(ByteBuffer.allocate(2).put(SHUFFLED).put((byte) (shuffled ? 1 : 0)));
+    }
+
+    public void looped(boolean looped) {
+        append(ByteBuffer.allocate(2).put(LOOPED).put((byte) (looped ? 1 : 0)));
+    }
+
+    public void position(long positionMillis) {
+        append(ByteBuffer.allocate(9).put(POSITION).putLong(positionMillis));
+    }
+
+    /**
+     * Returns whether enough records have been appended since the last snapshot that a new snapshot
+     * would be smaller than replaying them.
+     *
+     * @param queueSize the current length of the queue.
+     * @return true if the owner should call {@link #snapshot}.
+     */
+    public boolean needsCompaction(int queueSize) {
+        return recordsSinceSnapshot >= Math.max(MIN_RECORDS_BEFORE_COMPACTION, 2L * queueSize);
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the whole state.
+     *
+     * @param audioIDs       the queued tracks, in order.
+     * @param currentIndex   the position of the current track, or -1 if there is none.
+     * @param shuffled       whether shuffle is on.
+     * @param looped         whether loop is on.
+     * @param positionMillis the playback position in the current track.
+     */
+    public void snapshot(IntList audioIDs, int currentIndex, boolean shuffled, boolean looped, long positionMillis) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + 1 + 4 + audioIDs.size() * 4 + 4 + 2 + 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(SNAPSHOT);
+            out.writeInt(audioIDs.size());
+            for (int i = 0; i < audioIDs.size(); i++) {
+                out.writeInt(audioIDs.get(i));
+            }
+            out.writeInt(currentIndex);
+            out.writeBoolean(shuffled);
+            out.writeBoolean(looped);
+            out.writeLong(positionMillis);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory cannot fail", e);
+        }
+        recordsSinceSnapshot = 0;
+
+        byte[] snapshot = bytes.toByteArray();
+        writer.execute(() -> {
+            try {
+                closeChannel();
+                Files.createDirectories(file.getParent());
+                Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                try {
+                    Files.write(temporary, snapshot);
+                    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to write queue snapshot: " + file);
+            }
+        });
+    }
+
+    /**
+     * Writes the records still waiting and closes the file. Waits up to two seconds, so it can be called
+     * while the application shuts down.
+     */
+    public void close() {
+        writer.execute(this::closeChannel);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                System.out.println("Timed out writing queue journal: " + file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(ByteBuffer record) {
+        record.flip();
+        recordsSinceSnapshot++;
+        writer.execute(() -> {
+            try {
+                if (channel == null) {
+                    Files.createDirectories(file.getParent());
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    if (channel.size() == 0) {
+                        channel.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+                    }
+                }
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to append to queue journal: " + file);
+            }
+        });
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * The saved player state besides the queue itself.
+     *
+     * @param shuffled       whether shuffle was on.
+     * @param looped         whether loop was on.
+     * @param positionMillis the playback position in the current track.
+     */
+    public record State(boolean shuffled, boolean looped, long positionMillis) {}
+}
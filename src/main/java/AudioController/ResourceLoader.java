@@ -6,6 +6,16 @@ import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Utility class that provides methods for loading and retrieving various resources
@@ -71,11 +81,23 @@ public class ResourceLoader {
 
     /**
      * Retrieves the file path of the artist's image based on the artist ID.
+     * The result is served from the {@link CatalogCache} when possible.
      *
      * @param artistID the ID of the artist
      * @return the path to the artist's image, or null if not found
      */
     public static String getArtistImagePath(int artistID) {
+        return CatalogCache.getInstance().artistImagePaths().get(artistID, ResourceLoader::fetchArtistImagePath);
+    }
+
+
+    /**
+     * Retrieves the file path of the artist's image based on the artist ID.
+     *
+     * @param artistID the ID of the artist
+     * @return the path to the artist's image, or null if not found
+     */
+    private static String fetchArtistImagePath(int artistID) {
         String query = "SELECT artistImageFile FROM Artists WHERE artistID = ?";
         try (Connection connection = new DatabaseConnection().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
@@ -96,11 +118,23 @@ public class ResourceLoader {
 
     /**
      * Retrieves the name of the artist associated with the given artist ID.
+     * The result is served from the {@link CatalogCache} when possible.
      *
      * @param artistID the ID of the artist
      * @return the name of the artist, or null if not found
      */
     public static String getArtistName(int artistID) {
+        return CatalogCache.getInstance().artistNames().get(artistID, ResourceLoader::fetchArtistName);
+    }
+
+
+    /**
+     * Retrieves the name of the artist associated with the given artist ID.
+     *
+     * @param artistID the ID of the artist
+     * @return the name of the artist, or null if not found
+     */
+    private static String fetchArtistName(int artistID) {
         String query = "SELECT artistName FROM Artists WHERE artistID = ?";
         try (Connection connection = new DatabaseConnection().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
@@ -119,58 +153,26 @@ public class ResourceLoader {
 
 
     /**
-     * Retrieves the artist's name associated with the given audio ID by joining
-     * the audio and artist tables.
+     * Retrieves the artist's name associated with the given audio ID.
      *
      * @param audioID the ID of the audio file
      * @return the name of the artist, or null if not found
      */
     public static String getArtistNamefromAudioID(int audioID) {
-        String query = "SELECT a.artistName " +
-                "FROM Audio AS au " +
-                "JOIN Artists AS a ON au.artistID = a.artistID " +
-                "WHERE au.audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("artistName");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving artist name from database.");
-        }
-        return null;
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.artistName();
     }
 
 
     /**
-     * Retrieves the artist's ID associated with the given audio ID by joining
-     * the audio and artist tables.
+     * Retrieves the artist's ID associated with the given audio ID.
      *
      * @param audioID the ID of the audio file
      * @return the artist's ID, or -1 if not found
      */
     public static int getArtistIDFromAudioID(int audioID) {
-        String query = "SELECT au.artistID " +
-                "FROM Audio AS au " +
-                "JOIN Artists AS a ON au.artistID = a.artistID " +
-                "WHERE au.audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getInt("artistID");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving artist ID from database.");
-        }
-        return -1;  // Return -1 if artist ID is not found
+        TrackInfo track = loadTrack(audioID);
+        return (track == null || track.artistName() == null) ? -1 : track.artistID();
     }
 
 
@@ -181,21 +183,8 @@ public class ResourceLoader {
      * @return the path to the audio's image, or null if not found
      */
     public static String getAudioImagePath(int audioID) {
-        String query = "SELECT audioImageFileName FROM Audio WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                String imageFileName = resultSet.getString("audioImageFileName");
-                return "/coverArt/" + imageFileName;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving audio image path from database.");
-        }
-        return null;
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.imagePath();
     }
 
 
@@ -206,20 +195,8 @@ public class ResourceLoader {
      * @return the name of the audio file, or null if not found
      */
     public static String getAudioName(int audioID) {
-        String query = "SELECT audioName FROM Audio WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("audioName");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving audio name from database.");
-        }
-        return null;
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.audioName();
     }
 
 
@@ -230,20 +207,8 @@ public class ResourceLoader {
      * @return the file name of the audio file, or null if not found
      */
     public static String getAudioFileName(int audioID) {
-        String query = "SELECT audioFileName FROM Audio WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("audioFileName");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving audio name from database.");
-        }
-        return null;
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.audioFileName();
     }
 
 
@@ -254,21 +219,8 @@ public class ResourceLoader {
      * @return the price of the audio, or null if not found
      */
     public static Double getAudioPrice(int audioID) {
-        String query = "SELECT audioPrice FROM Audio WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                System.out.println(resultSet.getDouble("audioPrice"));
-                return resultSet.getDouble("audioPrice");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving audio price from database.");
-        }
-        return null;
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.price();
     }
 
 
@@ -279,23 +231,8 @@ public class ResourceLoader {
      * @return the genre of the audio, or empty if not found
      */
     public static String getAudioGenre(int audioID) {
-        String query = "SELECT g.genreName " +
-                "FROM Audio a " +
-                "JOIN Genre g ON a.genreID = g.genreID " +
-                "WHERE a.audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setInt(1, audioID);
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString("genreName");
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving genre from database.");
-        }
-        return "";
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? "" : track.genreName();
     }
 
 
@@ -306,20 +243,8 @@ public class ResourceLoader {
      * @return the duration of the audio in seconds, or 0 if not found
      */
     public static int getAudioDuration(int audioID) {
-        String query = "SELECT audioDuration FROM Audio WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setInt(1, audioID);
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("audioDuration");
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving duration from database.");
-        }
-        return 0; // Return 0 if no duration is found
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? 0 : track.audioDuration();
     }
 
 
@@ -330,32 +255,34 @@ public class ResourceLoader {
      * @return the genre ID of the audio, or -1 if not found
      */
     public static int getGenreID(int audioID) {
-        String query = "SELECT genreID " +
-                "FROM Audio " +
-                "WHERE audioID = ?";
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setInt(1, audioID);
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("genreID");
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error retrieving genre ID from database.");
-        }
-        return -1; // Return -1 if not found
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? -1 : track.genreID();
     }
 
 
     /**
      * Retrieves the genre name associated with the given genre ID.
+     * The result is served from the {@link CatalogCache} when possible.
      *
      * @param genreID the ID of the genre
      * @return the genre name, or an empty string if not found
      */
     public static String getGenreName(int genreID) {
+        String genreName = CatalogCache.getInstance().genreNames().get(genreID, id -> {
+            String name = fetchGenreName(id);
+            return name.isEmpty() ? null : name;
+        });
+        return genreName == null ? "" : genreName;
+    }
+
+
+    /**
+     * Retrieves the genre name associated with the given genre ID.
+     *
+     * @param genreID the ID of the genre
+     * @return the genre name, or an empty string if not found
+     */
+    private static String fetchGenreName(int genreID) {
         String query = "SELECT genreName " +
                 "FROM Genre " +
                 "WHERE genreID = ?";
@@ -377,53 +304,260 @@ public class ResourceLoader {
 
     /**
      * Retrieves the name of the album associated with the given audio ID.
-     * If no album is associated, an empty string is returned.
      *
      * @param audioID the ID of the audio file
      * @return the name of the album, or null if no album is found
      */
     public static String getAlbumName(int audioID) {
-        String query = "SELECT albumName FROM Albums " +
-                "LEFT JOIN Audio ON Audio.albumID = Albums.albumID WHERE audioID = ?";
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? null : track.albumName();
+    }
+
+
+    /**
+     * Retrieves the album ID associated with the given audio ID.
+     *
+     * @param audioID the ID of the audio file
+     * @return the album ID of the audio, or -1 if not found
+     */
+    public static int getAlbumID(int audioID) {
+        TrackInfo track = loadTrack(audioID);
+        return track == null ? -1 : track.albumID();
+    }
+
+
+    /**
+     * Upper bound on the number of IDs bound into a single IN-list query. Larger requests are
+     * split into several queries of at most this many IDs.
+     */
+    private static final int TRACK_BATCH_SIZE = 500;
+
+    private static final String TRACK_COLUMNS = "SELECT au.audioID, au.audioName, au.audioDuration, au.audioFileName, " +
+            "au.audioImageFileName, au.audioPrice, au.artistID, ar.artistName, " +
+            "au.albumID, al.albumName, au.genreID, g.genreName " +
+            "FROM Audio AS au " +
+            "LEFT JOIN Artists AS ar ON au.artistID = ar.artistID " +
+            "LEFT JOIN Albums AS al ON au.albumID = al.albumID " +
+            "LEFT JOIN Genre AS g ON au.genreID = g.genreID ";
+
+    /**
+     * Retrieves the full display details of a single track.
+     *
+     * @param audioID the ID of the audio file
+     * @return the {@link TrackInfo} of the audio, or null if not found
+     */
+    public static TrackInfo loadTrack(int audioID) {
+        TrackInfo cached = CatalogCache.getInstance().tracks().getIfPresent(audioID);
+        if (cached != null) {
+            return cached;
+        }
+        return loadTracks(List.of(audioID)).get(audioID);
+    }
+
+
+    /**
+     * Retrieves the full display details of many tracks at once. The Audio, Artists, Albums and
+     * Genre columns of all requested tracks are fetched with a single IN-list query (split only
+     * when more than {@value #TRACK_BATCH_SIZE} IDs are requested) instead of one query per field
+     * and track. Tracks already held by the {@link CatalogCache} are not queried again, and
+     * freshly loaded tracks are added to it.
+     *
+     * @param audioIDs the IDs of the audio files; duplicates are ignored
+     * @return a map from audio ID to {@link TrackInfo}, in the order the IDs were given.
+     *         IDs that do not exist are absent from the map.
+     */
+    public static Map<Integer, TrackInfo> loadTracks(Collection<Integer> audioIDs) {
+        if (audioIDs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        CatalogCache cache = CatalogCache.getInstance();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(audioIDs));
+        Map<Integer, TrackInfo> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (int id : ids) {
+            TrackInfo cached = cache.tracks().getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return orderedTracks(ids, found);
+        }
+
+        try (Connection connection = new DatabaseConnection().getConnection()) {
+            for (int from = 0; from < missing.size(); from += TRACK_BATCH_SIZE) {
+                List<Integer> batch = missing.subList(from, Math.min(from + TRACK_BATCH_SIZE, missing.size()));
+                String query = TRACK_COLUMNS + "WHERE au.audioID IN (" +
+                        String.join(",", Collections.nCopies(batch.size(), "?")) + ")";
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        preparedStatement.setInt(i + 1, batch.get(i));
+                    }
+                    try (ResultSet rs = preparedStatement.executeQuery()) {
+                        while (rs.next()) {
+                            TrackInfo track = readTrack(rs);
+                            found.put(track.audioID(), track);
+                            cacheTrack(track);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Error retrieving track details from database.");
+        }
+
+        return orderedTracks(ids, found);
+    }
+
+
+    /**
+     * Orders the found tracks the way their IDs were requested, so list views can render the map directly.
+     */
+    private static Map<Integer, TrackInfo> orderedTracks(List<Integer> ids, Map<Integer, TrackInfo> found) {
+        Map<Integer, TrackInfo> tracks = new LinkedHashMap<>();
+        for (int id : ids) {
+            TrackInfo track = found.get(id);
+            if (track != null) {
+                tracks.put(id, track);
+            }
+        }
+        return tracks;
+    }
+
+
+    /**
+     * Adds a freshly loaded track to the {@link CatalogCache}, along with the artist, album and
+     * genre names that came with it in the joined row.
+     */
+    private static void cacheTrack(TrackInfo track) {
+        CatalogCache cache = CatalogCache.getInstance();
+        cache.tracks().put(track.audioID(), track);
+        if (track.artistName() != null) {
+            cache.artistNames().put(track.artistID(), track.artistName());
+        }
+        if (track.albumName() != null) {
+            cache.albumNames().put(track.albumID(), track.albumName());
+        }
+        if (!track.genreName().isEmpty()) {
+            cache.genreNames().put(track.genreID(), track.genreName());
+        }
+    }
+
+
+    /**
+     * Streams every track in the catalog to the consumer, in ascending audio ID order.
+     * <p>
+     * Rows are read one at a time rather than buffered, so the whole catalog never has to fit in
+     * memory as a result set. The tracks are not added to the {@link CatalogCache}.
+     * </p>
+     *
+     * @param consumer receives each track
+     * @return true if the whole catalog was read, false if the query failed part way
+     */
+    public static boolean scanTracks(Consumer<TrackInfo> consumer) {
+        String query = TRACK_COLUMNS + "ORDER BY au.audioID ASC";
+
         try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(query,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
-            preparedStatement.setInt(1, audioID);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("albumName");
+            // Tells MySQL Connector/J to stream rows instead of loading them all into memory
+            preparedStatement.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = preparedStatement.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(readTrack(rs));
+                }
             }
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
-            System.out.println("Error retrieving album name from database.");
+            System.out.println("Error scanning tracks from database.");
         }
-        return null;
+        return false;
     }
 
 
     /**
-     * Retrieves the album ID associated with the given audio ID.
+     * Maps the current row of a result set selected with the track columns to a {@link TrackInfo}.
      *
-     * @param audioID the ID of the audio file
-     * @return the album ID of the audio, or -1 if not found
+     * @param rs the result set positioned on a row
+     * @return the {@link TrackInfo} for that row
+     * @throws SQLException if a column cannot be read
      */
-    public static int getAlbumID(int audioID) {
-        String query = "SELECT albumID " +
-                "FROM Audio " +
-                "WHERE audioID = ?";
+    private static TrackInfo readTrack(ResultSet rs) throws SQLException {
+        int artistID = rs.getInt("artistID");
+        if (rs.wasNull()) {
+            artistID = -1;
+        }
+        int albumID = rs.getInt("albumID");
+        if (rs.wasNull()) {
+            albumID = -1;
+        }
+        int genreID = rs.getInt("genreID");
+        if (rs.wasNull()) {
+            genreID = -1;
+        }
+        String genreName = rs.getString("genreName");
+
+        return new TrackInfo(
+                rs.getInt("audioID"),
+                rs.getString("audioName"),
+                rs.getInt("audioDuration"),
+                rs.getString("audioFileName"),
+                "/coverArt/" + rs.getString("audioImageFileName"),
+                rs.getDouble("audioPrice"),
+                artistID,
+                rs.getString("artistName"),
+                albumID,
+                rs.getString("albumName"),
+                genreID,
+                genreName == null ? "" : genreName
+        );
+    }
+
+
+    /**
+     * Retrieves the IDs of every audio in the user's library.
+     *
+     * @param userID the ID of the user
+     * @return the audio IDs, empty if none were found or the query failed
+     */
+    public static IntSet getLibraryAudioIDs(int userID) {
+        return fetchAudioIDSet("SELECT audioID FROM LibraryAudio WHERE userID = ?", userID);
+    }
+
+
+    /**
+     * Retrieves the IDs of every audio in the user's cart.
+     *
+     * @param userID the ID of the user
+     * @return the audio IDs, empty if none were found or the query failed
+     */
+    public static IntSet getCartAudioIDs(int userID) {
+        return fetchAudioIDSet("SELECT audioID FROM CartAudio WHERE userID = ?", userID);
+    }
+
+    private static IntSet fetchAudioIDSet(String query, int userID) {
+        IntSet audioIDs = new IntSet();
         try (Connection connection = new DatabaseConnection().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setInt(1, audioID);
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("albumID");
+
+            preparedStatement.setInt(1, userID);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    audioIDs.add(resultSet.getInt("audioID"));
                 }
             }
         } catch (Exception e) {
             e.printStackTrace();
-            System.out.println("Error retrieving album ID from database.");
+            System.out.println("Error retrieving audio IDs from database.");
         }
-        return -1; // Return -1 if not found
+        return audioIDs;
     }
 
 
@@ -456,11 +590,23 @@ public class ResourceLoader {
 
     /**
      * Retrieves the name of the playlist associated with the given playlist ID.
+     * The result is served from the {@link CatalogCache} when possible.
      *
      * @param playlistID the ID of the playlist
      * @return the name of the playlist, or null if not found
      */
     public static String getPlaylistName(int playlistID) {
+        return CatalogCache.getInstance().playlistNames().get(playlistID, ResourceLoader::fetchPlaylistName);
+    }
+
+
+    /**
+     * Retrieves the name of the playlist associated with the given playlist ID.
+     *
+     * @param playlistID the ID of the playlist
+     * @return the name of the playlist, or null if not found
+     */
+    private static String fetchPlaylistName(int playlistID) {
         String query = "SELECT playlistName FROM Playlists WHERE playlistID = ?";
         try (Connection connection = new DatabaseConnection().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
@@ -482,11 +628,24 @@ public class ResourceLoader {
     /**
      * Retrieves the file path of the playlist's image based on the given playlist ID.
      * If no valid image path is found, a default image path is returned.
+     * The result is served from the {@link CatalogCache} when possible.
      *
      * @param playlistID the ID of the playlist
      * @return the path to the playlist's image, or a default image path if not found
      */
     public static String getPlaylistImagePath(int playlistID) {
+        return CatalogCache.getInstance().playlistImagePaths().get(playlistID, ResourceLoader::fetchPlaylistImagePath);
+    }
+
+
+    /**
+     * Retrieves the file path of the playlist's image based on the given playlist ID.
+     * If no valid image path is found, a default image path is returned.
+     *
+     * @param playlistID the ID of the playlist
+     * @return the path to the playlist's image, or a default image path if not found
+     */
+    private static String fetchPlaylistImagePath(int playlistID) {
         String query = "SELECT playlistImageFile FROM Playlists WHERE playlistID = ?";
         try (Connection connection = new DatabaseConnection().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
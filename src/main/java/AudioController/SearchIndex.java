@@ -0,0 +1,604 @@
+package AudioController;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the catalog, used by the search bar instead of {@code LIKE '%query%'}
+ * scans of the Audio, Artists, Albums and Genre tables.
+ * <p>
+ * The title, artist name, album name and genre name of every track are split into lower-case,
+ * accent-free terms, and each term maps to the IDs of the tracks containing it, per field. Terms are
+ * kept sorted so that a prefix query is a range lookup, and every suffix of every term is indexed as
+ * well so that a substring query is a range lookup too. A query term that matches nothing that way
+ * is looked up in a {@link TrigramIndex} of the vocabulary instead, so misspelled terms still find
+ * the terms they were meant to be. Matches are ranked by how well each query term matched (exact,
+ * prefix, substring or within a few typos), by the field it matched in, and by whether the whole
+ * query matches the start of a field.
+ * </p>
+ *
+ * <p>
+ * The index is built in the background with {@link #buildAsync()} and kept current by listening to
+ * {@link CatalogCache} invalidations. Until the first build finishes, {@link #isReady()} returns
+ * false and callers should search the database instead.
+ * </p>
+ *
+ * <p>
+ * This class is a singleton; use {@link #getInstance()} to access it.
+ * </p>
+ */
+public class SearchIndex {
+
+    // Score multipliers for how a query term matched an indexed term; fuzzy matches lose one per edit
+    private static final int EXACT_MATCH = 12;
+    private static final int PREFIX_MATCH = 8;
+    private static final int SUBSTRING_MATCH = 4;
+    private static final int FUZZY_MATCH = 3;
+
+    // Added to the multiplier when the matched term is the first word of the field
+    private static final int LEADING_MATCH = 6;
+
+    // Shorter suffixes would each match a large part of the vocabulary, so they are not indexed
+    private static final int MIN_SUBSTRING_LENGTH = 2;
+
+    // Shorter query terms are too ambiguous to correct
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final Field[] FIELDS = Field.values();
+
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\p{M}'’]");
+
+    private static final SearchIndex instance = new SearchIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService worker;
+    private Index index = new Index();
+    private volatile boolean ready;
+
+    private SearchIndex() {
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CatalogCache.getInstance().addInvalidationListener((entity, id) -> worker.execute(() -> refresh(entity, id)));
+    }
+
+    /**
+     * Returns the singleton instance of the SearchIndex.
+     *
+     * @return the SearchIndex instance.
+     */
+    public static SearchIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts building the index from the whole catalog on a background thread. Searches keep using the
+     * previous index, if any, until the new one is complete.
+     */
+    public void buildAsync() {
+        worker.execute(this::rebuild);
+    }
+
+    /**
+     * Returns whether the index has been built and can answer searches.
+     *
+     * @return true once the first build has finished.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the tracks matching every term of the query, best matches first.
+     * <p>
+     * Each query term matches indexed terms that equal it, start with it or contain it, or, failing
+     * that, terms within one edit (two for terms longer than four characters) of it. Tracks with
+     * equal scores are ordered by audio ID.
+     * </p>
+     *
+     * @param query the text typed by the user.
+     * @param field the field to search in, or null to search every field.
+     * @return the IDs of the matching audio, ranked; empty if nothing matched.
+     */
+    public IntList search(String query, Field field) {
+        List<String> queryTerms = tokenize(query);
+        IntList results = new IntList();
+        if (queryTerms.isEmpty()) {
+            return results;
+        }
+        String phrase = String.join(" ", queryTerms);
+
+        lock.readLock().lock();
+        try {
+            IntMap<Hit> hits = null;
+            for (String term : queryTerms) {
+                IntMap<Hit> termHits = index.match(term, field);
+                hits = hits == null ? termHits : intersect(hits, termHits);
+                if (hits.isEmpty()) {
+                    return results;
+                }
+            }
+
+            // Pack each hit as (inverted score, audio ID) so a primitive sort ranks them. A single term's
+            // position is already scored by the leading-term bonus, so only longer queries are scored
+            // as phrases, which saves touching every matching document.
+            long[] ranked = new long[hits.size()];
+            int[] count = {0};
+            boolean scorePhrase = queryTerms.size() > 1;
+            hits.forEach((audioID, hit) -> {
+                long score = hit.score;
+                if (scorePhrase) {
+                    score += index.documents.get(audioID).phraseScore(phrase, field);
+                }
+                ranked[count[0]++] = (Integer.MAX_VALUE - score) << 32 | (audioID & 0xFFFFFFFFL);
+            });
+            Arrays.sort(ranked);
+            for (long packed : ranked) {
+                results.add((int) packed);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the size of the index, for logging.
+     *
+     * @return the index statistics.
+     */
+    public String getStats() {
+        lock.readLock().lock();
+        try {
+            return "SearchIndex[ready=" + ready + ", tracks=" + index.documents.size()
+                    + ", terms=" + index.terms.size() + ", suffixes=" + index.suffixes.size()
+                    + ", trigramTerms=" + index.trigrams.size() + "]";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case search terms, dropping accents, apostrophes and punctuation.
+     *
+     * @param text the text to split.
+     * @return the terms, in the order they appear.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = IGNORED_CHARACTERS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean partOfTerm = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private void rebuild() {
+        long startTime = System.nanoTime();
+        Index fresh = new Index();
+        if (!ResourceLoader.scanTracks(fresh::add)) {
+            System.out.println("Search index build failed; searches will use the database.");
+            return;
+        }
+        install(fresh);
+        System.out.println("Search index built in " + (System.nanoTime() - startTime) / 1_000_000 + " ms: " + getStats());
+    }
+
+    /**
+     * Replaces the index with one built from the given tracks instead of the database, for
+     * benchmarks and tests.
+     *
+     * @param tracks the whole catalog.
+     */
+    void build(Iterable<TrackInfo> tracks) {
+        Index fresh = new Index();
+        tracks.forEach(fresh::add);
+        install(fresh);
+    }
+
+    private void install(Index fresh) {
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    /**
+     * Re-indexes the tracks affected by a catalog change. Runs on the worker thread.
+     */
+    private void refresh(CatalogCache.Entity entity, int id) {
+        if (entity == null) {
+            rebuild();
+            return;
+        }
+        switch (entity) {
+            case TRACK -> {
+                IntList audioIDs = new IntList();
+                audioIDs.add(id);
+                reindex(audioIDs);
+            }
+            case ARTIST, ALBUM, GENRE -> reindex(tracksReferencing(entity, id));
+            case PLAYLIST -> {
+                // Playlists are not searchable
+            }
+        }
+    }
+
+    private IntList tracksReferencing(CatalogCache.Entity entity, int id) {
+        IntList audioIDs = new IntList();
+        lock.readLock().lock();
+        try {
+            index.documents.forEach((audioID, document) -> {
+                int referencedID = switch (entity) {
+                    case ARTIST -> document.artistID;
+                    case ALBUM -> document.albumID;
+                    default -> document.genreID;
+                };
+                if (referencedID == id) {
+                    audioIDs.add(audioID);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return audioIDs;
+    }
+
+    private void reindex(IntList audioIDs) {
+        if (audioIDs.isEmpty()) {
+            return;
+        }
+        replace(audioIDs, ResourceLoader.loadTracks(audioIDs.toList()));
+    }
+
+    /**
+     * Replaces tracks in the index with their current details. A track missing from {@code tracks} is
+     * removed.
+     */
+    void replace(IntList audioIDs, Map<Integer, TrackInfo> tracks) {
+        IntSet removed = new IntSet(audioIDs.size());
+        audioIDs.forEach(removed::add);
+
+        lock.writeLock().lock();
+        try {
+            index.removeAll(removed);
+            for (int i = 0; i < audioIDs.size(); i++) {
+                int audioID = audioIDs.get(i);
+                TrackInfo track = tracks.get(audioID);
+                if (track != null) {
+                    index.add(track);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps the tracks present in both maps, summing their scores.
+     */
+    private static IntMap<Hit> intersect(IntMap<Hit> a, IntMap<Hit> b) {
+        IntMap<Hit> smaller = a.size() <= b.size() ? a : b;
+        IntMap<Hit> larger = smaller == a ? b : a;
+        IntMap<Hit> combined = new IntMap<>(smaller.size());
+        smaller.forEach((audioID, hit) -> {
+            Hit other = larger.get(audioID);
+            if (other != null) {
+                hit.score += other.score;
+                combined.put(audioID, hit);
+            }
+        });
+        return combined;
+    }
+
+
+    /**
+     * The searchable fields of a track, with the weight a match in each contributes to the ranking.
+     */
+    public enum Field {
+        TITLE(4), ARTIST(3), ALBUM(2), GENRE(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the field searched by a search mode, e.g. "Title" or "Genre". The "All" mode
+         * searches every field and has no single field.
+         *
+         * @param mode the name of the search mode.
+         * @return the matching field, or null if the mode does not name a field.
+         */
+        public static Field fromMode(String mode) {
+            for (Field field : values()) {
+                if (field.name().equalsIgnoreCase(mode)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        private String textOf(TrackInfo track) {
+            return switch (this) {
+                case TITLE -> track.audioName();
+                case ARTIST -> track.artistName();
+                case ALBUM -> track.albumName();
+                case GENRE -> track.genreName();
+            };
+        }
+    }
+
+
+    /**
+     * The index data. Not thread-safe; guarded by the enclosing {@link SearchIndex}'s lock.
+     */
+    private static final class Index {
+        private final IntMap<Document> documents = new IntMap<>();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final TreeMap<String, List<String>> suffixes = new TreeMap<>();
+        private final TrigramIndex trigrams = new TrigramIndex();
+
+        private void add(TrackInfo track) {
+            Document document = new Document(track);
+            documents.put(track.audioID(), document);
+            for (Field field : FIELDS) {
+                String[] fieldTerms = document.terms[field.ordinal()];
+                for (int i = 0; i < fieldTerms.length; i++) {
+                    String term = fieldTerms[i];
+                    Postings postings = terms.get(term);
+                    if (postings == null) {
+                        postings = new Postings();
+                        terms.put(term, postings);
+                        addSuffixes(term);
+                        trigrams.add(term);
+                    }
+                    postings.add(field, track.audioID(), i == 0);
+                }
+            }
+        }
+
+        /**
+         * Removes tracks from the index. Each posting list they appear in is filtered once, however
+         * many of the tracks it holds, so re-indexing a whole artist or genre stays linear in the size
+         * of its postings.
+         */
+        private void removeAll(IntSet audioIDs) {
+            Set<String> affected = new HashSet<>();
+            audioIDs.forEach(audioID -> {
+                Document document = documents.remove(audioID);
+                if (document != null) {
+                    for (String[] fieldTerms : document.terms) {
+                        affected.addAll(Arrays.asList(fieldTerms));
+                    }
+                }
+            });
+            for (String term : affected) {
+                Postings postings = terms.get(term);
+                postings.removeAll(audioIDs);
+                if (postings.isEmpty()) {
+                    terms.remove(term);
+                    removeSuffixes(term);
+                    trigrams.remove(term);
+                }
+            }
+        }
+
+        /**
+         * Returns every track with a term equal to, starting with or containing the query term,
+         * scored by the best way it matched, or else every track with a term close to it.
+         */
+        private IntMap<Hit> match(String term, Field field) {
+            IntMap<Hit> hits = new IntMap<>();
+
+            Postings exact = terms.get(term);
+            if (exact != null) {
+                collect(exact, field, EXACT_MATCH, hits);
+            }
+            String upperBound = term + Character.MAX_VALUE;
+            for (Postings postings : terms.subMap(term, false, upperBound, false).values()) {
+                collect(postings, field, PREFIX_MATCH, hits);
+            }
+            if (term.length() >= MIN_SUBSTRING_LENGTH) {
+                for (List<String> containing : suffixes.subMap(term, true, upperBound, false).values()) {
+                    for (String indexed : containing) {
+                        collect(terms.get(indexed), field, SUBSTRING_MATCH, hits);
+                    }
+                }
+            }
+            if (hits.isEmpty() && term.length() >= MIN_FUZZY_LENGTH) {
+                int maxEdits = term.length() <= 4 ? 1 : 2;
+                for (TrigramIndex.Match match : trigrams.find(term, maxEdits)) {
+                    collect(terms.get(match.term()), field, FUZZY_MATCH - match.distance(), hits);
+                }
+            }
+            return hits;
+        }
+
+        private void collect(Postings postings, Field only, int multiplier, IntMap<Hit> hits) {
+            for (Field field : FIELDS) {
+                if (only != null && field != only) {
+                    continue;
+                }
+                collect(postings.leadingByField[field.ordinal()], (multiplier + LEADING_MATCH) * field.weight, hits);
+                collect(postings.byField[field.ordinal()], multiplier * field.weight, hits);
+            }
+        }
+
+        private void collect(IntList audioIDs, int score, IntMap<Hit> hits) {
+            if (audioIDs == null) {
+                return;
+            }
+            for (int i = 0; i < audioIDs.size(); i++) {
+                int audioID = audioIDs.get(i);
+                Hit hit = hits.get(audioID);
+                if (hit == null) {
+                    hits.put(audioID, new Hit(audioID, score));
+                } else if (hit.score < score) {
+                    hit.score = score;
+                }
+            }
+        }
+
+        // Suffixes starting at 0 are the term itself, which prefix lookups already cover
+        private void addSuffixes(String term) {
+            for (int start = 1; start <= term.length() - MIN_SUBSTRING_LENGTH; start++) {
+                suffixes.computeIfAbsent(term.substring(start), suffix -> new ArrayList<>(1)).add(term);
+            }
+        }
+
+        private void removeSuffixes(String term) {
+            for (int start = 1; start <= term.length() - MIN_SUBSTRING_LENGTH; start++) {
+                String suffix = term.substring(start);
+                List<String> containing = suffixes.get(suffix);
+                if (containing != null) {
+                    containing.remove(term);
+                    if (containing.isEmpty()) {
+                        suffixes.remove(suffix);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The indexed form of one track.
+     */
+    private static final class Document {
+        private final int artistID;
+        private final int albumID;
+        private final int genreID;
+        private final String[] texts = new String[FIELDS.length];
+        private final String[][] terms = new String[FIELDS.length][];
+
+        private Document(TrackInfo track) {
+            this.artistID = track.artistID();
+            this.albumID = track.albumID();
+            this.genreID = track.genreID();
+            for (Field field : FIELDS) {
+                List<String> fieldTerms = tokenize(field.textOf(track));
+                Set<String> distinct = new LinkedHashSet<>(fieldTerms);
+                texts[field.ordinal()] = String.join(" ", fieldTerms);
+                terms[field.ordinal()] = distinct.toArray(new String[0]);
+            }
+        }
+
+        /**
+         * Scores how well the whole query matches one of the fields: exactly, at its start, or anywhere.
+         */
+        private int phraseScore(String phrase, Field only) {
+            int best = 0;
+            for (Field field : FIELDS) {
+                if (only != null && field != only) {
+                    continue;
+                }
+                String text = texts[field.ordinal()];
+                int score;
+                if (text.equals(phrase)) {
+                    score = 24 * field.weight;
+                } else if (text.startsWith(phrase)) {
+                    score = 12 * field.weight;
+                } else if (text.contains(phrase)) {
+                    score = 6 * field.weight;
+                } else {
+                    score = 0;
+                }
+                best = Math.max(best, score);
+            }
+            return best;
+        }
+    }
+
+    /**
+     * The IDs of the tracks containing one term, per field, and separately the IDs of the tracks
+     * whose field starts with the term.
+     */
+    private static final class Postings {
+        private final IntList[] byField = new IntList[FIELDS.length];
+        private final IntList[] leadingByField = new IntList[FIELDS.length];
+
+        private void add(Field field, int audioID, boolean leading) {
+            add(byField, field, audioID);
+            if (leading) {
+                add(leadingByField, field, audioID);
+            }
+        }
+
+        private void removeAll(IntSet audioIDs) {
+            removeAll(byField, audioIDs);
+            removeAll(leadingByField, audioIDs);
+        }
+
+        private static void add(IntList[] lists, Field field, int audioID) {
+            IntList audioIDs = lists[field.ordinal()];
+            if (audioIDs == null) {
+                audioIDs = new IntList(4);
+                lists[field.ordinal()] = audioIDs;
+            }
+            audioIDs.add(audioID);
+        }
+
+        private static void removeAll(IntList[] lists, IntSet removed) {
+            for (int i = 0; i < lists.length; i++) {
+                IntList audioIDs = lists[i];
+                if (audioIDs != null && audioIDs.removeIf(removed::contains) > 0 && audioIDs.isEmpty()) {
+                    lists[i] = null;
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            for (IntList audioIDs : byField) {
+                if (audioIDs != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A matching track and its score so far.
+     */
+    private static final class Hit {
+        private final int audioID;
+        private int score;
+
+        private Hit(int audioID, int score) {
+            this.audioID = audioID;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package AudioController;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of one search, fetched a page at a time.
+ * <p>
+ * Opening a search only finds out how many tracks match; the tracks themselves are loaded by
+ * {@link #nextPage()} as the user scrolls. While the {@link SearchIndex} is ready, the ranked IDs come
+ * from the index and the count is exact and free. Before that, pages are read from the database with
+ * keyset pagination ({@code audioID > last ORDER BY audioID LIMIT n}), so each page costs the same no
+ * matter how deep the user scrolls, and the total is counted only if the first page is full.
+ * </p>
+ *
+ * <p>
+ * Pages are fetched from the database, so {@link #open(String, String, int)} and {@link #nextPage()}
+ * should not be called on the FX thread. Pages must be fetched by one thread at a time, but
+ * {@link #hasMore()} may be called from any thread.
+ * </p>
+ */
+public abstract class SearchResults {
+
+    private final String query;
+    private final int pageSize;
+
+    private SearchResults(String query, int pageSize) {
+        this.query = query;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Starts a search.
+     *
+     * @param query    the text typed by the user.
+     * @param mode     the search mode: "Title", "Genre", "Artist", "Album" or "All".
+     * @param pageSize the number of tracks returned by each call to {@link #nextPage()}.
+     * @return the results, or null if the mode is invalid.
+     */
+    public static SearchResults open(String query, String mode, int pageSize) {
+        // A null field searches every field
+        SearchIndex.Field field = SearchIndex.Field.fromMode(mode);
+        if (field == null && !"All".equals(mode)) {
+            return null;
+        }
+
+        SearchIndex searchIndex = SearchIndex.getInstance();
+        if (searchIndex.isReady()) {
+            return new IndexResults(query, pageSize, searchIndex.search(query, field));
+        }
+        return new DatabaseResults(query, pageSize, getConditionForMode(mode));
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns the total number of matching tracks. Before the index is ready this may run a count
+     * query the first time it is called, unless the first page already held every match.
+     *
+     * @return the number of matches.
+     */
+    public abstract int getCount();
+
+    /**
+     * Returns whether another call to {@link #nextPage()} may return tracks.
+     *
+     * @return true until the last page has been fetched.
+     */
+    public abstract boolean hasMore();
+
+    /**
+     * Fetches the next page of matching tracks, in result order.
+     *
+     * @return up to {@link #getPageSize()} tracks; empty once every page has been fetched.
+     */
+    public abstract List<TrackInfo> nextPage();
+
+    /**
+     * Returns the SQL that joins the tables a search mode needs and filters on its column(s), with
+     * one {@code ?} placeholder per column for the {@code LIKE} pattern.
+     */
+    private static String getConditionForMode(String mode) {
+        return switch (mode) {
+            case "Title" -> "FROM Audio a WHERE a.audioName LIKE ?";
+            case "Genre" -> "FROM Audio a JOIN Genre g ON a.genreID = g.genreID WHERE g.genreName LIKE ?";
+            case "Artist" -> "FROM Audio a JOIN Artists ar ON a.artistID = ar.artistID WHERE ar.artistName LIKE ?";
+            case "Album" -> "FROM Audio a JOIN Albums al ON a.albumID = al.albumID WHERE al.albumName LIKE ?";
+            default -> """
+                FROM Audio a
+                LEFT JOIN Artists ar ON a.artistID = ar.artistID
+                LEFT JOIN Albums al ON a.albumID = al.albumID
+                LEFT JOIN Genre g ON a.genreID = g.genreID
+                WHERE (a.audioName LIKE ? OR ar.artistName LIKE ? OR al.albumName LIKE ? OR g.genreName LIKE ?)
+                """;
+        };
+    }
+
+
+    /**
+     * Results ranked by the {@link SearchIndex}. The cursor is the position in the ranked list.
+     */
+    private static final class IndexResults extends SearchResults {
+        private final IntList audioIDs;
+        private volatile int position;
+
+        private IndexResults(String query, int pageSize, IntList audioIDs) {
+            super(query, pageSize);
+            this.audioIDs = audioIDs;
+        }
+
+        @Override
+        public int getCount() {
+            return audioIDs.size();
+        }
+
+        @Override
+        public boolean hasMore() {
+            return position < audioIDs.size();
+        }
+
+        @Override
+        public List<TrackInfo> nextPage() {
+            int end = Math.min(position + getPageSize(), audioIDs.size());
+            List<Integer> page = new ArrayList<>(end - position);
+            for (int i = position; i < end; i++) {
+                page.add(audioIDs.get(i));
+            }
+            position = end;
+            return new ArrayList<>(ResourceLoader.loadTracks(page).values());
+        }
+    }
+
+    /**
+     * Results read from the database in audio ID order. The cursor is the last audio ID returned.
+     */
+    private static final class DatabaseResults extends SearchResults {
+        private final String condition;
+        private final String pattern;
+        private final int parameterCount;
+        private int lastAudioID = Integer.MIN_VALUE;
+        private volatile boolean exhausted;
+        private int fetchedSoFar;
+        private int count = -1;
+
+        private DatabaseResults(String query, int pageSize, String condition) {
+            super(query, pageSize);
+            this.condition = condition;
+            this.pattern = "%" + query + "%";
+            this.parameterCount = (int) condition.chars().filter(c -> c == '?').count();
+        }
+
+        @Override
+        public int getCount() {
+            if (count < 0) {
+                count = exhausted ? fetchedSoFar : countMatches();
+            }
+            return count;
+        }
+
+        @Override
+        public boolean hasMore() {
+            return !exhausted;
+        }
+
+        @Override
+        public List<TrackInfo> nextPage() {
+            if (exhausted) {
+                return new ArrayList<>();
+            }
+            String sql = "SELECT a.audioID " + condition + " AND a.audioID > ? ORDER BY a.audioID ASC LIMIT ?";
+
+            List<Integer> page = new ArrayList<>();
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+                int index = bindPattern(preparedStatement);
+                preparedStatement.setInt(index, lastAudioID);
+                preparedStatement.setInt(index + 1, getPageSize());
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        page.add(rs.getInt("audioID"));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.out.println("Error fetching search results: " + e.getMessage());
+                exhausted = true;
+                return new ArrayList<>();
+            }
+
+            if (page.size() < getPageSize()) {
+                exhausted = true;
+            }
+            if (!page.isEmpty()) {
+                lastAudioID = page.get(page.size() - 1);
+            }
+            fetchedSoFar += page.size();
+            return new ArrayList<>(ResourceLoader.loadTracks(page).values());
+        }
+
+        private int countMatches() {
+            String sql = "SELECT COUNT(*) " + condition;
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+                bindPattern(preparedStatement);
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.out.println("Error counting search results: " + e.getMessage());
+            }
+            return fetchedSoFar;
+        }
+
+        /**
+         * Binds the LIKE pattern to every column placeholder.
+         *
+         * @return the index of the first placeholder after them.
+         */
+        private int bindPattern(PreparedStatement preparedStatement) throws SQLException {
+            for (int i = 1; i <= parameterCount; i++) {
+                preparedStatement.setString(i, pattern);
+            }
+            return parameterCount + 1;
+        }
+    }
+}
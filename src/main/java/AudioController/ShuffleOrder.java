@@ -0,0 +1,290 @@
+package AudioController;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The order in which a shuffled queue is played, as a permutation of queue indices.
+ * <p>
+ * The permutation is drawn once with a Fisher-Yates shuffle when shuffle is turned on, and a cursor
+ * walks through it, so every track is played once before any track repeats and moving to the next
+ * track is a single array read. Tracks played so far are kept on a back stack, so
+ * {@link #previous()} returns to the track that was actually played before, and {@link #next()}
+ * after {@link #previous()} walks forward through the same tracks again before continuing with the
+ * permutation.
+ * </p>
+ *
+ * <p>
+ * A track added to the queue is given a random place among the tracks not yet played, which is one
+ * step of an inside-out Fisher-Yates shuffle and keeps the permutation uniformly random. When a
+ * looped queue runs out of tracks, {@link #next(boolean)} draws a new permutation that does not start
+ * with the track just played. Its first track is chosen as soon as {@link #peekNext(boolean)} asks
+ * for it, so the track peeked at is the track played, but nothing else changes until the queue
+ * actually moves on.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class ShuffleOrder {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Random random;
+
+    // order[0..cursor] have been played this round; position is the inverse of order
+    private int[] order = EMPTY;
+    private int[] position = EMPTY;
+    private int size;
+    private int cursor = -1;
+    private int current = -1;
+
+    // First track of the next round of a looped queue, chosen when first peeked at; -1 if not chosen
+    private int nextRoundStart = -1;
+
+    private final IntList back = new IntList();
+    private final IntList forward = new IntList();
+
+    /**
+     * Creates an empty order.
+     *
+     * @param random the source of randomness.
+     */
+    public ShuffleOrder(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Draws a new permutation of a queue and forgets the tracks played so far.
+     *
+     * @param queueSize the number of tracks in the queue.
+     * @param start     the index of the track playing now, which becomes the first of the permutation,
+     *                  or -1 if no track is playing.
+     */
+    public void reset(int queueSize, int start) {
+        if (order.length < queueSize) {
+            order = new int[queueSize];
+            position = new int[queueSize];
+        }
+        size = queueSize;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        shuffle(0);
+
+        back.clear();
+        forward.clear();
+        nextRoundStart = -1;
+        current = start;
+        cursor = -1;
+        if (start >= 0 && start < size) {
+            swap(0, position[start]);
+            cursor = 0;
+        } else {
+            current = -1;
+        }
+    }
+
+    /**
+     * Returns the index of the track {@link #next(boolean)} would move to, without moving there. When
+     * a looped queue is exhausted, this chooses the first track of the next round, which later calls
+     * return unchanged; the round itself is only drawn by {@link #next(boolean)}.
+     *
+     * @param looped whether the queue starts over after its last track.
+     * @return the index of the next track, or -1 if playback ends after the current track.
+     */
+    public int peekNext(boolean looped) {
+        if (!forward.isEmpty()) {
+            return forward.get(forward.size() - 1);
+        }
+        if (cursor + 1 < size) {
+            return order[cursor + 1];
+        }
+        if (!looped || size == 0) {
+            return -1;
+        }
+        if (nextRoundStart == -1) {
+            nextRoundStart = random.nextInt(size);
+            if (size > 1 && nextRoundStart == current) {
+                nextRoundStart = (current + 1 + random.nextInt(size - 1)) % size;
+            }
+        }
+        return nextRoundStart;
+    }
+
+    /**
+     * Moves to the next track.
+     *
+     * @param looped whether the queue starts over after its last track.
+     * @return the index of the next track, or -1 if playback ends after the current track.
+     */
+    public int next(boolean looped) {
+        int next = peekNext(looped);
+        if (next == -1) {
+            return -1;
+        }
+        if (current != -1) {
+            back.add(current);
+        }
+        if (!forward.isEmpty()) {
+            forward.removeLast();
+        } else if (cursor + 1 < size) {
+            cursor++;
+        } else {
+            newRound(next);
+        }
+        current = next;
+        return next;
+    }
+
+    /**
+     * Moves back to the track played before the current one.
+     *
+     * @return the index of the previous track, or -1 if no track was played before the current one.
+     */
+    public int previous() {
+        if (back.isEmpty()) {
+            return -1;
+        }
+        if (current != -1) {
+            forward.add(current);
+        }
+        current = back.removeLast();
+        return current;
+    }
+
+    /**
+     * Makes a track chosen by the user the current one. If it has not been played this round yet, it
+     * is taken out of the tracks still to come.
+     *
+     * @param index the index of the track.
+     */
+    public void jumpTo(int index) {
+        if (index < 0 || index >= size || index == current) {
+            return;
+        }
+        if (current != -1) {
+            back.add(current);
+        }
+        forward.clear();
+        nextRoundStart = -1;
+        if (position[index] > cursor) {
+            cursor++;
+            swap(cursor, position[index]);
+        }
+        current = index;
+    }
+
+    /**
+     * Adds the track appended to the end of the queue at a random place among the tracks still to come.
+     */
+    public void add() {
+        if (size == order.length) {
+            int capacity = Math.max(8, size + (size >> 1));
+            order = Arrays.copyOf(order, capacity);
+            position = Arrays.copyOf(position, capacity);
+        }
+        order[size] = size;
+        position[size] = size;
+        size++;
+        nextRoundStart = -1;
+
+        int target = cursor + 1 + random.nextInt(size - cursor - 1);
+        swap(target, size - 1);
+    }
+
+    /**
+     * Removes a track from the order after it was removed from the queue, shifting the indices of the
+     * tracks after it down by one.
+     *
+     * @param index the index the track had in the queue.
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            return;
+        }
+        int removedAt = position[index];
+        System.arraycopy(order, removedAt + 1, order, removedAt, size - removedAt - 1);
+        size--;
+        if (removedAt <= cursor) {
+            cursor--;
+        }
+        for (int i = 0; i < size; i++) {
+            if (order[i] > index) {
+                order[i]--;
+            }
+            position[order[i]] = i;
+        }
+
+        removeFrom(back, index);
+        removeFrom(forward, index);
+        nextRoundStart = -1;
+        if (current == index) {
+            current = -1;
+        } else if (current > index) {
+            current--;
+        }
+    }
+
+    /**
+     * Returns the index of the current track.
+     *
+     * @return the index, or -1 if no track is current.
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Starts a new round after every track has been played, with the given track first.
+     */
+    private void newRound(int start) {
+        shuffle(0);
+        swap(0, position[start]);
+        cursor = 0;
+        nextRoundStart = -1;
+    }
+
+    /**
+     * Shuffles order[from..size) with a Fisher-Yates shuffle and updates the positions.
+     */
+    private void shuffle(int from) {
+        for (int i = size - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int i = from; i < size; i++) {
+            position[order[i]] = i;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = order[i];
+        int b = order[j];
+        order[i] = b;
+        order[j] = a;
+        position[b] = i;
+        position[a] = j;
+    }
+
+    /**
+     * Removes every occurrence of an index from a stack and shifts the indices after it down by one.
+     */
+    private static void removeFrom(IntList stack, int index) {
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            int value = stack.get(i);
+            if (value == index) {
+                stack.removeAt(i);
+            } else if (value > index) {
+                stack.set(i, value - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package AudioController;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A template FXML compiled into the steps that build one row, so that a row is built without parsing
+ * XML or looking anything up by reflection.
+ * <p>
+ * {@link FXMLLoader} parses the XML, resolves every class, setter, controller field and handler
+ * method by name, and converts every attribute value for each row it loads. The templates only use
+ * a small part of FXML: nodes with public no-argument constructors, attributes set through setters,
+ * static properties such as {@code AnchorPane.topAnchor}, read-only list properties such as
+ * {@code children} and {@code stylesheets}, images declared by URL alone, {@code fx:id},
+ * {@code fx:controller} and {@code #method} event handlers. A blueprint does all of that once, and a
+ * row then costs the constructors, setters and field writes FXMLLoader would end up calling.
+ * </p>
+ *
+ * <p>
+ * {@link #compile} rejects a template using anything else, such as {@code fx:include},
+ * {@code fx:define}, expressions or resource keys, with an {@link IllegalArgumentException}; the
+ * {@link TemplateFactory} loads such templates with FXMLLoader instead.
+ * </p>
+ *
+ * <p>
+ * A blueprint is immutable and may build rows on any thread.
+ * </p>
+ */
+final class TemplateBlueprint {
+
+    private static final String FX_NAMESPACE_PREFIX = "http://javafx.com/fxml";
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+
+    private final Part root;
+    private final Constructor<?> controllerConstructor;
+    private final Method initialize;
+
+    private TemplateBlueprint(Part root, Constructor<?> controllerConstructor, Method initialize) {
+        this.root = root;
+        this.controllerConstructor = controllerConstructor;
+        this.initialize = initialize;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param location the template's URL, which {@code @} paths in it are relative to.
+     * @param source   the template's XML.
+     * @return the blueprint.
+     * @throws IOException              if the XML cannot be parsed.
+     * @throws IllegalArgumentException if the template uses FXML that blueprints do not support.
+     */
+    static TemplateBlueprint compile(URL location, byte[] source) throws IOException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(source));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse template " + location, e);
+        }
+        return new Compiler(location, document).compile();
+    }
+
+    /**
+     * Builds a row: its nodes, its controller with the nodes injected, and the controller's
+     * {@code initialize} method called, as FXMLLoader would.
+     *
+     * @param <C> the type of the controller.
+     * @return the row.
+     * @throws UncheckedIOException if a constructor, setter or the controller throws, as FXMLLoader
+     *                              would fail with a {@link javafx.fxml.LoadException}.
+     */
+    @SuppressWarnings("unchecked")
+    <C> TemplateFactory.Row<C> instantiate() {
+        try {
+            Object controller = controllerConstructor != null ? controllerConstructor.newInstance() : null;
+            Pane pane = (Pane) root.create(controller);
+            if (initialize != null) {
+                initialize.invoke(controller);
+            }
+            return new TemplateFactory.Row<>(pane, (C) controller);
+        } catch (InvocationTargetException e) {
+            throw new UncheckedIOException(new IOException("Failed to build a row", e.getCause()));
+        } catch (ReflectiveOperationException e) {
+            throw new UncheckedIOException(new IOException("Failed to build a row", e));
+        }
+    }
+
+    /**
+     * An element of the template: how to create its object, and the steps that set it up.
+     */
+    private record Part(Constructor<?> constructor, String imageUrl, List<Step> steps) {
+        Object create(Object controller) throws ReflectiveOperationException {
+            Object instance = constructor != null ? constructor.newInstance() : TemplateFactory.sharedImage(imageUrl);
+            for (Step step : steps) {
+                step.apply(instance, controller);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Sets up part of a newly created object, e.g. by calling one setter.
+     */
+    private interface Step {
+        void apply(Object instance, Object controller) throws ReflectiveOperationException;
+    }
+
+    /**
+     * Turns the parsed XML into parts, resolving every class, method and field once.
+     */
+    private static final class Compiler {
+        private final URL location;
+        private final Document document;
+        private final Map<String, Class<?>> imports = new HashMap<>();
+        private final List<String> importedPackages = new ArrayList<>();
+        private Class<?> controllerType;
+
+        private Compiler(URL location, Document document) {
+            this.location = location;
+            this.document = document;
+        }
+
+        private TemplateBlueprint compile() {
+            for (org.w3c.dom.Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof ProcessingInstruction instruction && instruction.getTarget().equals("import")) {
+                    addImport(instruction.getData().trim());
+                }
+            }
+
+            Element rootElement = document.getDocumentElement();
+            String controllerName = rootElement.getAttributeNS(fxNamespace(rootElement), "controller");
+            if (!controllerName.isEmpty()) {
+                controllerType = loadClass(controllerName);
+                if (Initializable.class.isAssignableFrom(controllerType)) {
+                    throw unsupported("Initializable controller " + controllerName);
+                }
+            }
+
+            Part root = instance(rootElement);
+            if (root.constructor() == null || !Pane.class.isAssignableFrom(root.constructor().getDeclaringClass())) {
+                throw unsupported("root element " + rootElement.getTagName() + ", which is not a Pane");
+            }
+            if (controllerType == null) {
+                return new TemplateBlueprint(root, null, null);
+            }
+            try {
+                Constructor<?> constructor = controllerType.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return new TemplateBlueprint(root, constructor, controllerMethod("initialize", false));
+            } catch (NoSuchMethodException e) {
+                throw unsupported("controller " + controllerName + " without a no-argument constructor");
+            }
+        }
+
+        private Part instance(Element element) {
+            if (isFx(element)) {
+                throw unsupported("fx:" + element.getLocalName());
+            }
+            Class<?> type = resolve(element.getTagName());
+
+            if (type == Image.class) {
+                NamedNodeMap attributes = element.getAttributes();
+                String url = element.getAttribute("url");
+                if (attributes.getLength() != 1 || url.isEmpty() || hasChildElements(element)) {
+                    throw unsupported("an Image declared with more than its url");
+                }
+                return new Part(null, resolveValue(url), List.of());
+            }
+
+            Constructor<?> constructor;
+            try {
+                constructor = type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw unsupported(type.getName() + " without a public no-argument constructor");
+            }
+
+            List<Step> steps = new ArrayList<>();
+            String fxId = null;
+            boolean explicitId = false;
+            NamedNodeMap attributes = element.getAttributes();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Attr attribute = (Attr) attributes.item(i);
+                String namespace = attribute.getNamespaceURI();
+                if (XMLNS_NAMESPACE.equals(namespace)) {
+                    continue;
+                }
+                if (namespace != null && namespace.startsWith(FX_NAMESPACE_PREFIX)) {
+                    switch (attribute.getLocalName()) {
+                        case "id" -> fxId = attribute.getValue();
+                        case "controller" -> {
+                            if (element != document.getDocumentElement()) {
+                                throw unsupported("fx:controller below the root");
+                            }
+                        }
+                        default -> throw unsupported("fx:" + attribute.getLocalName());
+                    }
+                    continue;
+                }
+                String name = attribute.getName();
+                explicitId |= name.equals("id");
+                steps.add(attribute(type, name, attribute.getValue()));
+            }
+
+            for (Element child = firstChildElement(element); child != null; child = nextSiblingElement(child)) {
+                steps.add(propertyElement(type, child));
+            }
+            if (!textOf(element).isBlank()) {
+                throw unsupported("text content in " + element.getTagName());
+            }
+
+            if (fxId != null) {
+                // FXMLLoader also uses the fx:id as the node's id unless the id is set
+                if (!explicitId && Node.class.isAssignableFrom(type)) {
+                    String id = fxId;
+                    steps.add((instance, controller) -> ((Node) instance).setId(id));
+                }
+                Field field = controllerField(fxId);
+                if (field != null) {
+                    steps.add((instance, controller) -> field.set(controller, instance));
+                }
+            }
+            return new Part(constructor, null, List.copyOf(steps));
+        }
+
+        private Step attribute(Class<?> type, String name, String value) {
+            int dot = name.lastIndexOf('.');
+            if (dot > 0) {
+                Class<?> owner = resolve(name.substring(0, dot));
+                Method setter = findMethod(owner, "set" + capitalize(name.substring(dot + 1)), 2, true);
+                if (setter == null || !setter.getParameterTypes()[0].isAssignableFrom(type)) {
+                    throw unsupported("static property " + name + " on " + type.getSimpleName());
+                }
+                Object converted = coerce(resolveValue(value), setter.getParameterTypes()[1], name);
+                return (instance, controller) -> setter.invoke(null, instance, converted);
+            }
+
+            Method setter = findMethod(type, "set" + capitalize(name), 1, false);
+            if (setter != null && value.startsWith("#") && EventHandler.class.isAssignableFrom(setter.getParameterTypes()[0])) {
+                Method handler = controllerMethod(value.substring(1), true);
+                if (handler == null) {
+                    throw unsupported("handler " + value + " missing from the controller");
+                }
+                boolean withEvent = handler.getParameterCount() == 1;
+                return (instance, controller) -> setter.invoke(instance, handler(controller, handler, withEvent));
+            }
+            if (setter != null) {
+                Object converted = coerce(resolveValue(value), setter.getParameterTypes()[0], name);
+                return (instance, controller) -> setter.invoke(instance, converted);
+            }
+
+            Method getter = findMethod(type, "get" + capitalize(name), 0, false);
+            if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+                // Read-only list properties take a comma-separated list, e.g. of stylesheets
+                List<String> values = new ArrayList<>();
+                for (String item : value.split(",")) {
+                    values.add(resolveValue(item.trim()));
+                }
+                List<String> items = List.copyOf(values);
+                return (instance, controller) -> addAll(getter.invoke(instance), items);
+            }
+            throw unsupported("attribute " + name + " on " + type.getSimpleName());
+        }
+
+        private Step propertyElement(Class<?> type, Element element) {
+            String name = element.getTagName();
+            if (isFx(element) || !Character.isLowerCase(name.charAt(0)) || name.contains(".") || element.hasAttributes()) {
+                throw unsupported("element " + name + " inside " + type.getSimpleName());
+            }
+            List<Part> values = new ArrayList<>();
+            for (Element child = firstChildElement(element); child != null; child = nextSiblingElement(child)) {
+                values.add(instance(child));
+            }
+            if (!textOf(element).isBlank()) {
+                throw unsupported("text content in " + name);
+            }
+
+            Method getter = findMethod(type, "get" + capitalize(name), 0, false);
+            if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+                List<Part> parts = List.copyOf(values);
+                return (instance, controller) -> {
+                    List<Object> created = new ArrayList<>(parts.size());
+                    for (Part part : parts) {
+                        created.add(part.create(controller));
+                    }
+                    addAll(getter.invoke(instance), created);
+                };
+            }
+            Method setter = findMethod(type, "set" + capitalize(name), 1, false);
+            if (setter != null && values.size() == 1) {
+                Part part = values.get(0);
+                return (instance, controller) -> setter.invoke(instance, part.create(controller));
+            }
+            throw unsupported("property element " + name + " on " + type.getSimpleName());
+        }
+
+        private void addImport(String name) {
+            if (name.endsWith(".*")) {
+                importedPackages.add(name.substring(0, name.length() - 1));
+            } else {
+                imports.put(name.substring(name.lastIndexOf('.') + 1), loadClass(name));
+            }
+        }
+
+        private Class<?> resolve(String simpleName) {
+            Class<?> type = imports.get(simpleName);
+            if (type != null) {
+                return type;
+            }
+            for (String importedPackage : importedPackages) {
+                try {
+                    type = Class.forName(importedPackage + simpleName, false, TemplateBlueprint.class.getClassLoader());
+                    imports.put(simpleName, type);
+                    return type;
+                } catch (ClassNotFoundException e) {
+                    // Try the next package
+                }
+            }
+            throw unsupported("class " + simpleName + ", which is not imported");
+        }
+
+        private Class<?> loadClass(String name) {
+            try {
+                return Class.forName(name, false, TemplateBlueprint.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw unsupported("class " + name + ", which cannot be loaded");
+            }
+        }
+
+        /**
+         * Resolves a {@code @} path against the template's location, as FXMLLoader does. Other
+         * prefixes FXMLLoader gives a meaning to are not supported.
+         */
+        private String resolveValue(String value) {
+            if (value.startsWith("@")) {
+                String path = value.substring(1);
+                try {
+                    URL resolved = path.startsWith("/")
+                            ? TemplateBlueprint.class.getClassLoader().getResource(path.substring(1))
+                            : new URL(location, path);
+                    if (resolved == null) {
+                        throw unsupported("missing resource " + value);
+                    }
+                    return resolved.toString();
+                } catch (MalformedURLException e) {
+                    throw unsupported("path " + value);
+                }
+            }
+            if (value.startsWith("$") || value.startsWith("%") || value.startsWith("\\")) {
+                throw unsupported("value " + value);
+            }
+            return value;
+        }
+
+        /**
+         * Returns a controller field FXMLLoader would inject a node into: one declared in the controller
+         * or a superclass, public or annotated with {@link FXML}.
+         */
+        private Field controllerField(String name) {
+            for (Class<?> type = controllerType; type != null && type != Object.class; type = type.getSuperclass()) {
+                try {
+                    Field field = type.getDeclaredField(name);
+                    if (!Modifier.isStatic(field.getModifiers())
+                            && (Modifier.isPublic(field.getModifiers()) || field.isAnnotationPresent(FXML.class))) {
+                        field.setAccessible(true);
+                        return field;
+                    }
+                } catch (NoSuchFieldException e) {
+                    // Look in the superclass
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns a controller method FXMLLoader would call: public or annotated with {@link FXML}, and
+         * taking no arguments or, for an event handler, the event. A handler taking the event is preferred.
+         */
+        private Method controllerMethod(String name, boolean eventHandler) {
+            Method parameterless = null;
+            for (Class<?> type = controllerType; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!method.getName().equals(name) || Modifier.isStatic(method.getModifiers())
+                            || !(Modifier.isPublic(method.getModifiers()) || method.isAnnotationPresent(FXML.class))) {
+                        continue;
+                    }
+                    Class<?>[] parameters = method.getParameterTypes();
+                    if (eventHandler && parameters.length == 1 && Event.class.isAssignableFrom(parameters[0])) {
+                        method.setAccessible(true);
+                        return method;
+                    }
+                    if (parameters.length == 0 && parameterless == null) {
+                        parameterless = method;
+                    }
+                }
+            }
+            if (parameterless != null) {
+                parameterless.setAccessible(true);
+            }
+            return parameterless;
+        }
+
+        private IllegalArgumentException unsupported(String what) {
+            return new IllegalArgumentException(location + " uses " + what);
+        }
+    }
+
+    private static EventHandler<Event> handler(Object controller, Method method, boolean withEvent) {
+        return event -> {
+            try {
+                if (withEvent) {
+                    method.invoke(controller, event);
+                } else {
+                    method.invoke(controller);
+                }
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addAll(Object list, List<?> items) {
+        ((List<Object>) list).addAll(items);
+    }
+
+    /**
+     * Converts an attribute value to a setter's parameter type, for the types the templates use.
+     */
+    private static Object coerce(String value, Class<?> type, String name) {
+        try {
+            if (type == String.class || type == Object.class) {
+                return value;
+            }
+            if (type == double.class || type == Double.class) {
+                return Double.valueOf(value);
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return Boolean.valueOf(value);
+            }
+            if (type == int.class || type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == float.class || type == Float.class) {
+                return Float.valueOf(value);
+            }
+            if (type == long.class || type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type.isEnum()) {
+                return enumValue(type, value);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot convert " + name + "=\"" + value + "\" to " + type.getSimpleName(), e);
+        }
+        throw new IllegalArgumentException("Cannot convert " + name + " to " + type.getSimpleName());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Class<?> type, String value) {
+        return Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns a public method with a name and number of parameters, or null if there is none.
+     */
+    private static Method findMethod(Class<?> type, String name, int parameterCount, boolean isStatic) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == parameterCount
+                    && Modifier.isStatic(method.getModifiers()) == isStatic) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean isFx(Element element) {
+        String namespace = element.getNamespaceURI();
+        return namespace != null && namespace.startsWith(FX_NAMESPACE_PREFIX);
+    }
+
+    private static String fxNamespace(Element element) {
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (XMLNS_NAMESPACE.equals(attribute.getNamespaceURI()) && attribute.getValue().startsWith(FX_NAMESPACE_PREFIX)) {
+                return attribute.getValue();
+            }
+        }
+        return FX_NAMESPACE_PREFIX + "/1";
+    }
+
+    private static boolean hasChildElements(Element element) {
+        return firstChildElement(element) != null;
+    }
+
+    private static Element firstChildElement(Element element) {
+        for (org.w3c.dom.Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element child) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static Element nextSiblingElement(Element element) {
+        for (org.w3c.dom.Node node = element.getNextSibling(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element sibling) {
+                return sibling;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the text directly inside an element, not inside its child elements.
+     */
+    private static String textOf(Element element) {
+        StringBuilder text = new StringBuilder();
+        for (org.w3c.dom.Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == org.w3c.dom.Node.TEXT_NODE || node.getNodeType() == org.w3c.dom.Node.CDATA_SECTION_NODE) {
+                text.append(node.getNodeValue());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,272 @@
+package AudioController;
+
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.util.Builder;
+import javafx.util.BuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates rows and cards from the template FXMLs, such as {@code songlisttemplateScene.fxml}, for the
+ * scenes that show one template per song, artist, playlist or payment.
+ * <p>
+ * Loading a template with a new {@link FXMLLoader} every time looks up and reads the resource, parses
+ * the XML, resolves every class, setter and controller member by reflection, and decodes every image
+ * declared in it (placeholders, play and download icons) again for each row. The factory parses each
+ * template once into a {@link TemplateBlueprint} that holds the resolved constructors, setters and
+ * converted values, and hands out one shared {@link Image} for every image URL declared in any
+ * template, so a row costs only the creation of its nodes and controller. A template using FXML that
+ * blueprints do not support is loaded with FXMLLoader from its source kept in memory instead.
+ * </p>
+ *
+ * <p>
+ * JavaFX cannot copy a node graph, so the nodes are still created once per row. To keep that off the FX thread, a
+ * template can be {@linkplain #prepare(String, int) prepared}: the factory then keeps a few spare
+ * rows built ahead of time on a background thread, hands them out first, and builds replacements
+ * in the background. A scene that fills a screen with rows takes them ready-made.
+ * </p>
+ *
+ * <p>
+ * Templates may be loaded from any thread, as long as the rows are only added to a scene on the FX
+ * thread.
+ * </p>
+ */
+public class TemplateFactory {
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Map<String, Image> declaredImages = new ConcurrentHashMap<>();
+    private static final BuilderFactory builderFactory = new SharedImageBuilderFactory();
+
+    // Rows built ahead of time, and how many of them to keep, per template
+    private static final Map<String, Queue<Row<?>>> spareRows = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> spareCounts = new ConcurrentHashMap<>();
+    private static final ExecutorService spareBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "template-factory");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong rowsCreated = new AtomicLong();
+    private static final AtomicLong sparesUsed = new AtomicLong();
+
+    private TemplateFactory() {}
+
+    /**
+     * Creates a row from a template, or hands out a spare one if the template was prepared.
+     *
+     * @param fxmlPath the resource path of the template, e.g. {@code /FXMLs/songlisttemplateScene.fxml}.
+     * @param <C>      the type of the template's controller.
+     * @return the row's root node and its controller.
+     * @throws UncheckedIOException if the template cannot be read or parsed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Row<C> load(String fxmlPath) {
+        Queue<Row<?>> spares = spareRows.get(fxmlPath);
+        Row<?> spare = spares != null ? spares.poll() : null;
+        if (spare != null) {
+            sparesUsed.incrementAndGet();
+            refill(fxmlPath);
+            return (Row<C>) spare;
+        }
+        return create(fxmlPath);
+    }
+
+    /**
+     * Keeps spare rows of a template ready, built on a background thread, so that {@link #load}
+     * does not have to parse the template on the caller's thread.
+     *
+     * @param fxmlPath the resource path of the template.
+     * @param count    how many spare rows to keep, e.g. the number of rows that fit on a screen.
+     */
+    public static void prepare(String fxmlPath, int count) {
+        spareRows.computeIfAbsent(fxmlPath, key -> new ConcurrentLinkedQueue<>());
+        spareCounts.put(fxmlPath, count);
+        refill(fxmlPath);
+    }
+
+    /**
+     * Returns how many spare rows of a template are ready.
+     *
+     * @param fxmlPath the resource path of the template.
+     * @return the number of spare rows; 0 if the template was not prepared.
+     */
+    static int getSpareCount(String fxmlPath) {
+        Queue<Row<?>> spares = spareRows.get(fxmlPath);
+        return spares != null ? spares.size() : 0;
+    }
+
+    private static void refill(String fxmlPath) {
+        spareBuilder.execute(() -> {
+            Queue<Row<?>> spares = spareRows.get(fxmlPath);
+            try {
+                while (spares.size() < spareCounts.getOrDefault(fxmlPath, 0)) {
+                    spares.add(create(fxmlPath));
+                }
+            } catch (UncheckedIOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to build spare rows of " + fxmlPath);
+            }
+        });
+    }
+
+    private static <C> Row<C> create(String fxmlPath) {
+        Template template = templates.computeIfAbsent(fxmlPath, Template::read);
+        if (template.blueprint() != null) {
+            Row<C> row = template.blueprint().instantiate();
+            rowsCreated.incrementAndGet();
+            return row;
+        }
+
+        FXMLLoader fxmlLoader = new FXMLLoader(template.location(), null, builderFactory);
+        try (InputStream in = new ByteArrayInputStream(template.source())) {
+            Pane root = fxmlLoader.load(in);
+            rowsCreated.incrementAndGet();
+            return new Row<>(root, fxmlLoader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load template " + fxmlPath, e);
+        }
+    }
+
+    /**
+     * Loads a template into the cache ahead of its first row.
+     *
+     * @param fxmlPaths the resource paths of the templates.
+     */
+    public static void preload(String... fxmlPaths) {
+        for (String fxmlPath : fxmlPaths) {
+            templates.computeIfAbsent(fxmlPath, Template::read);
+        }
+    }
+
+    /**
+     * Returns how many templates and shared images are cached, how many of the templates were compiled
+     * into blueprints, how many rows have been created, and how many of them were spares.
+     *
+     * @return a one-line summary.
+     */
+    public static String getStats() {
+        long compiled = templates.values().stream().filter(template -> template.blueprint() != null).count();
+        return "Templates: " + templates.size() + " cached (" + compiled + " compiled), " + declaredImages.size()
+                + " shared images, " + rowsCreated.get() + " rows created, " + sparesUsed.get() + " handed out ready-made";
+    }
+
+    /**
+     * Returns the image shared by every row declaring an image URL: the {@link IconRegistry}'s
+     * instance if the URL is one of the icons, and otherwise one decoded the first time it is declared.
+     *
+     * @param url the resolved URL of the image.
+     * @return the image.
+     */
+    static Image sharedImage(String url) {
+        Image icon = IconRegistry.forUrl(url);
+        return icon != null ? icon : declaredImages.computeIfAbsent(url, Image::new);
+    }
+
+    /**
+     * A row created from a template.
+     *
+     * @param root       the root node of the row.
+     * @param controller the row's controller.
+     * @param <C>        the type of the controller.
+     */
+    public record Row<C>(Pane root, C controller) {}
+
+    /**
+     * The location of a template, kept so that relative {@code @} paths in it still resolve, its
+     * source, and its blueprint, or null if it is loaded with FXMLLoader.
+     */
+    private record Template(URL location, byte[] source, TemplateBlueprint blueprint) {
+        static Template read(String fxmlPath) {
+            URL location = TemplateFactory.class.getResource(fxmlPath);
+            if (location == null) {
+                throw new UncheckedIOException(new IOException("No such template: " + fxmlPath));
+            }
+            byte[] source;
+            try (InputStream in = location.openStream()) {
+                source = in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read template " + fxmlPath, e);
+            }
+
+            TemplateBlueprint blueprint;
+            try {
+                blueprint = TemplateBlueprint.compile(location, source);
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Loading template with FXMLLoader: " + e.getMessage());
+                blueprint = null;
+            }
+            return new Template(location, source, blueprint);
+        }
+    }
+
+    /**
+     * Builds templates with the standard JavaFX builders, except that an {@link Image} declared by URL
+     * alone is decoded once and shared by every row, through the {@link IconRegistry} if it is one of
+     * the icons. Images are immutable, so sharing them is safe.
+     */
+    private static class SharedImageBuilderFactory implements BuilderFactory {
+        private final JavaFXBuilderFactory defaultFactory = new JavaFXBuilderFactory();
+
+        @Override
+        public Builder<?> getBuilder(Class<?> type) {
+            if (type == Image.class) {
+                return new SharedImageBuilder(defaultFactory);
+            }
+            return defaultFactory.getBuilder(type);
+        }
+    }
+
+    /**
+     * Collects the attributes of an {@code <Image>} element. FXMLLoader sets them through the
+     * {@link Map} interface.
+     */
+    private static class SharedImageBuilder extends AbstractMap<String, Object> implements Builder<Image> {
+        private final BuilderFactory defaultFactory;
+        private final Map<String, Object> properties = new HashMap<>();
+
+        SharedImageBuilder(BuilderFactory defaultFactory) {
+            this.defaultFactory = defaultFactory;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return properties.put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return properties.entrySet();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Image build() {
+            Object url = properties.get("url");
+            if (url != null && properties.size() == 1) {
+                return sharedImage(url.toString());
+            }
+
+            // Sized or background-loaded images are rare; build them as FXMLLoader would
+            Builder<?> builder = defaultFactory.getBuilder(Image.class);
+            ((Map<String, Object>) builder).putAll(properties);
+            return (Image) builder.build();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package AudioController;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Produces downscaled variants of the cover art and artist images for the small ImageViews of the
+ * list rows and cards, so those decode a thumbnail instead of the full-size PNG.
+ * <p>
+ * Variants come in the edge lengths in {@link #VARIANT_SIZES}, which are the fit sizes used by the
+ * templates at 1x and 2x output scale. They are generated on a background thread the first time they
+ * are asked for and written as PNGs to an on-disk cache, named after the SHA-256 hash of the original
+ * image and the variant size. A changed image therefore gets new variants, and variants written by an
+ * earlier run are reused without scaling again. Until a variant is ready, callers decode the original.
+ * </p>
+ *
+ * <p>
+ * The cache directory is {@code ~/.audiolibrary/thumbnails} unless the {@code thumbnailCacheDir} system
+ * property names another one. This class is a singleton; use {@link #getInstance()} to access it.
+ * </p>
+ */
+public class ThumbnailService {
+
+    /**
+     * The edge lengths, in pixels, of the variants: the 60, 80 and 180 px fit sizes of the templates
+     * at 1x and 2x output scale.
+     */
+    static final int[] VARIANT_SIZES = {60, 80, 120, 160, 180, 360};
+
+    private static final ThumbnailService instance = new ThumbnailService();
+
+    private final Path cacheDirectory;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thumbnails");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Keyed by resource path and variant size; empty if the original is no larger than the variant
+    private final Map<String, Optional<Path>> variants = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> contentHashes = new ConcurrentHashMap<>();
+
+    private ThumbnailService() {
+        String configured = System.getProperty("thumbnailCacheDir");
+        this.cacheDirectory = configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".audiolibrary", "thumbnails");
+    }
+
+    public static ThumbnailService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the smallest variant of an image that is at least the given size. Never blocks: if the
+     * variant has not been generated or found on disk yet, this schedules it and returns null.
+     *
+     * @param resourcePath the resource path of the original image, e.g. {@code /coverArt/swanlake.png}.
+     * @param sizePixels   the larger of the width and height the image is shown at, in device pixels.
+     * @return the variant's file, or null if the original should be decoded instead.
+     */
+    public Path findVariant(String resourcePath, int sizePixels) {
+        int variantSize = variantSizeFor(sizePixels);
+        if (variantSize < 0) {
+            return null;
+        }
+        String key = resourcePath + '@' + variantSize;
+        Optional<Path> variant = variants.get(key);
+        if (variant != null) {
+            return variant.orElse(null);
+        }
+        if (pending.add(key)) {
+            executor.execute(() -> {
+                try {
+                    variants.put(key, Optional.ofNullable(generate(resourcePath, variantSize)));
+                } catch (IOException | RuntimeException e) {
+                    e.printStackTrace();
+                    System.out.println("Failed to generate thumbnail for " + resourcePath);
+                    variants.put(key, Optional.empty());
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of variants known to be on disk.
+     *
+     * @return the variant count.
+     */
+    public int getVariantCount() {
+        return (int) variants.values().stream().filter(Optional::isPresent).count();
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Returns the smallest variant size not below the requested size.
+     *
+     * @return the variant size, or -1 if the request is larger than every variant.
+     */
+    static int variantSizeFor(int sizePixels) {
+        for (int size : VARIANT_SIZES) {
+            if (size >= sizePixels) {
+                return size;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds or writes one variant of an image. Runs on the thumbnail thread.
+     *
+     * @return the variant's file, or null if the original is missing or no larger than the variant.
+     */
+    private Path generate(String resourcePath, int variantSize) throws IOException {
+        byte[] original;
+        try (InputStream in = ThumbnailService.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                return null;
+            }
+            original = in.readAllBytes();
+        }
+
+        String hash = contentHashes.computeIfAbsent(resourcePath, path -> sha256(original));
+        Path file = cacheDirectory.resolve(hash + "-" + variantSize + ".png");
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(original));
+        if (image == null || Math.max(image.getWidth(), image.getHeight()) <= variantSize) {
+            return null;
+        }
+
+        // Write to a temporary file first so a half-written variant is never picked up
+        Files.createDirectories(cacheDirectory);
+        Path temporary = Files.createTempFile(cacheDirectory, hash, ".tmp");
+        try {
+            ImageIO.write(scale(image, variantSize), "png", temporary.toFile());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return file;
+    }
+
+    /**
+     * Scales an image down to fit in a square, keeping its aspect ratio. Halves the size in bilinear
+     * steps, which looks much better than a single bilinear step for large reductions.
+     */
+    private static BufferedImage scale(BufferedImage image, int size) {
+        double ratio = (double) size / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
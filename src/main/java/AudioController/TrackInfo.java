@@ -0,0 +1,45 @@
+package AudioController;
+
+/**
+ * Immutable snapshot of everything the UI needs to display a single track, joined from the
+ * Audio, Artists, Albums and Genre tables.
+ * <p>
+ * Instances are produced by {@link ResourceLoader#loadTracks(java.util.Collection)}, which fetches
+ * any number of tracks in a single query instead of one round trip per field.
+ * </p>
+ *
+ * @param audioID       the ID of the audio.
+ * @param audioName     the display name of the audio.
+ * @param audioDuration the duration of the audio in seconds.
+ * @param audioFileName the file name of the audio inside {@code /audioFiles/}.
+ * @param imagePath     the resource path of the cover art, e.g. {@code /coverArt/dreamer.png}.
+ * @param price         the price of the audio.
+ * @param artistID      the ID of the artist, or -1 if the audio has no artist.
+ * @param artistName    the name of the artist, or null if the audio has no artist.
+ * @param albumID       the ID of the album, or -1 if the audio is a single.
+ * @param albumName     the name of the album, or null if the audio is a single.
+ * @param genreID       the ID of the genre, or -1 if the audio has no genre.
+ * @param genreName     the name of the genre, or an empty string if the audio has no genre.
+ */
+public record TrackInfo(int audioID,
+                        String audioName,
+                        int audioDuration,
+                        String audioFileName,
+                        String imagePath,
+                        double price,
+                        int artistID,
+                        String artistName,
+                        int albumID,
+                        String albumName,
+                        int genreID,
+                        String genreName) {
+
+    /**
+     * Returns the album name for display, falling back to "Single" for tracks without an album.
+     *
+     * @return the album name, or "Single" if the audio has no album.
+     */
+    public String albumNameOrSingle() {
+        return albumName == null ? "Single" : albumName;
+    }
+}
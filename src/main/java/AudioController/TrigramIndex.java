@@ -0,0 +1,194 @@
+package AudioController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the trigrams (three-character substrings) of a vocabulary of terms, used to find terms
+ * that are close to a misspelled query term without comparing it against the whole vocabulary.
+ * <p>
+ * Each term is padded with a boundary marker on both sides, so "chopin" is indexed under
+ * {@code $ch, cho, hop, opi, pin, in$}. A term within {@code k} edits of the query shares all but at
+ * most {@code 3k} of the query's trigrams, so only terms sharing enough trigrams are scored with the
+ * edit distance. Distances are Damerau-Levenshtein (optimal string alignment), measured against the
+ * closest prefix of each term so that a half-typed, misspelled word still matches.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class TrigramIndex {
+
+    private static final char BOUNDARY = '$';
+
+    private final Map<String, IntList> termIDsByGram = new HashMap<>();
+    private final Map<String, Integer> termIDs = new HashMap<>();
+    private final List<String> termsByID = new ArrayList<>();
+    private final IntList freeIDs = new IntList();
+
+    /**
+     * Adds a term to the vocabulary. Adding a term that is already present has no effect.
+     *
+     * @param term the term to add.
+     */
+    public void add(String term) {
+        if (termIDs.containsKey(term)) {
+            return;
+        }
+        int termID;
+        if (freeIDs.isEmpty()) {
+            termID = termsByID.size();
+            termsByID.add(term);
+        } else {
+            termID = freeIDs.removeLast();
+            termsByID.set(termID, term);
+        }
+        termIDs.put(term, termID);
+        for (String gram : grams(term)) {
+            termIDsByGram.computeIfAbsent(gram, key -> new IntList(2)).add(termID);
+        }
+    }
+
+    /**
+     * Removes a term from the vocabulary.
+     *
+     * @param term the term to remove.
+     */
+    public void remove(String term) {
+        Integer termID = termIDs.remove(term);
+        if (termID == null) {
+            return;
+        }
+        for (String gram : grams(term)) {
+            IntList ids = termIDsByGram.get(gram);
+            if (ids != null) {
+                ids.removeValue(termID);
+                if (ids.isEmpty()) {
+                    termIDsByGram.remove(gram);
+                }
+            }
+        }
+        termsByID.set(termID, null);
+        freeIDs.add(termID);
+    }
+
+    public int size() {
+        return termIDs.size();
+    }
+
+    /**
+     * Finds the terms within {@code maxEdits} edits of the query, or of whose prefixes the query is
+     * within {@code maxEdits} edits.
+     *
+     * @param query    the term to look for.
+     * @param maxEdits the largest edit distance to accept.
+     * @return the matching terms with their distances, in no particular order.
+     */
+    public List<Match> find(String query, int maxEdits) {
+        List<Match> matches = new ArrayList<>();
+        List<String> queryGrams = grams(query);
+
+        // Gather the IDs of every term sharing a gram, then count the runs of equal IDs
+        IntList candidates = new IntList();
+        for (String gram : queryGrams) {
+            IntList ids = termIDsByGram.get(gram);
+            if (ids != null) {
+                candidates.addAll(ids);
+            }
+        }
+        candidates.sort();
+
+        // The trailing boundary gram cannot match a longer term that the query is a prefix of
+        int requiredShared = Math.max(1, queryGrams.size() - 1 - 3 * maxEdits);
+        int i = 0;
+        while (i < candidates.size()) {
+            int termID = candidates.get(i);
+            int shared = 0;
+            while (i < candidates.size() && candidates.get(i) == termID) {
+                shared++;
+                i++;
+            }
+            if (shared >= requiredShared) {
+                String term = termsByID.get(termID);
+                int distance = prefixDistance(query, term, maxEdits);
+                if (distance <= maxEdits) {
+                    matches.add(new Match(term, distance));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the smallest optimal-string-alignment distance between the query and any prefix of
+     * the term, giving up once it must exceed {@code maxEdits}.
+     *
+     * @param query    the typed term.
+     * @param term     the indexed term.
+     * @param maxEdits the largest distance of interest.
+     * @return the distance, or {@code maxEdits + 1} if it is larger than {@code maxEdits}.
+     */
+    static int prefixDistance(String query, String term, int maxEdits) {
+        int queryLength = query.length();
+        int termLength = Math.min(term.length(), queryLength + maxEdits);
+
+        // Rows over the term's characters for query positions i - 2, i - 1 and i
+        int[] beforePrevious = new int[termLength + 1];
+        int[] previous = new int[termLength + 1];
+        int[] current = new int[termLength + 1];
+        for (int j = 0; j <= termLength; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= queryLength; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char q = query.charAt(i - 1);
+            for (int j = 1; j <= termLength; j++) {
+                char t = term.charAt(j - 1);
+                int cost = q == t ? 0 : 1;
+                int distance = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && q == term.charAt(j - 2) && query.charAt(i - 2) == t) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        // The query may end anywhere within the term
+        int best = maxEdits + 1;
+        for (int j = 0; j <= termLength; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private static List<String> grams(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+
+    /**
+     * A vocabulary term close to the query.
+     *
+     * @param term     the indexed term.
+     * @param distance the edit distance between the query and the closest prefix of the term.
+     */
+    public record Match(String term, int distance) {}
+}
@@ -16,7 +16,10 @@ package AudioController;
  * </p>
  *
  * <p>
- * This class is thread-safe due to its lazy initialization of the instance.
+ * The library and cart are loaded from the database on first use. Scenes that check them load them
+ * with {@link #loadCollections()} on the {@link IOExecutor} first, so the checks on the FX thread do not
+ * query the database. The methods that read or change them are synchronized, so they may be called from
+ * any thread.
  * </p>
  *
  * @see #getInstance()
@@ -29,6 +32,10 @@ public class UserSession {
     // The user ID for the current session.
     private int userID;
 
+    // Audio IDs in the user's library and cart, loaded on first use.
+    private IntSet libraryAudioIDs;
+    private IntSet cartAudioIDs;
+
     // Private constructor to prevent instantiation from other classes.
     private UserSession() {}
 
@@ -59,7 +66,7 @@ public class UserSession {
      *
      * @return the current user ID.
      */
-    public int getUserID() {
+    public synchronized int getUserID() {
         return userID;
     }
 
@@ -73,8 +80,97 @@ public class UserSession {
      *
      * @param userID the new user ID to set for the session.
      */
-    public void setUserID(int userID) {
+    public synchronized void setUserID(int userID) {
         this.userID = userID;
+        libraryAudioIDs = null;
+        cartAudioIDs = null;
+    }
+
+
+    /**
+     * Checks whether an audio is in the current user's library.
+     * <p>
+     * The library is loaded from the database on the first call and kept in memory for the rest
+     * of the session, so later checks do not query the database.
+     * </p>
+     *
+     * @param audioID the ID of the audio.
+     * @return {@code true} if the user owns the audio.
+     */
+    public synchronized boolean isInLibrary(int audioID) {
+        if (libraryAudioIDs == null) {
+            libraryAudioIDs = ResourceLoader.getLibraryAudioIDs(userID);
+        }
+        return libraryAudioIDs.contains(audioID);
+    }
+
+
+    /**
+     * Checks whether an audio is in the current user's cart.
+     * <p>
+     * The cart is loaded from the database on the first call and kept in memory for the rest
+     * of the session, so later checks do not query the database.
+     * </p>
+     *
+     * @param audioID the ID of the audio.
+     * @return {@code true} if the audio is in the user's cart.
+     */
+    public synchronized boolean isInCart(int audioID) {
+        if (cartAudioIDs == null) {
+            cartAudioIDs = ResourceLoader.getCartAudioIDs(userID);
+        }
+        return cartAudioIDs.contains(audioID);
+    }
+
+
+    /**
+     * Loads the user's library and cart if they have not been loaded yet. Blocks on the database, so
+     * it is called off the FX thread by scenes about to call {@link #isInLibrary(int)} or
+     * {@link #isInCart(int)} for their rows.
+     */
+    public synchronized void loadCollections() {
+        if (libraryAudioIDs == null) {
+            libraryAudioIDs = ResourceLoader.getLibraryAudioIDs(userID);
+        }
+        if (cartAudioIDs == null) {
+            cartAudioIDs = ResourceLoader.getCartAudioIDs(userID);
+        }
+    }
+
+
+    /**
+     * Records that an audio was added to the user's library. Call after the database insert succeeds.
+     *
+     * @param audioID the ID of the audio.
+     */
+    public synchronized void addToLibrary(int audioID) {
+        if (libraryAudioIDs != null) {
+            libraryAudioIDs.add(audioID);
+        }
+    }
+
+
+    /**
+     * Records that an audio was added to the user's cart. Call after the database insert succeeds.
+     *
+     * @param audioID the ID of the audio.
+     */
+    public synchronized void addToCart(int audioID) {
+        if (cartAudioIDs != null) {
+            cartAudioIDs.add(audioID);
+        }
+    }
+
+
+    /**
+     * Records that an audio was removed from the user's cart. Call after the database delete succeeds.
+     *
+     * @param audioID the ID of the audio.
+     */
+    public synchronized void removeFromCart(int audioID) {
+        if (cartAudioIDs != null) {
+            cartAudioIDs.remove(audioID);
+        }
     }
 
 
@@ -82,10 +178,12 @@ public class UserSession {
      * Clears the current session by resetting the user ID.
      * <p>
      * This method is typically called when a user logs out or when the session needs to be reset.
-     * It resets the user ID to its default state (0).
+     * It resets the user ID to its default state (0) and forgets the cached library and cart.
      * </p>
      */
-    public void clearSession() {
+    public synchronized void clearSession() {
         userID = 0;
+        libraryAudioIDs = null;
+        cartAudioIDs = null;
     }
 }
@@ -1,20 +1,25 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.MouseEffects;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TemplateFactory;
+import AudioController.TrackInfo;
+import AudioController.UserSession;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Label;
-import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class AlbumPageScene implements SceneWithHomeContext {
 
@@ -36,46 +41,63 @@ public class AlbumPageScene implements SceneWithHomeContext {
         this.albumID = albumID;
         System.out.println("Initializing with album ID: " + albumID);
         loadSongList(albumID);
-        albumLabel.setText(ResourceLoader.getAlbumName(albumID));
+        IOExecutor.scopeOf(albumLabel).load(() -> ResourceLoader.getAlbumName(albumID), albumLabel::setText);
     }
 
     void loadSongList(int albumID) {
         songlistVBox.getChildren().clear();
-        String query = "SELECT audioID FROM Audio WHERE albumID = ? ORDER BY audioID ASC";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songlistVBox);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> {
+            String query = "SELECT audioID FROM Audio WHERE albumID = ? ORDER BY audioID ASC";
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                // Set the albumID to filter songs by album
+                preparedStatement.setInt(1, albumID);
+
+                List<Integer> audioIDs = new ArrayList<>();
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioIDs.add(rs.getInt("audioID"));
+                    }
+                }
 
-            // Set the albumID to filter songs by album
-            preparedStatement.setInt(1, albumID);
+                // Fetch every row's details in one query instead of several per row
+                UserSession.getInstance().loadCollections(); // The rows show whether each song is owned
+                return ResourceLoader.loadTracks(audioIDs).values();
+            }
+        }, this::showSongList);
+    }
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
+    private void showSongList(Collection<TrackInfo> tracks) {
+        try {
+            for (TrackInfo track : tracks) {
+                int audioID = track.audioID();
 
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/songlisttemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
+                TemplateFactory.Row<SongListTemplateScene> row = TemplateFactory.load("/FXMLs/songlisttemplateScene.fxml");
+                Pane songList = row.root();
 
-                    SongListTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID);
-                    controller.setAlbumPageScene(this);
+                SongListTemplateScene controller = row.controller();
+                controller.setTrack(track);
+                controller.setAlbumPageScene(this);
 
-                    MouseEffects.addMouseEffects(songList);
+                MouseEffects.addMouseEffects(songList);
 
-                    songList.setOnMouseClicked(event -> {
-                        System.out.println("Redirecting to song...");
+                songList.setOnMouseClicked(event -> {
+                    System.out.println("Redirecting to song...");
 
-                        if (homeScene != null) {
-                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
-                        } else {
-                            System.out.println("HomeScene is null!");
-                        }
-                    });
+                    if (homeScene != null) {
+                        homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
+                    } else {
+                        System.out.println("HomeScene is null!");
+                    }
+                });
 
-                    songlistVBox.getChildren().add(songList);
-                }
+                songlistVBox.getChildren().add(songList);
             }
-        } catch (SQLException | IOException e) {
+        } catch (UncheckedIOException e) {
             e.printStackTrace();
         }
     }
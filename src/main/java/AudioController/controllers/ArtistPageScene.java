@@ -1,22 +1,27 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
+import AudioController.ImageCache;
 import AudioController.MouseEffects;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TemplateFactory;
+import AudioController.TrackInfo;
+import AudioController.UserSession;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 
 /**
@@ -83,45 +88,66 @@ public class ArtistPageScene implements SceneWithHomeContext {
     /**
      * Loads and displays the list of songs associated with the artist.
      * <p>
-     * The song data is fetched from the database using the artist's ID. Each song is
-     * displayed as a clickable UI component, which navigates to the corresponding song page.
+     * The song data is fetched from the database on the {@link IOExecutor} using the artist's ID.
+     * Each song is displayed as a clickable UI component, which navigates to the corresponding song page.
      */
     void loadSongList() {
         songlistVBox.getChildren().clear();
-        String query = "SELECT audioID FROM Audio WHERE artistID = ? ORDER BY audioID ASC";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        int artistID = this.artistID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songlistVBox);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> {
+            String query = "SELECT audioID FROM Audio WHERE artistID = ? ORDER BY audioID ASC";
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                preparedStatement.setInt(1, artistID);
+
+                List<Integer> audioIDs = new ArrayList<>();
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioIDs.add(rs.getInt("audioID"));
+                    }
+                }
 
-            preparedStatement.setInt(1, artistID);
+                // Fetch every row's details in one query instead of several per row
+                UserSession.getInstance().loadCollections(); // The rows show whether each song is owned
+                return ResourceLoader.loadTracks(audioIDs).values();
+            }
+        }, this::showSongList);
+    }
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
+    /**
+     * Adds a clickable row for each song to the song list.
+     */
+    private void showSongList(Collection<TrackInfo> tracks) {
+        try {
+            for (TrackInfo track : tracks) {
+                int audioID = track.audioID();
 
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/songlisttemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
+                TemplateFactory.Row<SongListTemplateScene> row = TemplateFactory.load("/FXMLs/songlisttemplateScene.fxml");
+                Pane songList = row.root();
 
-                    SongListTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID);
-                    controller.setArtistPageScene(this);
+                SongListTemplateScene controller = row.controller();
+                controller.setTrack(track);
+                controller.setArtistPageScene(this);
 
-                    MouseEffects.addMouseEffects(songList);
+                MouseEffects.addMouseEffects(songList);
 
-                    songList.setOnMouseClicked(event -> {
-                        System.out.println("Redirecting to song...");
+                songList.setOnMouseClicked(event -> {
+                    System.out.println("Redirecting to song...");
 
-                        if (homeScene != null) {
-                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
-                        } else {
-                            System.out.println("HomeScene is null!");
-                        }
-                    });
+                    if (homeScene != null) {
+                        homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
+                    } else {
+                        System.out.println("HomeScene is null!");
+                    }
+                });
 
-                    songlistVBox.getChildren().add(songList);
-                }
+                songlistVBox.getChildren().add(songList);
             }
-        } catch (SQLException | IOException e) {
+        } catch (UncheckedIOException e) {
             e.printStackTrace();
         }
     }
@@ -129,28 +155,29 @@ public class ArtistPageScene implements SceneWithHomeContext {
     /**
      * Loads and displays the artist's name and image.
      * <p>
-     * The artist's name and image path are retrieved using {@link ResourceLoader}, and
-     * the image is set in the {@link ImageView}. If the image cannot be loaded, an error is logged.
+     * The artist's name and image path are retrieved using {@link ResourceLoader}, and the image
+     * decoded, on the {@link IOExecutor}; the image is then set in the {@link ImageView}. If the image
+     * cannot be loaded, an error is logged.
      */
     private void loadArtistDetails() {
-        String artistName = ResourceLoader.getArtistName(artistID);
-        artistNameLabel.setText(artistName);
-
-        String artistImagePath = ResourceLoader.getArtistImagePath(artistID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    artistImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
+        int artistID = this.artistID;
+        double width = artistImage.getFitWidth();
+        double height = artistImage.getFitHeight();
+        double scale = ImageCache.screenScale();
+
+        IOExecutor.Scope scope = IOExecutor.scopeOf(artistNameLabel);
+        scope.load(() -> ResourceLoader.getArtistName(artistID), artistNameLabel::setText);
+        scope.load(() -> {
+            String artistImagePath = ResourceLoader.getArtistImagePath(artistID);
+            if (artistImagePath == null) {
+                System.out.println("Artist image path is null for artistID: " + artistID);
+                return null;
             }
-        } else {
-            System.out.println("Artist image path is null for artistID: " + artistID);
-        }
+            return ImageCache.getInstance().get(artistImagePath, width, height, scale);
+        }, image -> {
+            if (image != null) {
+                artistImage.setImage(image);
+            }
+        });
     }
 }
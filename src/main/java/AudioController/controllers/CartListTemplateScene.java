@@ -1,14 +1,18 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
+import AudioController.IOExecutor;
+import AudioController.IconRegistry;
+import AudioController.IconRegistry.Icon;
 import AudioController.ResourceLoader;
 import AudioController.DatabaseConnection;
+import AudioController.TrackInfo;
 import AudioController.UserSession;
 import javafx.animation.ScaleTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Duration;
@@ -17,8 +21,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
-import static AudioController.ResourceLoader.getAudioPrice;
-
 /**
  * Controller for managing individual items in the cart UI.
  * <p>
@@ -42,18 +44,41 @@ public class CartListTemplateScene {
     private CartScene cartScene;
 
     private int audioID;
+    private TrackInfo track;
 
     /**
      * Initializes the CartListTemplateScene with the given audio ID and cart reference.
      * <p>
-     * It loads the audio details (name, price, and cover art) and prepares the view.
+     * It loads the audio details (name, price, and cover art) on the {@link IOExecutor} and prepares
+     * the view once they arrive.
      *
      * @param audioID   The unique identifier for the audio item.
      * @param cartScene The reference to the CartScene controller for cart updates.
      */
     public void setAudioID(int audioID, CartScene cartScene) {
-        this.audioID = audioID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), track -> setTrack(track, cartScene));
+    }
+
+    /**
+     * Initializes the CartListTemplateScene with the given track and cart reference. Callers
+     * rendering many rows should fetch all tracks with
+     * {@link ResourceLoader#loadTracks(java.util.Collection)} and pass each one here, so the whole
+     * cart costs a single query.
+     *
+     * @param track     The track to display.
+     * @param cartScene The reference to the CartScene controller for cart updates.
+     */
+    public void setTrack(TrackInfo track, CartScene cartScene) {
+        if (track == null) {
+            System.out.println("Cannot initialize cart row without a track");
+            return;
+        }
+        this.track = track;
+        this.audioID = track.audioID();
         this.cartScene = cartScene;
+        cartCheckBox.setSelected(cartScene != null && cartScene.isChecked(audioID));
         System.out.println("Initializing with audio ID: " + audioID);
         loadAudioDetails();
     }
@@ -69,10 +94,9 @@ public class CartListTemplateScene {
      * Loads the details of the audio (song name, price, and cover image) and displays them in the cart item.
      */
     private void loadAudioDetails() {
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
+        songNameLabel.setText(track.audioName());
 
-        Double price = ResourceLoader.getAudioPrice(audioID);
+        double price = track.price();
         if (price == 0) {
             priceLabel.setText("FREE");
         } else if (price > 0){
@@ -81,36 +105,31 @@ public class CartListTemplateScene {
             priceLabel.setText("???");
         }
 
-        String songImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (songImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(songImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + songImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + songImagePath);
-            }
-        } else {
+        String songImagePath = track.imagePath();
+        if (songImagePath == null) {
             System.out.println("Song image path is null for audioID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, songImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 
     /**
      * Handles the delete button click event. When clicked, it removes the audio item from the user's cart
-     * and refreshes the cart view.
+     * on the {@link IOExecutor} and then refreshes the cart view.
      *
      * @param event The mouse event triggering the delete action.
      */
     public void handleDeleteClicked(MouseEvent event) {
-        deleteAudioFromCart(UserSession.getInstance().getUserID(), audioID);
-
-        if (cartScene != null) {
-            cartScene.reloadCart();
-        }
+        int userID = UserSession.getInstance().getUserID();
+        int audioID = this.audioID;
+        CartScene cartScene = this.cartScene;
+        IOExecutor.commit(() -> {
+            deleteAudioFromCart(userID, audioID);
+            return null;
+        }, done -> {
+            if (cartScene != null) {
+                cartScene.reloadCart();
+            }
+        });
 
         event.consume();
     }
@@ -131,6 +150,7 @@ public class CartListTemplateScene {
                 int rowsAffected = stmt.executeUpdate();
                 if (rowsAffected > 0) {
                     System.out.println("Successfully deleted audio ID " + audioID + " from user " + userID + "'s cart.");
+                    UserSession.getInstance().removeFromCart(audioID);
                 } else {
                     System.out.println("Failed to delete audio ID " + audioID + " from user " + userID + "'s cart.");
                 }
@@ -156,8 +176,7 @@ public class CartListTemplateScene {
         scaleTransition.setToY(1.05);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binred.png"));
-        deleteImage.setImage(hoverImage);
+        deleteImage.setImage(IconRegistry.get(Icon.BIN_RED));
     }
 
     @FXML
@@ -167,8 +186,7 @@ public class CartListTemplateScene {
         scaleTransition.setToY(1.0);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binwhite.png"));
-        deleteImage.setImage(hoverImage);
+        deleteImage.setImage(IconRegistry.get(Icon.BIN_WHITE));
     }
 
     @FXML
@@ -178,8 +196,7 @@ public class CartListTemplateScene {
         scaleTransition.setToY(1.02);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binred.png"));
-        deleteImage.setImage(hoverImage);
+        deleteImage.setImage(IconRegistry.get(Icon.BIN_RED));
     }
 
     @FXML
@@ -199,7 +216,7 @@ public class CartListTemplateScene {
      */
     @FXML
     private void handleCheckboxChange(ActionEvent event) {
-        double price = getAudioPrice(audioID);
+        double price = track.price();
         if (cartCheckBox.isSelected()) {
             cartScene.incrementCheckoutDetails(audioID, price);
         } else {
@@ -1,20 +1,19 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.MouseEffects;
+import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TrackInfo;
 import AudioController.UserSession;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import javafx.animation.ScaleTransition;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -46,7 +45,7 @@ public class CartScene implements SceneWithHomeContext {
     @FXML
     private Label totalamountLabel;
     @FXML
-    private VBox cartlistVBox;
+    private ListView<TrackInfo> cartListView;
 
     private int checkedItems = 0;
     private double totalAmount = 0.0;
@@ -61,57 +60,60 @@ public class CartScene implements SceneWithHomeContext {
         Tooltip tooltip = new Tooltip("Click to proceed to checkout");
         checkoutButton.setTooltip(tooltip);
 
-        loadCartList(UserSession.getInstance().getUserID());
-    }
-
-    /**
-     * Loads the user's cart list from the database and populates the cart UI.
-     *
-     * @param userID The user ID to fetch the cart items for.
-     */
-    private void loadCartList(int userID) {
-        cartlistVBox.getChildren().clear();
-
-        String query = """
-            SELECT ca.audioID
-            FROM CartAudio ca
-            INNER JOIN User u ON ca.userID = u.userID
-            WHERE u.userID = ?
-            ORDER BY ca.audioID ASC
-            """;
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, userID);
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
-
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/cartlisttemplateScene.fxml"));
-                    AnchorPane cartItem = fxmlLoader.load();
-                    CartListTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID, this);
-
-                    MouseEffects.addMouseEffects(cartItem);
+        TemplateListCell.<TrackInfo, CartListTemplateScene>install(cartListView, "/FXMLs/cartlisttemplateScene.fxml", 105,
+                (controller, track) -> controller.setTrack(track, this),
+                cell -> {
+                    MouseEffects.addMouseEffects(cell.getRow());
 
-                    cartItem.setOnMouseClicked(event -> {
+                    cell.getRow().setOnMouseClicked(event -> {
                         System.out.println("Redirecting to song...");
 
                         if (homeScene != null) {
-                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
+                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", cell.getItem().audioID());
                         } else {
                             System.out.println("HomeScene is null!");
                         }
                     });
+                });
 
-                    cartlistVBox.getChildren().add(cartItem);
+        loadCartList(UserSession.getInstance().getUserID());
+    }
+
+    /**
+     * Loads the user's cart list from the database on the {@link IOExecutor} and populates the cart UI
+     * once it arrives. The details of every item are fetched together, and only the visible rows are
+     * created and reused as the list is scrolled.
+     *
+     * @param userID The user ID to fetch the cart items for.
+     */
+    private void loadCartList(int userID) {
+        IOExecutor.Scope scope = IOExecutor.scopeOf(cartListView);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> {
+            String query = """
+                SELECT ca.audioID
+                FROM CartAudio ca
+                INNER JOIN User u ON ca.userID = u.userID
+                WHERE u.userID = ?
+                ORDER BY ca.audioID ASC
+                """;
+
+            List<Integer> audioIDs = new ArrayList<>();
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                preparedStatement.setInt(1, userID);
+
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioIDs.add(rs.getInt("audioID"));
+                    }
                 }
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException | IOException e) {
-            e.printStackTrace();
-        }
+            return ResourceLoader.loadTracks(audioIDs).values();
+        }, tracks -> cartListView.getItems().setAll(tracks));
     }
 
     /**
@@ -154,6 +156,17 @@ public class CartScene implements SceneWithHomeContext {
         updateCheckoutDetails();
     }
 
+    /**
+     * Returns whether a song is selected for checkout. Rows are reused while scrolling, so a row
+     * asks this when it is given a song instead of keeping the state in its checkbox.
+     *
+     * @param audioID The ID of the song.
+     * @return true if the song is selected.
+     */
+    public boolean isChecked(int audioID) {
+        return checkedAudio.contains(audioID);
+    }
+
     public void updateCheckoutDetails() {
         totalamountLabel.setText(String.format("%.2f", totalAmount));
         checkoutButton.setText("Checkout(" + checkedItems + ")");
@@ -1,9 +1,11 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
+import AudioController.TrackInfo;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -45,8 +47,8 @@ public class CheckoutListTemplateScene {
     /**
      * Sets the audio ID and initializes the checkout item details.
      * <p>
-     * This method retrieves and displays the song name, price, and cover image
-     * based on the specified audio ID.
+     * This method retrieves the song name, price, and cover image of the specified audio ID on the
+     * {@link IOExecutor}, and displays them once they arrive.
      *
      * @param audioID       The unique identifier for the audio item.
      * @param checkoutScene The parent controller managing the checkout scene.
@@ -55,11 +57,31 @@ public class CheckoutListTemplateScene {
         this.audioID = audioID;
         this.checkoutScene = checkoutScene;
         System.out.println("Initializing with audio ID: " + audioID);
-        loadAudioDetails();
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), track -> setTrack(track, checkoutScene));
     }
 
     /**
-     * Loads and displays the audio details for the current audio ID.
+     * Initializes the checkout item from details that have already been loaded. Callers rendering many
+     * rows should fetch all tracks with {@link ResourceLoader#loadTracks(java.util.Collection)} and pass
+     * each one here, so the whole checkout costs a single query.
+     *
+     * @param track         The track to display.
+     * @param checkoutScene The parent controller managing the checkout scene.
+     */
+    public void setTrack(TrackInfo track, CheckoutScene checkoutScene) {
+        if (track == null) {
+            System.out.println("Cannot initialize checkout row without a track");
+            return;
+        }
+        this.audioID = track.audioID();
+        this.checkoutScene = checkoutScene;
+        loadAudioDetails(track);
+    }
+
+    /**
+     * Displays the audio details of a track.
      * <p>
      * This includes:
      * <ul>
@@ -67,15 +89,15 @@ public class CheckoutListTemplateScene {
      *     <li>Price (FREE for zero price)</li>
      *     <li>Cover image</li>
      * </ul>
-     * If the song image fails to load, an error is logged to the console.
+     * The cover image is decoded in the background. If the song image fails to load, an error is logged
+     * to the console.
      */
-    private void loadAudioDetails() {
-        // Load song name
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
+    private void loadAudioDetails(TrackInfo track) {
+        // Show song name
+        songNameLabel.setText(track.audioName());
 
-        // Load and format price
-        Double price = ResourceLoader.getAudioPrice(audioID);
+        // Format price
+        double price = track.price();
         if (price == 0) {
             priceLabel.setText("FREE");
         } else if (price > 0) {
@@ -85,21 +107,10 @@ public class CheckoutListTemplateScene {
         }
 
         // Load cover image
-        String songImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (songImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(songImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + songImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + songImagePath);
-            }
-        } else {
+        String songImagePath = track.imagePath();
+        if (songImagePath == null) {
             System.out.println("Song image path is null for audioID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, songImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 }
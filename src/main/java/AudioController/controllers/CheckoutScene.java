@@ -1,26 +1,30 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TemplateFactory;
+import AudioController.TrackInfo;
 import AudioController.UserSession;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -56,30 +60,37 @@ public class CheckoutScene implements SceneWithHomeContext {
 
     /**
      * Loads the checkout list by fetching audio items selected for purchase.
-     * It updates the checkout list and calculates the total price.
+     * It updates the checkout list and calculates the total price. The details of every item are
+     * fetched together on the {@link IOExecutor}, and the list is filled in once they arrive.
      *
      * @param checkedAudio a list of audio IDs that the user has selected for purchase
      */
     public void loadCheckoutList(List<Integer> checkedAudio) {
         this.checkedAudio = checkedAudio;
         checkoutlistVBox.getChildren().clear(); // Clear the VBox before loading new items
+        IOExecutor.Scope scope = IOExecutor.scopeOf(checkoutlistVBox);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> ResourceLoader.loadTracks(checkedAudio).values(), this::showCheckoutList);
+    }
+
+    private void showCheckoutList(Collection<TrackInfo> tracks) {
         double total = 0;
 
-        for (int audioID : checkedAudio) {
+        for (TrackInfo track : tracks) {
             try {
                 // Load the FXML template for the cart list item
-                FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/checkoutlisttemplateScene.fxml"));
-                AnchorPane checkoutItem = fxmlLoader.load();
+                TemplateFactory.Row<CheckoutListTemplateScene> row = TemplateFactory.load("/FXMLs/checkoutlisttemplateScene.fxml");
+                Pane checkoutItem = row.root();
 
-                // Get the controller for the loaded FXML and set the audioID
-                CheckoutListTemplateScene controller = fxmlLoader.getController();
-                controller.setAudioID(audioID, this);
+                // Get the controller for the loaded FXML and set the track
+                CheckoutListTemplateScene controller = row.controller();
+                controller.setTrack(track, this);
 
                 // Add the checkout item to the VBox
                 checkoutlistVBox.getChildren().add(checkoutItem);
-                total += ResourceLoader.getAudioPrice(audioID);
+                total += track.price();
                 totalamountLabel.setText(String.format("%.2f", total));
-            } catch (IOException e) {
+            } catch (UncheckedIOException e) {
                 e.printStackTrace();
             }
         }
@@ -88,6 +99,8 @@ public class CheckoutScene implements SceneWithHomeContext {
     /**
      * Handles the purchase button click event.
      * Verifies the user's balance, processes the payment, updates the user's library, and generates a receipt if successful.
+     * The database work runs on the {@link IOExecutor}; the button is disabled until it is done, so a purchase
+     * is not paid twice.
      *
      * @param event the mouse event triggered by the user clicking the purchase button
      */
@@ -95,6 +108,25 @@ public class CheckoutScene implements SceneWithHomeContext {
     @FXML
     private void handlePurchaseClicked(MouseEvent event) {
         int userID = UserSession.getInstance().getUserID();
+        List<Integer> checkedAudio = List.copyOf(this.checkedAudio);
+        Node purchaseButton = (Node) event.getSource();
+        purchaseButton.setDisable(true);
+
+        IOExecutor.commit(() -> purchase(userID, checkedAudio), purchase -> {
+            purchaseButton.setDisable(false);
+            showPurchase(userID, purchase);
+        });
+    }
+
+    /**
+     * Verifies the user's balance, processes the payment and updates the user's library. Runs on the
+     * {@link IOExecutor}.
+     *
+     * @param userID       the ID of the user making the purchase
+     * @param checkedAudio the audio IDs being bought
+     * @return the outcome of the purchase
+     */
+    private static Purchase purchase(int userID, List<Integer> checkedAudio) {
         String paymentMethod = "Credit Card"; // Placeholder for the payment method from the UI
 
         double totalPrice = 0.0;
@@ -137,75 +169,105 @@ public class CheckoutScene implements SceneWithHomeContext {
             }
 
             // Check if the user has enough balance
-            if (userBalance >= totalPrice) {
-                // Deduct balance and update in the database
-                double newBalance = userBalance - totalPrice;
-                updateBalanceStmt.setDouble(1, newBalance);
-                updateBalanceStmt.setInt(2, userID);
-                updateBalanceStmt.executeUpdate();
-
-                System.out.println("Purchase successful! Remaining balance: " + newBalance);
-
-                // Insert the payment record into the Payments table
-                insertPaymentStmt.setInt(1, userID);
-                insertPaymentStmt.setDouble(2, totalPrice);
-                insertPaymentStmt.setString(3, paymentMethod);
-                insertPaymentStmt.executeUpdate();
-
-                // Get the generated paymentID
-                try (ResultSet generatedKeys = insertPaymentStmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int paymentID = generatedKeys.getInt(1);
-
-                        // Insert the audio into LibraryAudio table and PaymentAudio table
-                        for (int audioID : checkedAudio) {
-                            insertStmt.setInt(1, userID);
-                            insertStmt.setInt(2, audioID);
-                            insertStmt.executeUpdate();
-
-                            insertPaymentAudioStmt.setInt(1, paymentID);
-                            insertPaymentAudioStmt.setInt(2, audioID);
-                            insertPaymentAudioStmt.executeUpdate();
-                        }
-
-                        // Remove the purchased audio from the CartAudio table
-                        for (int audioID : checkedAudio) {
-                            deleteStmt.setInt(1, userID);
-                            deleteStmt.setInt(2, audioID);
-                            deleteStmt.executeUpdate();
-                        }
-
-                        System.out.println("Library updated with purchased audio, CartAudio removed, and PaymentAudio entries added.");
-
-                        // Success prompt
-                        Alert successAlert = new Alert(Alert.AlertType.INFORMATION,
-                                "Would you like to generate a receipt for this purchase?",
-                                ButtonType.YES, ButtonType.NO);
-
-                        successAlert.setTitle("Purchase Successful");
-                        successAlert.setHeaderText("Your purchase was successful!");
-
-                        // Wait for the user response (yes or no)
-                        double finalTotalPrice = totalPrice;
-                        successAlert.showAndWait().ifPresent(response -> {
-                            if (response == ButtonType.YES) {
-                                // Generate a receipt
-                                displayReceiptDetails(userID, finalTotalPrice);
-                            } else {
-                                System.out.println("Receipt generation canceled.");
-                            }
-                        });
-
-                        if (homeScene != null) {
-                            homeScene.loadScene("/FXMLs/libraryScene.fxml");
-                        }
+            if (userBalance < totalPrice) {
+                System.out.println("Insufficient balance. Total price: " + totalPrice + ", Available balance: " + userBalance);
+                return new Purchase(Purchase.Outcome.INSUFFICIENT_BALANCE, totalPrice, null);
+            }
+
+            // Deduct balance and update in the database
+            double newBalance = userBalance - totalPrice;
+            updateBalanceStmt.setDouble(1, newBalance);
+            updateBalanceStmt.setInt(2, userID);
+            updateBalanceStmt.executeUpdate();
+
+            System.out.println("Purchase successful! Remaining balance: " + newBalance);
+
+            // Insert the payment record into the Payments table
+            insertPaymentStmt.setInt(1, userID);
+            insertPaymentStmt.setDouble(2, totalPrice);
+            insertPaymentStmt.setString(3, paymentMethod);
+            insertPaymentStmt.executeUpdate();
+
+            // Get the generated paymentID
+            try (ResultSet generatedKeys = insertPaymentStmt.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    System.out.println("Failed to retrieve generated payment ID.");
+                    return new Purchase(Purchase.Outcome.FAILED, totalPrice, null);
+                }
+                int paymentID = generatedKeys.getInt(1);
+
+                // Insert the audio into LibraryAudio table and PaymentAudio table
+                for (int audioID : checkedAudio) {
+                    insertStmt.setInt(1, userID);
+                    insertStmt.setInt(2, audioID);
+                    insertStmt.executeUpdate();
+
+                    insertPaymentAudioStmt.setInt(1, paymentID);
+                    insertPaymentAudioStmt.setInt(2, audioID);
+                    insertPaymentAudioStmt.executeUpdate();
+                }
+
+                // Remove the purchased audio from the CartAudio table
+                for (int audioID : checkedAudio) {
+                    deleteStmt.setInt(1, userID);
+                    deleteStmt.setInt(2, audioID);
+                    deleteStmt.executeUpdate();
+
+                    UserSession.getInstance().addToLibrary(audioID);
+                    UserSession.getInstance().removeFromCart(audioID);
+                }
+
+                System.out.println("Library updated with purchased audio, CartAudio removed, and PaymentAudio entries added.");
+            }
+
+            // Collect the names of the audio files purchased for the receipt
+            StringBuilder audioNames = new StringBuilder();
+            for (TrackInfo track : ResourceLoader.loadTracks(checkedAudio).values()) {
+                if (audioNames.length() > 0) {
+                    audioNames.append(", ");
+                }
+                audioNames.append(track.audioName());
+            }
+            return new Purchase(Purchase.Outcome.PAID, totalPrice, audioNames.toString());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new Purchase(Purchase.Outcome.FAILED, totalPrice, null);
+        }
+    }
 
+    /**
+     * Tells the user how a purchase went and, after a successful one, offers a receipt and moves on to
+     * the library.
+     *
+     * @param userID   the ID of the user who made the purchase
+     * @param purchase the outcome of the purchase
+     */
+    private void showPurchase(int userID, Purchase purchase) {
+        switch (purchase.outcome()) {
+            case PAID -> {
+                // Success prompt
+                Alert successAlert = new Alert(Alert.AlertType.INFORMATION,
+                        "Would you like to generate a receipt for this purchase?",
+                        ButtonType.YES, ButtonType.NO);
+
+                successAlert.setTitle("Purchase Successful");
+                successAlert.setHeaderText("Your purchase was successful!");
+
+                // Wait for the user response (yes or no)
+                successAlert.showAndWait().ifPresent(response -> {
+                    if (response == ButtonType.YES) {
+                        // Generate a receipt
+                        displayReceiptDetails(userID, purchase.totalPrice(), purchase.audioNames());
                     } else {
-                        System.out.println("Failed to retrieve generated payment ID.");
+                        System.out.println("Receipt generation canceled.");
                     }
-                }
+                });
 
-            } else {
+                if (homeScene != null) {
+                    homeScene.loadScene("/FXMLs/libraryScene.fxml");
+                }
+            }
+            case INSUFFICIENT_BALANCE -> {
                 // Failure prompt for insufficient balance
                 Alert failureAlert = new Alert(Alert.AlertType.ERROR);
                 failureAlert.setTitle("Insufficient Balance");
@@ -213,10 +275,10 @@ public class CheckoutScene implements SceneWithHomeContext {
                 failureAlert.setContentText("You don't have enough balance for this purchase. Please add funds.");
 
                 failureAlert.showAndWait();
-                System.out.println("Insufficient balance. Total price: " + totalPrice + ", Available balance: " + userBalance);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            case FAILED -> {
+                // Already logged
+            }
         }
     }
 
@@ -225,45 +287,34 @@ public class CheckoutScene implements SceneWithHomeContext {
      *
      * @param userID the ID of the user who made the purchase
      * @param totalPrice the total amount paid for the purchase
+     * @param audioNames the names of the audio files purchased, separated by commas
      */
-    private void displayReceiptDetails(int userID, double totalPrice) {
-        StringBuilder audioNames = new StringBuilder();
-        String audioNamesQuery = "SELECT audioName FROM Audio WHERE audioID = ?";
-
-        try (Connection conn = new DatabaseConnection().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(audioNamesQuery)) {
-
-            // Collect the names of the audio files purchased
-            for (int audioID : checkedAudio) {
-                stmt.setInt(1, audioID);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        if (audioNames.length() > 0) {
-                            audioNames.append(", ");
-                        }
-                        audioNames.append(rs.getString("audioName"));
-                    }
-                }
-            }
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            String formattedTime = LocalDateTime.now().format(formatter);
+    private void displayReceiptDetails(int userID, double totalPrice, String audioNames) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        String formattedTime = LocalDateTime.now().format(formatter);
 
-            Alert receiptAlert = new Alert(Alert.AlertType.INFORMATION);
-            receiptAlert.setTitle("Receipt");
-            receiptAlert.setHeaderText("Purchase Receipt");
+        Alert receiptAlert = new Alert(Alert.AlertType.INFORMATION);
+        receiptAlert.setTitle("Receipt");
+        receiptAlert.setHeaderText("Purchase Receipt");
 
-            String receiptMessage = "User ID: " + userID + "\n" +
-                    "Total Amount: ₱" + totalPrice + "\n" +
-                    "Purchased Items: " + audioNames.toString() + "\n" +
-                    "Purchase Time: " + formattedTime;
+        String receiptMessage = "User ID: " + userID + "\n" +
+                "Total Amount: ₱" + totalPrice + "\n" +
+                "Purchased Items: " + audioNames + "\n" +
+                "Purchase Time: " + formattedTime;
 
-            receiptAlert.setContentText(receiptMessage);
-            receiptAlert.showAndWait();
+        receiptAlert.setContentText(receiptMessage);
+        receiptAlert.showAndWait();
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    /**
+     * The outcome of a purchase.
+     *
+     * @param outcome    whether the purchase was paid.
+     * @param totalPrice the total price of the selected audio.
+     * @param audioNames the names of the audio bought, for the receipt; null unless paid.
+     */
+    private record Purchase(Outcome outcome, double totalPrice, String audioNames) {
+        enum Outcome { PAID, INSUFFICIENT_BALANCE, FAILED }
     }
 
 
@@ -1,17 +1,17 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.AudioPlayer;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
-import javafx.application.Platform;
+import AudioController.TrackInfo;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Slider;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 
-import java.util.List;
 
 /**
  * Controller for the current song scene in the audio player.
@@ -28,8 +28,6 @@ public class CurrentSongScene {
     @FXML
     Slider playbackSlider;
 
-    private List<Integer> audioQueue = AudioPlayer.getInstance().getAudioQueue();
-
     @FXML
     public void initialize() {
         setupSlider();
@@ -76,17 +74,12 @@ public class CurrentSongScene {
         // Bind ProgressBar progress to Slider value
         playbackProgressBar.progressProperty().bind(playbackSlider.valueProperty().divide(100.0));
 
-        // Update the slider's value and time labels only when the user is not dragging
-        AudioPlayer.getInstance().getMediaPlayer().currentTimeProperty().addListener((obs, oldTime, newTime) -> {
-            if (!playbackSlider.isValueChanging()) {
-                Platform.runLater(() -> {
-                    Duration totalDuration = AudioPlayer.getInstance().getMediaPlayer().getTotalDuration();
-                    if (totalDuration != null) {
-                        double newValue = newTime.toMillis() / totalDuration.toMillis() * 100;
-                        playbackSlider.setValue(newValue);
-                        updateTimeLabels(newTime);
-                    }
-                });
+        // Update the slider's value and time labels only when the user is not dragging. The subscription
+        // ends when this scene is replaced by the next song's
+        AudioPlayer.getInstance().getPositionService().subscribe(playbackSlider, (currentTime, totalDuration) -> {
+            if (!playbackSlider.isValueChanging() && totalDuration != null && totalDuration.greaterThan(Duration.ZERO)) {
+                playbackSlider.setValue(currentTime.toMillis() / totalDuration.toMillis() * 100);
+                updateTimeLabels(currentTime);
             }
         });
 
@@ -140,16 +133,27 @@ public class CurrentSongScene {
     }
 
     /**
-     * Loads the details of a song (name, artist, image, and duration) and displays them in the UI.
+     * Loads the details of a song (name, artist, image, and duration) on the {@link IOExecutor} and
+     * displays them in the UI.
      *
      * @param index the index of the song in the audio queue to be loaded
      */
     public void loadSong(int index) {
-        int audioID = audioQueue.get(index);
-        String songName = ResourceLoader.getAudioName(audioID);
-        String artistName = ResourceLoader.getArtistNamefromAudioID(audioID);
-        String imagePath = ResourceLoader.getAudioImagePath(audioID);
-        int durationSeconds = ResourceLoader.getAudioDuration(audioID);
+        int audioID = AudioPlayer.getInstance().getAudioIDAt(index);
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // The next song replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), track -> showSong(audioID, track));
+    }
+
+    private void showSong(int audioID, TrackInfo track) {
+        if (track == null) {
+            System.out.println("No track found for audioID: " + audioID);
+            return;
+        }
+        String songName = track.audioName();
+        String artistName = track.artistName();
+        String imagePath = track.imagePath();
+        int durationSeconds = track.audioDuration();
 
         // Convert duration to "MM:SS" format
         String formattedDuration = formatTime(durationSeconds);
@@ -158,6 +162,6 @@ public class CurrentSongScene {
         songNameLabel.setText(songName);
         artistNameLabel.setText(artistName);
         durationLabel.setText(formattedDuration);
-        songImage.setImage(new Image(getClass().getResource(imagePath).toExternalForm()));
+        AsyncImageLoader.loadResource(songImage, imagePath, songImage.getFitWidth(), songImage.getFitHeight());
     }
 }
@@ -1,6 +1,9 @@
 package AudioController.controllers;
 
 import AudioController.*;
+import AudioController.IconRegistry.Icon;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
@@ -14,9 +17,14 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 /**
@@ -50,6 +58,23 @@ public class HomeScene {
 
     private String currentQuery, mode;
 
+    // Wait this long after the last keystroke before searching
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(200);
+
+    // Searches are run one at a time off the FX thread
+    private static final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private volatile long searchGeneration;
+    private Future<?> pendingSearch;
+    private Node searchSceneNode;
+    private SearchScene searchSceneController;
+    private SearchLatency lastSearchLatency;
+
     @FXML
     ComboBox<SearchMode> modeComboBox;
     @FXML
@@ -70,7 +95,7 @@ public class HomeScene {
     /**
      * Initializes the HomeScene and sets up the UI components.
      *
-     * - Sets the username label using the `UserSession` and `ResourceLoader`.
+     * - Sets the username label using the `UserSession` and `ResourceLoader`, queried on the `IOExecutor`.
      * - Loads the main page scene as the initial view.
      * - Sets up the volume slider and binds it to the audio player's volume property.
      * - Adds listeners to the volume slider and play/pause button.
@@ -79,18 +104,24 @@ public class HomeScene {
     @FXML
     private void initialize() {
         AudioPlayer.getInstance().setHomeScene(this);
-        usernameLabel.setText(ResourceLoader.getUsername(UserSession.getInstance().getUserID()) + " (₱ " + ResourceLoader.getBalance(UserSession.getInstance().getUserID()) + ")");
+        int userID = UserSession.getInstance().getUserID();
+        IOExecutor.scopeOf(usernameLabel).load(() -> ResourceLoader.getUsername(userID) + " (₱ " + ResourceLoader.getBalance(userID) + ")",
+                usernameLabel::setText);
         loadScene("/FXMLs/mainpageScene.fxml");
         volumeSlider.setValue(50);
 
         AudioPlayer.getInstance().setVolume(volumeSlider.getValue() / 100.0);
 
-        volumeSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
-            AudioPlayer.getInstance().setVolume(newValue.doubleValue() / 100.0);
+        // An invalidation listener reads the primitive value, so dragging the slider boxes no Doubles
+        volumeSlider.valueProperty().addListener(observable -> {
+            double volume = volumeSlider.getValue();
+            AudioPlayer.getInstance().setVolume(volume / 100.0);
 
-            updateVolumeIcon(newValue.doubleValue());
+            updateVolumeIcon(volume);
         });
 
+        volumeIcon.setSmooth(true);
+        volumeIcon.setPreserveRatio(true);
         updateVolumeIcon(volumeSlider.getValue());
 
         volumeSlider.setOnMouseEntered(event -> {
@@ -120,16 +151,24 @@ public class HomeScene {
         shuffleIcon.setPickOnBounds(true);
         loopIcon.setPickOnBounds(true);
 
+        // Pick up the queue the user left off with in their last session
+        AudioPlayer.getInstance().restoreQueue(UserSession.getInstance().getUserID());
+        updateShuffleIcon(AudioPlayer.getInstance().isShuffled());
+        updateLoopIcon(AudioPlayer.getInstance().isLooped());
+
         topbarSearchField.textProperty().addListener((observable, oldValue, newValue) -> {
             // Trim the input for clean comparisons
             String query = newValue.trim();
+            searchDebounce.stop();
 
             if (query.isEmpty() || query.equalsIgnoreCase("Search")) {
                 // Reload the main page scene if input is empty or default text
+                cancelSearch();
                 loadScene("/FXMLs/mainpageScene.fxml");
             } else {
-                // Dynamically load a scene based on the current query
-                searchAndLoadResults(query, getCurrentMode());
+                // Search once the user stops typing, instead of on every keystroke
+                searchDebounce.setOnFinished(event -> searchAndLoadResults(query, String.valueOf(modeComboBox.getValue())));
+                searchDebounce.playFromStart();
             }
         });
 
@@ -168,13 +207,14 @@ public class HomeScene {
         modeComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
             String query = topbarSearchField.getText().trim();
             if (!query.isEmpty() && !query.equalsIgnoreCase("Search")) {
+                searchDebounce.stop();
                 searchAndLoadResults(query, String.valueOf(newValue));
             }
         });
     }
 
     public enum SearchMode {
-        TITLE("Title"), GENRE("Genre"), ARTIST("Artist"), ALBUM("Album");
+        TITLE("Title"), GENRE("Genre"), ARTIST("Artist"), ALBUM("Album"), ALL("All");
 
         private final String displayName;
 
@@ -188,6 +228,23 @@ public class HomeScene {
         }
     }
 
+    /**
+     * Time spent in each stage of one search, in nanoseconds.
+     *
+     * @param queuedNanos from the search being requested until it started on the search thread.
+     * @param queryNanos  running the query and loading the first page of matching tracks.
+     * @param handoffNanos from the query finishing until the FX thread picked up its results.
+     * @param renderNanos building the result rows on the FX thread.
+     */
+    public record SearchLatency(long queuedNanos, long queryNanos, long handoffNanos, long renderNanos) {
+
+        @Override
+        public String toString() {
+            return "queued " + queuedNanos / 1_000 + " us, query " + queryNanos / 1_000 + " us, handoff "
+                    + handoffNanos / 1_000 + " us, render " + renderNanos / 1_000 + " us";
+        }
+    }
+
 
     /**************************************************************************************************************************
      * Controller methods for handling sidebar panes interactions and user experience (UX) effects.
@@ -294,33 +351,31 @@ public class HomeScene {
     }
 
     private void updateVolumeIcon(double volume) {
-        String imagePath;
+        Icon icon;
         if (volume < 1) {
-            imagePath = "/ProjectImages/muteicon.png";  // Mute icon
+            icon = Icon.MUTE;  // Mute icon
         } else if (volume >= 1 && volume <= 50) {
-            imagePath = "/ProjectImages/volumemidicon.png";   // Low volume icon
+            icon = Icon.VOLUME_MID;   // Low volume icon
         } else {
-            imagePath = "/ProjectImages/volumehighicon.png";  // High volume icon
+            icon = Icon.VOLUME_HIGH;  // High volume icon
         }
 
-        volumeIcon.setImage(new Image(getClass().getResourceAsStream(imagePath)));
-        volumeIcon.setSmooth(true);
-        volumeIcon.setPreserveRatio(true);
+        Image image = IconRegistry.get(icon);
+        if (volumeIcon.getImage() != image) {
+            volumeIcon.setImage(image);
+        }
     }
 
     private void updatePlayPauseIcon(boolean isPlaying) {
-        String iconPath = isPlaying ? "/ProjectImages/pause.png" : "/ProjectImages/play-button.png";
-        playPauseIcon.setImage(new Image(getClass().getResourceAsStream(iconPath)));
+        playPauseIcon.setImage(IconRegistry.get(isPlaying ? Icon.PAUSE : Icon.PLAY));
     }
 
     private void updateShuffleIcon(boolean isShuffled) {
-        String iconPath = isShuffled ? "/ProjectImages/shuffled.png" : "/ProjectImages/shuffle.png";
-        shuffleIcon.setImage(new Image(getClass().getResourceAsStream(iconPath)));
+        shuffleIcon.setImage(IconRegistry.get(isShuffled ? Icon.SHUFFLED : Icon.SHUFFLE));
     }
 
     private void updateLoopIcon(boolean isLooped) {
-        String iconPath = isLooped ? "/ProjectImages/looped.png" : "/ProjectImages/loop.png";
-        loopIcon.setImage(new Image(getClass().getResourceAsStream(iconPath)));
+        loopIcon.setImage(IconRegistry.get(isLooped ? Icon.LOOPED : Icon.LOOP));
     }
 
 
@@ -399,36 +454,105 @@ public class HomeScene {
 
 
     /**
-     * Searches for content based on the query and dynamically loads the search results scene.
-     * Clears the current content in the VBox and loads a new search scene based on the query.
+     * Searches for content based on the query and shows the results in the search results scene.
+     * <p>
+     * The search runs on a background thread. Starting a new search supersedes the previous one:
+     * a superseded search that has not started yet is cancelled, and the results of one that has
+     * are discarded, so only the latest query's results reach the screen. Results are also
+     * discarded if the user navigated to another view while the search was running.
+     * </p>
      *
      * @param query The search query entered by the user.
+     * @param mode  The search mode.
      */
-    @FXML
     private void searchAndLoadResults(String query, String mode) {
         this.currentQuery = query;
-        this.mode = String.valueOf(modeComboBox.getValue());
+        this.mode = mode;
 
-        try {
-            bodyVBox.getChildren().clear(); // Clear any existing content in the VBox
+        long generation = cancelSearch();
+        Node viewAtRequest = bodyVBox.getChildren().isEmpty() ? null : bodyVBox.getChildren().get(0);
+        long requestedAt = System.nanoTime();
 
-            // Load the search results scene
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/FXMLs/searchScene.fxml"));
-            Node searchScene = loader.load();
-
-            // Get the controller of the loaded scene
-            SearchScene controller = loader.getController();
-            controller.setHomeScene(this);
+        pendingSearch = searchExecutor.submit(() -> {
+            if (generation != searchGeneration) {
+                return;
+            }
+            long queryStart = System.nanoTime();
+            SearchResults results;
+            List<TrackInfo> firstPage;
+            try {
+                results = SearchResults.open(query, mode, SearchScene.getPageSize());
+                firstPage = results == null ? null : results.nextPage();
+                if (results != null) {
+                    results.getCount();
+                }
+                UserSession.getInstance().loadCollections(); // The rows show whether each song is owned
+            } catch (RuntimeException e) {
+                // Nothing reads the task's Future, so a failure would otherwise go unreported
+                e.printStackTrace();
+                System.out.println("Search failed for \"" + query + "\": " + e.getMessage());
+                return;
+            }
+            long queryEnd = System.nanoTime();
 
-            // Pass the query to the controller so it can use it to fetch and display results
-            controller.populateSearchResults(query, mode);
+            Platform.runLater(() -> {
+                Node currentView = bodyVBox.getChildren().isEmpty() ? null : bodyVBox.getChildren().get(0);
+                if (generation != searchGeneration || currentView != viewAtRequest) {
+                    return;
+                }
+                long renderStart = System.nanoTime();
+                showSearchScene().showResults(results, firstPage);
+                long renderEnd = System.nanoTime();
+
+                lastSearchLatency = new SearchLatency(queryStart - requestedAt, queryEnd - queryStart,
+                        renderStart - queryEnd, renderEnd - renderStart);
+                System.out.println("Search \"" + query + "\": " + lastSearchLatency);
+            });
+        });
+    }
 
+    /**
+     * Cancels the pending search, if any, and discards the results of one that is still running.
+     *
+     * @return the generation number of the next search.
+     */
+    private long cancelSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+        return ++searchGeneration;
+    }
 
-            // Add the search results scene to the VBox
-            bodyVBox.getChildren().add(searchScene);
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Shows the search results scene in the VBox, loading it the first time and reusing it afterwards.
+     *
+     * @return the controller of the search results scene.
+     */
+    private SearchScene showSearchScene() {
+        if (searchSceneNode == null) {
+            try {
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/FXMLs/searchScene.fxml"));
+                searchSceneNode = loader.load();
+                searchSceneController = loader.getController();
+                searchSceneController.setHomeScene(this);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load search scene", e);
+            }
+        }
+        if (bodyVBox.getChildren().size() != 1 || bodyVBox.getChildren().get(0) != searchSceneNode) {
+            bodyVBox.getChildren().setAll(searchSceneNode);
         }
+        return searchSceneController;
+    }
+
+    /**
+     * Returns how long each stage of the most recent search took.
+     *
+     * @return the latency of the last search shown, or null if none has been shown yet.
+     */
+    public SearchLatency getLastSearchLatency() {
+        return lastSearchLatency;
     }
 
     /**
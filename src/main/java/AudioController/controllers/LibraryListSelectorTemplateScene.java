@@ -1,12 +1,14 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TrackInfo;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 
@@ -31,7 +33,8 @@ public class LibraryListSelectorTemplateScene {
     private LibrarySelectorScene librarySelectorScene; // Reference to LibrarySelectorScene
 
     /**
-     * Sets the audio and playlist IDs for the current scene, and loads the song details.
+     * Sets the audio and playlist IDs for the current scene, and loads the song details on the
+     * {@link IOExecutor}.
      *
      * @param audioID the ID of the audio to be displayed
      * @param playlistID the ID of the playlist where the audio can be added
@@ -42,33 +45,27 @@ public class LibraryListSelectorTemplateScene {
         this.playlistID = playlistID;
         this.librarySelectorScene = librarySelectorScene;
         System.out.println("Initializing with audio ID: " + audioID + " and playlist ID: " + playlistID);
-        loadAudioDetails();
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), this::loadAudioDetails);
     }
 
     /**
-     * Loads the details of the audio, such as the song name and cover image.
-     * The song name is fetched using the `ResourceLoader`, and the cover image is set if available.
+     * Shows the details of the audio, such as the song name and cover image.
+     * The details come from the `ResourceLoader`, and the cover image is decoded in the background if available.
      */
-    private void loadAudioDetails() {
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
-
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
-        } else {
+    private void loadAudioDetails(TrackInfo track) {
+        if (track == null) {
+            System.out.println("No details found for audioID: " + audioID);
+            return;
+        }
+        songNameLabel.setText(track.audioName());
+
+        String artistImagePath = track.imagePath();
+        if (artistImagePath == null) {
             System.out.println("Artist image path is null for audioID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, artistImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 
     /**
@@ -80,6 +77,21 @@ public class LibraryListSelectorTemplateScene {
     @FXML
     private void handleAddButtonClicked(MouseEvent event) {
         System.out.println("Add button clicked!");
+        int audioID = this.audioID;
+        int playlistID = this.playlistID;
+        IOExecutor.commit(() -> addToPlaylist(audioID, playlistID), added -> {
+            if (added) {
+                librarySelectorScene.reloadList(); // Refresh the song list
+            }
+        });
+    }
+
+    /**
+     * Adds the audio to the playlist if both exist. Runs on the {@link IOExecutor}.
+     *
+     * @return true if the audio was added.
+     */
+    private static boolean addToPlaylist(int audioID, int playlistID) {
 
         // Step 1: Check if the playlistID exists
         String checkPlaylistQuery = "SELECT COUNT(*) FROM Playlists WHERE playlistID = ?";
@@ -106,12 +118,12 @@ public class LibraryListSelectorTemplateScene {
 
             if (rsPlaylist.getInt(1) == 0) {
                 System.out.println("Playlist does not exist.");
-                return;
+                return false;
             }
 
             if (rsAudio.getInt(1) == 0) {
                 System.out.println("Audio does not exist.");
-                return;
+                return false;
             }
 
             // Step 2: Add the audio to the PlaylistAudio table if both exist
@@ -124,7 +136,7 @@ public class LibraryListSelectorTemplateScene {
                 int rowsInserted = pstmtInsert.executeUpdate();
                 if (rowsInserted > 0) {
                     System.out.println("Audio added to the playlist successfully!");
-                    librarySelectorScene.reloadList(); // Refresh the song list
+                    return true;
                 } else {
                     System.out.println("Failed to add audio to the playlist.");
                 }
@@ -138,6 +150,7 @@ public class LibraryListSelectorTemplateScene {
             System.err.println("Error while checking for existence of playlist/audio: " + e.getMessage());
             e.printStackTrace();
         }
+        return false;
     }
 
 }
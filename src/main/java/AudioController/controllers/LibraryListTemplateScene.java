@@ -1,18 +1,19 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.AudioPlayer;
 import AudioController.DownloadManager;
+import AudioController.IOExecutor;
+import AudioController.IntList;
 import AudioController.MouseEffects;
 import AudioController.ResourceLoader;
+import AudioController.TrackInfo;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Controller for the library list template scene. This scene displays song details, such as the song name
@@ -25,16 +26,35 @@ public class LibraryListTemplateScene {
     private ImageView songCoverImage, playImage, downloadImage;
 
     private int audioID;
+    private TrackInfo track;
 
-    private List<Integer> audioQueue = new ArrayList<>();
+    private IntList audioQueue = new IntList();
 
     /**
-     * Sets the audio ID for the current scene and loads the song details.
+     * Sets the audio ID for the current scene and loads the song details on the {@link IOExecutor}.
      *
      * @param audioID the ID of the audio to be displayed
      */
     public void setAudioID(int audioID) {
-        this.audioID = audioID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), this::setTrack);
+    }
+
+    /**
+     * Sets the track for the current scene and displays its details. Callers rendering many rows
+     * should fetch all tracks with {@link ResourceLoader#loadTracks(java.util.Collection)} and pass
+     * each one here, so the whole list costs a single query.
+     *
+     * @param track the track to be displayed
+     */
+    public void setTrack(TrackInfo track) {
+        if (track == null) {
+            System.out.println("Cannot initialize library row without a track");
+            return;
+        }
+        this.track = track;
+        this.audioID = track.audioID();
         System.out.println("Initializing with audio ID: " + audioID);
         loadAudioDetails();
     }
@@ -44,7 +64,7 @@ public class LibraryListTemplateScene {
      *
      * @param audioQueue the list of audio IDs to be set as the audio queue
      */
-    public void setQueue(List audioQueue) {
+    public void setQueue(IntList audioQueue) {
         this.audioQueue = audioQueue;
     }
 
@@ -64,7 +84,7 @@ public class LibraryListTemplateScene {
         downloadImage.setOnMouseClicked(event -> {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Save Audio File");
-            fileChooser.setInitialFileName(ResourceLoader.getAudioName(audioID) + ".mp3");
+            fileChooser.setInitialFileName(track.audioName() + ".mp3");
             Path destination = fileChooser.showSaveDialog(songCoverImage.getScene().getWindow()).toPath();
 
             if (destination != null) {
@@ -75,27 +95,15 @@ public class LibraryListTemplateScene {
 
     /**
      * Loads the details of the audio, such as the song name and cover image.
-     * The song name is fetched using the `ResourceLoader`, and the cover image is set if available.
+     * The details come from the track, and the cover image is decoded in the background if available.
      */
     private void loadAudioDetails() {
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
+        songNameLabel.setText(track.audioName());
 
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
-        } else {
+        String artistImagePath = track.imagePath();
+        if (artistImagePath == null) {
             System.out.println("Artist image path is null for artistID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, artistImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 }
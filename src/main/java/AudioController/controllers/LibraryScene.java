@@ -3,19 +3,13 @@ package AudioController.controllers;
 import AudioController.*;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.FlowPane;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.Pane;
 import javafx.util.Duration;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Controller for the library scene in the audio library application.
@@ -27,7 +21,9 @@ public class LibraryScene implements SceneWithHomeContext {
     private HomeScene homeScene;
 
     @FXML
-    private FlowPane libraryFlowPane;
+    private ListView<TrackInfo> libraryListView;
+
+    private IntList audioQueue = new IntList();
 
     /**
      * Sets the {@link HomeScene} instance to enable navigation from the artist page.
@@ -45,50 +41,51 @@ public class LibraryScene implements SceneWithHomeContext {
      */
     @FXML
     private void initialize() {
+        TemplateListCell.<TrackInfo, LibraryListTemplateScene>install(libraryListView, "/FXMLs/librarylisttemplateScene.fxml", 105,
+                (controller, track) -> {
+                    controller.setTrack(track);
+                    controller.setQueue(audioQueue);
+                }, null);
+
         loadSongList();
     }
 
     /**
-     * Loads the list of songs from the user's library and displays them in the FlowPane.
-     * The songs are fetched from the LibraryAudio table in the database for the current user.
-     * Each song is loaded using the LibraryListTemplateScene template.
+     * Loads the list of songs from the user's library and displays them in the list view.
+     * The songs are fetched from the LibraryAudio table in the database for the current user, on the
+     * {@link IOExecutor} so the scene shows while the query runs. The details of every song are fetched
+     * in the same task with {@link ResourceLoader#loadTracks(java.util.Collection)}, so scrolling
+     * does not query the database.
+     * Each visible song is shown using the LibraryListTemplateScene template, and the rows are
+     * reused as the list is scrolled.
      */
     private void loadSongList() {
         // Get the current userID from the UserSession instance
         int userID = UserSession.getInstance().getUserID();
 
-        // Modify the query to fetch audioIDs from LibraryAudio for the given userID
-        String query = "SELECT audioID FROM LibraryAudio WHERE userID = ? ORDER BY audioID ASC";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        IOExecutor.scopeOf(libraryListView).load(() -> {
+            // Modify the query to fetch audioIDs from LibraryAudio for the given userID
+            String query = "SELECT audioID FROM LibraryAudio WHERE userID = ? ORDER BY audioID ASC";
 
-            // Set the userID parameter in the query
-            preparedStatement.setInt(1, userID);
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-            // Queue for storing audio IDs
-            List<Integer> audioQueue = new ArrayList<>();
+                // Set the userID parameter in the query
+                preparedStatement.setInt(1, userID);
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
-                    audioQueue.add(audioID); // Add audioID to the queue
-
-                    // Load the song list template
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/librarylisttemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
-
-                    LibraryListTemplateScene controller = fxmlLoader.getController();
-                    System.out.println("Controller initialized: " + controller);
-                    controller.setAudioID(audioID);
-                    controller.setQueue(audioQueue);
+                // Queue for storing audio IDs
+                IntList audioQueue = new IntList();
 
-                    // Add the song to the flow pane
-                    libraryFlowPane.getChildren().add(songList);
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioQueue.add(rs.getInt("audioID")); // Add audioID to the queue
+                    }
                 }
+                return ResourceLoader.loadTracks(audioQueue.toList());
             }
-        } catch (SQLException | IOException e) {
-            e.printStackTrace();
-        }
+        }, tracks -> {
+            audioQueue = IntList.of(tracks.keySet());
+            libraryListView.getItems().setAll(tracks.values());
+        });
     }
 }
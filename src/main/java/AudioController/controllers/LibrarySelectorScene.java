@@ -2,11 +2,10 @@ package AudioController.controllers;
 
 import AudioController.*;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Pane;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -67,51 +66,60 @@ public class LibrarySelectorScene implements SceneWithHomeContext {
     }
 
     /**
-     * Reloads the song list by querying the database for songs in the user's library
-     * that are not in the current playlist. The results are displayed in the FlowPane.
+     * Reloads the song list by querying the database on the {@link IOExecutor} for songs in the user's
+     * library that are not in the current playlist. The results are displayed in the FlowPane.
      */
     private void reloadSongList() {
-        libraryFlowPane.getChildren().clear(); // Clear previous songs
-
         int userID = UserSession.getInstance().getUserID();
+        int playlistID = this.playlistID;
+
+        IOExecutor.Scope scope = IOExecutor.scopeOf(libraryFlowPane);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> {
+            // SQL query to fetch songs in LibraryAudio that are not in PlaylistAudio
+            String query = "SELECT audioID FROM LibraryAudio " +
+                    "WHERE userID = ? AND audioID NOT IN (SELECT audioID FROM PlaylistAudio WHERE playlistID = ?) " +
+                    "ORDER BY audioID ASC";
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                // Set the userID and playlistID parameters in the query
+                preparedStatement.setInt(1, userID);
+                preparedStatement.setInt(2, playlistID);
+
+                // Queue for storing audio IDs
+                List<Integer> audioQueue = new ArrayList<>();
+
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioQueue.add(rs.getInt("audioID")); // Add audioID to the queue
+                    }
+                }
+                return audioQueue;
+            }
+        }, audioQueue -> showSongList(audioQueue, playlistID));
+    }
 
-        // SQL query to fetch songs in LibraryAudio that are not in PlaylistAudio
-        String query = "SELECT audioID FROM LibraryAudio " +
-                "WHERE userID = ? AND audioID NOT IN (SELECT audioID FROM PlaylistAudio WHERE playlistID = ?) " +
-                "ORDER BY audioID ASC";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            // Set the userID and playlistID parameters in the query
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, playlistID);
-
-            // Queue for storing audio IDs
-            List<Integer> audioQueue = new ArrayList<>();
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                libraryFlowPane.getChildren().clear(); // Clear the previous songs in the FlowPane
-
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
-                    audioQueue.add(audioID); // Add audioID to the queue
+    private void showSongList(List<Integer> audioQueue, int playlistID) {
+        libraryFlowPane.getChildren().clear(); // Clear the previous songs in the FlowPane
 
-                    // Load the song list template
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/librarylistselectortemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
+        try {
+            for (int audioID : audioQueue) {
+                // Load the song list template
+                TemplateFactory.Row<LibraryListSelectorTemplateScene> row = TemplateFactory.load("/FXMLs/librarylistselectortemplateScene.fxml");
+                Pane songList = row.root();
 
-                    LibraryListSelectorTemplateScene controller = fxmlLoader.getController();
-                    System.out.println("Controller initialized: " + controller);
-                    controller.setAudioAndPlaylistID(audioID, playlistID, this); // Pass the current scene reference
+                LibraryListSelectorTemplateScene controller = row.controller();
+                System.out.println("Controller initialized: " + controller);
+                controller.setAudioAndPlaylistID(audioID, playlistID, this); // Pass the current scene reference
 
-                    MouseEffects.addMouseEffects(songList);
+                MouseEffects.addMouseEffects(songList);
 
-                    // Add the song to the flow pane
-                    libraryFlowPane.getChildren().add(songList);
-                }
+                // Add the song to the flow pane
+                libraryFlowPane.getChildren().add(songList);
             }
-        } catch (SQLException | IOException e) {
+        } catch (UncheckedIOException e) {
             e.printStackTrace();
         }
     }
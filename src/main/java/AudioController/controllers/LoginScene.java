@@ -1,6 +1,7 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.UserSession;
 import javafx.animation.Interpolator;
 import javafx.animation.ScaleTransition;
@@ -42,52 +43,90 @@ public class LoginScene {
      * Handles the login action when the login button is pressed. It validates the username
      * and password by querying the database. If the credentials are valid, the user is logged in
      * and the home scene is displayed. Otherwise, an alert is shown indicating failure.
+     * <p>
+     * The query runs on the {@link IOExecutor}, and the login button is disabled until it is done.
+     * </p>
      *
      * @param event The action event triggered by clicking the login button.
      */
     public void login(ActionEvent event) {
-        DatabaseConnection db = new DatabaseConnection();
-        Connection connection = db.getConnection();
-
-        try {
-            String sql = "SELECT * FROM user WHERE username = ? AND password = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(sql);
-            preparedStatement.setString(1, loginUsernameField.getText().trim());
-            preparedStatement.setString(2, loginPasswordField.getText().trim());
-
-            ResultSet result = preparedStatement.executeQuery();
-
-            if (!result.next()) {
-                // Display an alert if login fails
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Login Failed");
-                alert.setHeaderText(null);
-                alert.setContentText("Invalid username or password. Please try again.");
-                alert.showAndWait();
-            } else {
-                // Set user session and navigate to home scene
-                int userID = result.getInt("userID");
-                UserSession.getInstance().setUserID(userID);
-                System.out.println("User logged in with ID: " + userID);
-
-                Stage window = (Stage) loginButton.getScene().getWindow();
-                window.close(); // Close the login window
-
-                Stage stage = new Stage();
-                FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/homeScene.fxml"));
-                Scene scene = new Scene(fxmlLoader.load());
-                stage.setTitle("Home Interface");
-                stage.setScene(scene);
-                stage.show();
+        String username = loginUsernameField.getText().trim();
+        String password = loginPasswordField.getText().trim();
+        loginButton.setDisable(true);
+
+        IOExecutor.scopeOf(loginButton).load(() -> {
+            try {
+                return findUserID(username, password);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return null;
             }
+        }, this::showLogin);
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    /**
+     * Logs the user in, or tells them the credentials did not match.
+     *
+     * @param userID the ID found for the credentials, -1 if they did not match, or null if the query failed.
+     */
+    private void showLogin(Integer userID) {
+        loginButton.setDisable(false);
+        if (userID == null) {
+            return;
+        }
+
+        if (userID == -1) {
+            // Display an alert if login fails
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Login Failed");
+            alert.setHeaderText(null);
+            alert.setContentText("Invalid username or password. Please try again.");
+            alert.showAndWait();
+            return;
+        }
+
+        // Set user session and navigate to home scene
+        UserSession.getInstance().setUserID(userID);
+        System.out.println("User logged in with ID: " + userID);
+
+        try {
+            Stage window = (Stage) loginButton.getScene().getWindow();
+            window.close(); // Close the login window
+
+            Stage stage = new Stage();
+            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/homeScene.fxml"));
+            Scene scene = new Scene(fxmlLoader.load());
+            stage.setTitle("Home Interface");
+            stage.setScene(scene);
+            stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Looks up the user with the given credentials. The pooled connection, statement and result set
+     * are closed before this returns, so the connection is back in the pool before any dialog opens.
+     *
+     * @param username the username.
+     * @param password the password.
+     * @return the ID of the user, or -1 if the credentials do not match a user.
+     * @throws SQLException if the query fails.
+     */
+    private static int findUserID(String username, String password) throws SQLException {
+        String sql = "SELECT userID FROM user WHERE username = ? AND password = ?";
+
+        try (Connection connection = new DatabaseConnection().getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, username);
+            preparedStatement.setString(2, password);
+
+            try (ResultSet result = preparedStatement.executeQuery()) {
+                return result.next() ? result.getInt("userID") : -1;
+            }
+        }
+    }
+
     /**
      * Handles the click event on the signup hyperlink. It transitions the user to the signup scene.
      */
@@ -1,23 +1,28 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.MouseEffects;
+import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TemplateFactory;
+import AudioController.TrackInfo;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.Pane;
 import javafx.util.Duration;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for the main page scene. This class handles displaying song cards,
@@ -47,76 +52,98 @@ public class MainpageScene implements SceneWithHomeContext {
      * Initializes the main page by querying the database for song IDs and loading
      * corresponding song card templates. Each card is clickable and redirects
      * to the song page.
+     * <p>
+     * The queries run on the {@link IOExecutor}, together with a single query for the details of
+     * every card, and the cards are added once they have finished.
+     * </p>
      */
     @FXML
     public void initialize() {
-        // Query to get the first 8 audio IDs for recommended songs
-        String recommendedQuery = "SELECT audioID FROM Audio ORDER BY audioID ASC LIMIT 8";
+        IOExecutor.scopeOf(recommendedSongContainerPane).load(() -> {
+            // Query to get the first 8 audio IDs for recommended songs
+            String recommendedQuery = "SELECT audioID FROM Audio ORDER BY audioID ASC LIMIT 8";
 
-        // Query to get sound effects
-        String soundEffectQuery = "SELECT audioID FROM Audio WHERE genreID = (SELECT genreID FROM Genre WHERE genreName = 'Sound Effect')";
+            // Query to get sound effects
+            String soundEffectQuery = "SELECT audioID FROM Audio WHERE genreID = (SELECT genreID FROM Genre WHERE genreName = 'Sound Effect')";
 
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement recommendedStatement = connection.prepareStatement(recommendedQuery);
-             ResultSet recommendedRs = recommendedStatement.executeQuery()) {
+            try (Connection connection = new DatabaseConnection().getConnection()) {
+                List<Integer> recommendedIDs = queryAudioIDs(connection, recommendedQuery);
+                List<Integer> soundEffectIDs = queryAudioIDs(connection, soundEffectQuery);
 
-            // Load recommended songs
-            while (recommendedRs.next()) {
-                int audioID = recommendedRs.getInt("audioID");
-
-                FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/songcardtemplateScene.fxml"));
-                AnchorPane songCard = fxmlLoader.load();
-
-                SongCardTemplateScene controller = fxmlLoader.getController();
-                controller.setAudioID(audioID);
+                List<Integer> audioIDs = new ArrayList<>(recommendedIDs);
+                audioIDs.addAll(soundEffectIDs);
+                Map<Integer, TrackInfo> tracks = ResourceLoader.loadTracks(audioIDs);
+                return new Cards(tracksOf(recommendedIDs, tracks), tracksOf(soundEffectIDs, tracks));
+            }
+        }, this::showCards);
+    }
 
-                MouseEffects.addMouseEffects(songCard);
+    private static List<Integer> queryAudioIDs(Connection connection, String query) throws SQLException {
+        List<Integer> audioIDs = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(query);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                audioIDs.add(rs.getInt("audioID"));
+            }
+        }
+        return audioIDs;
+    }
 
-                songCard.setOnMouseClicked(event -> {
-                    System.out.println("Redirecting to song...");
+    private static List<TrackInfo> tracksOf(List<Integer> audioIDs, Map<Integer, TrackInfo> tracks) {
+        List<TrackInfo> found = new ArrayList<>(audioIDs.size());
+        for (int audioID : audioIDs) {
+            TrackInfo track = tracks.get(audioID);
+            if (track != null) {
+                found.add(track);
+            }
+        }
+        return found;
+    }
 
-                    if (homeScene != null) {
-                        homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
-                    } else {
-                        System.out.println("HomeScene is null!");
-                    }
-                });
-                recommendedSongContainerPane.getChildren().add(songCard);
+    private void showCards(Cards cards) {
+        try {
+            // Load recommended songs
+            for (TrackInfo track : cards.recommended()) {
+                recommendedSongContainerPane.getChildren().add(createCard(track, "Redirecting to song..."));
             }
 
             // Load sound effects
-            try (PreparedStatement soundEffectStatement = connection.prepareStatement(soundEffectQuery);
-                 ResultSet soundEffectRs = soundEffectStatement.executeQuery()) {
+            for (TrackInfo track : cards.soundEffects()) {
+                soundeffectContainerPane.getChildren().add(createCard(track, "Redirecting to sound effect..."));
+            }
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
 
-                while (soundEffectRs.next()) {
-                    int audioID = soundEffectRs.getInt("audioID");
+    private Pane createCard(TrackInfo track, String redirectMessage) {
+        int audioID = track.audioID();
 
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/songcardtemplateScene.fxml"));
-                    AnchorPane soundEffectCard = fxmlLoader.load();
+        TemplateFactory.Row<SongCardTemplateScene> row = TemplateFactory.load("/FXMLs/songcardtemplateScene.fxml");
+        Pane songCard = row.root();
 
-                    SongCardTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID);
+        SongCardTemplateScene controller = row.controller();
+        controller.setTrack(track);
 
-                    MouseEffects.addMouseEffects(soundEffectCard);
+        MouseEffects.addMouseEffects(songCard);
 
-                    soundEffectCard.setOnMouseClicked(event -> {
-                        System.out.println("Redirecting to sound effect...");
+        songCard.setOnMouseClicked(event -> {
+            System.out.println(redirectMessage);
 
-                        if (homeScene != null) {
-                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
-                        } else {
-                            System.out.println("HomeScene is null!");
-                        }
-                    });
-                    soundeffectContainerPane.getChildren().add(soundEffectCard);
-                }
+            if (homeScene != null) {
+                homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
+            } else {
+                System.out.println("HomeScene is null!");
             }
-
-        } catch (SQLException | IOException e) {
-            e.printStackTrace();
-        }
+        });
+        return songCard;
     }
 
+    /**
+     * The tracks of the main page's two rows of cards.
+     */
+    private record Cards(List<TrackInfo> recommended, List<TrackInfo> soundEffects) {}
+
     /**
      * Handles the click event on a shortcut image. It identifies the clicked
      * shortcut and redirects the user to the corresponding artist page.
@@ -1,6 +1,7 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
@@ -8,6 +9,8 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Controller for the payment details scene. This class is responsible for displaying
@@ -34,13 +37,17 @@ public class PaymentDetailsScene {
     }
 
     /**
-     * Loads the payment details for the given payment ID from the database.
+     * Loads the payment details for the given payment ID from the database on the {@link IOExecutor}.
      * This includes the payment information such as the user’s first and last name,
      * payment amount, date, and the list of purchased audio items.
      *
      * @param paymentID The ID of the payment to load the details for.
      */
     public void loadPaymentDetails(int paymentID) {
+        IOExecutor.scopeOf(titleLabel).load(() -> queryPaymentDetails(paymentID), this::showPaymentDetails);
+    }
+
+    private static PaymentDetails queryPaymentDetails(int paymentID) throws SQLException {
         String paymentQuery = "SELECT p.paymentID, u.firstName, u.lastName, p.amount, p.paymentDate, a.audioName, a.audioPrice " +
                 "FROM Payments p " +
                 "JOIN User u ON p.userID = u.userID " +
@@ -53,30 +60,43 @@ public class PaymentDetailsScene {
 
             stmt.setInt(1, paymentID);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp paymentDate = rs.getTimestamp("paymentDate");
-                    String formattedDate = new java.text.SimpleDateFormat("yyyy-MM-dd hh:mm:ss a").format(paymentDate);
-
-                    titleLabel.setText("Payment History - " + formattedDate);
-                    paymentIDLabel.setText("Payment ID: " + rs.getInt("paymentID"));
-                    firstNameLabel.setText("First Name: " + rs.getString("firstName"));
-                    lastNameLabel.setText("Last Name: " + rs.getString("lastName"));
-                    totalLabel.setText("Total Amount: ₱" + rs.getDouble("amount"));
-
-                    ObservableList<String> audioItems = FXCollections.observableArrayList();
-                    do {
-                        String audioInfo = rs.getString("audioName") + " - ₱" + rs.getDouble("audioPrice");
-                        audioItems.add(audioInfo);
-                    } while (rs.next());
-
-                    audioList.setItems(audioItems);
-                    purchasedAudioLabel.setText("Purchased Audio:");
+                if (!rs.next()) {
+                    return null;
                 }
+                Timestamp paymentDate = rs.getTimestamp("paymentDate");
+                String formattedDate = new java.text.SimpleDateFormat("yyyy-MM-dd hh:mm:ss a").format(paymentDate);
+
+                List<String> audioItems = new ArrayList<>();
+                PaymentDetails details = new PaymentDetails(formattedDate, rs.getInt("paymentID"),
+                        rs.getString("firstName"), rs.getString("lastName"), rs.getDouble("amount"), audioItems);
+                do {
+                    String audioInfo = rs.getString("audioName") + " - ₱" + rs.getDouble("audioPrice");
+                    audioItems.add(audioInfo);
+                } while (rs.next());
+                return details;
             }
+        }
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private void showPaymentDetails(PaymentDetails details) {
+        if (details == null) {
+            return;
         }
+        titleLabel.setText("Payment History - " + details.formattedDate());
+        paymentIDLabel.setText("Payment ID: " + details.paymentID());
+        firstNameLabel.setText("First Name: " + details.firstName());
+        lastNameLabel.setText("Last Name: " + details.lastName());
+        totalLabel.setText("Total Amount: ₱" + details.amount());
+
+        ObservableList<String> audioItems = FXCollections.observableArrayList(details.audioItems());
+        audioList.setItems(audioItems);
+        purchasedAudioLabel.setText("Purchased Audio:");
     }
 
+    /**
+     * A payment and the audio bought with it, as shown by this scene.
+     */
+    private record PaymentDetails(String formattedDate, int paymentID, String firstName, String lastName,
+                                  double amount, List<String> audioItems) {}
+
 }
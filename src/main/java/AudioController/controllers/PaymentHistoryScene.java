@@ -1,22 +1,22 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
+import AudioController.IntList;
 import AudioController.MouseEffects;
 import AudioController.SceneWithHomeContext;
+import AudioController.TemplateFactory;
 import AudioController.UserSession;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.Pane;
 import javafx.util.Duration;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
 
 /**
  * Controller for the payment history scene. This class is responsible for displaying
@@ -50,45 +50,63 @@ public class PaymentHistoryScene implements SceneWithHomeContext {
     /**
      * Loads the list of payments made by the current user and adds them to the payment history view.
      * Each payment is displayed as a list item that can be clicked to view more details.
-     * The payments are fetched from the database based on the current user's ID.
+     * The payments are fetched from the database on the {@link IOExecutor} based on the current
+     * user's ID, and the list is filled in once they arrive.
      */
     private void loadPaymentsList() {
         int userID = UserSession.getInstance().getUserID();
 
-        String query = "SELECT paymentID FROM Payments WHERE userID = ? ORDER BY paymentID DESC";
+        IOExecutor.scopeOf(paymentsFlowPane).load(() -> {
+            String query = "SELECT paymentID FROM Payments WHERE userID = ? ORDER BY paymentID DESC";
 
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-            preparedStatement.setInt(1, userID);
+                preparedStatement.setInt(1, userID);
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int paymentID = rs.getInt("paymentID");
+                IntList paymentIDs = new IntList();
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        paymentIDs.add(rs.getInt("paymentID"));
+                    }
+                }
+                return paymentIDs;
+            }
+        }, this::showPaymentsList);
+    }
+
+    /**
+     * Adds a clickable item for each payment to the payment history view.
+     *
+     * @param paymentIDs the IDs of the payments, newest first.
+     */
+    private void showPaymentsList(IntList paymentIDs) {
+        try {
+            for (int i = 0; i < paymentIDs.size(); i++) {
+                int paymentID = paymentIDs.get(i);
 
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/paymentslisttemplateScene.fxml"));
-                    AnchorPane paymentsList = fxmlLoader.load();
+                TemplateFactory.Row<PaymentsListTemplateScene> row = TemplateFactory.load("/FXMLs/paymentslisttemplateScene.fxml");
+                Pane paymentsList = row.root();
 
-                    PaymentsListTemplateScene controller = fxmlLoader.getController();
-                    controller.setpaymentID(paymentID);
+                PaymentsListTemplateScene controller = row.controller();
+                controller.setpaymentID(paymentID);
 
-                    MouseEffects.addMouseEffects(paymentsList);
+                MouseEffects.addMouseEffects(paymentsList);
 
-                    paymentsList.setOnMouseClicked(event -> {
-                        System.out.println("Redirecting to song...");
+                paymentsList.setOnMouseClicked(event -> {
+                    System.out.println("Redirecting to song...");
 
-                        if (homeScene != null) {
-                            homeScene.loadPaymentScene("/FXMLs/paymentdetailsScene.fxml", paymentID);
-                        } else {
-                            System.out.println("HomeScene is null!");
-                        }
-                    });
+                    if (homeScene != null) {
+                        homeScene.loadPaymentScene("/FXMLs/paymentdetailsScene.fxml", paymentID);
+                    } else {
+                        System.out.println("HomeScene is null!");
+                    }
+                });
 
-                    // Add the song to the flow pane
-                    paymentsFlowPane.getChildren().add(paymentsList);
-                }
+                // Add the song to the flow pane
+                paymentsFlowPane.getChildren().add(paymentsList);
             }
-        } catch (SQLException | IOException e) {
+        } catch (UncheckedIOException e) {
             e.printStackTrace();
         }
     }
@@ -1,5 +1,6 @@
 package AudioController.controllers;
 
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -18,27 +19,27 @@ public class PaymentsListTemplateScene {
     private int paymentID;
 
     /**
-     * Sets the payment ID and loads the payment details.
+     * Sets the payment ID and loads the payment details on the {@link IOExecutor}.
      * This method is called when the payment ID is available and needs to be displayed.
      *
      * @param paymentID The ID of the payment whose details are to be displayed.
      */
     public void setpaymentID(int paymentID) {
         this.paymentID = paymentID;
-        loadPaymentDetails();
+        IOExecutor.Scope scope = IOExecutor.scopeOf(paymentLabel);
+        scope.cancel(); // A new payment replaces one still loading
+        scope.load(() -> ResourceLoader.getPaymentDate(paymentID), this::loadPaymentDetails);
     }
 
     public void initialize() {}
 
     /**
-     * Loads and formats the payment date for the given payment ID, and updates the
-     * paymentLabel with the formatted date. The date is retrieved from the `ResourceLoader`.
-     * If the date is successfully retrieved and parsed, it is displayed in a readable format.
+     * Formats the payment date retrieved from the `ResourceLoader`, and updates the
+     * paymentLabel with the formatted date.
+     * If the date was successfully retrieved and parsed, it is displayed in a readable format.
      * Otherwise, an error message is displayed.
      */
-    private void loadPaymentDetails() {
-        String paymentDateTime = ResourceLoader.getPaymentDate(paymentID);
-
+    private void loadPaymentDetails(String paymentDateTime) {
         if (paymentDateTime != null) {
             try {
                 SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -1,25 +1,21 @@
 package AudioController.controllers;
 
 import AudioController.*;
+import AudioController.IconRegistry.Icon;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
 /**
  * Controller class for managing the contents of a playlist in the audio library.
@@ -27,6 +23,7 @@ import java.util.List;
  * as well as update the playlist's name and image.
  */
 public class PlaylistContentsScene implements SceneWithHomeContext {
+
     private HomeScene homeScene;
 
     /**
@@ -48,13 +45,14 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
     @FXML
     private TextField playlistNameField;
     @FXML
-    private VBox playlistVBox;
+    private ListView<TrackInfo> playlistListView;
 
     private int playlistID;
+    private IntList audioQueue = new IntList();
 
     /**
      * Initializes the playlist with the given playlist ID.
-     * Loads the song list, playlist name, and playlist image.
+     * Loads the song list, playlist name, and playlist image on the {@link IOExecutor}.
      *
      * @param playlistID the ID of the playlist to initialize
      */
@@ -62,8 +60,7 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
         this.playlistID = playlistID;
         System.out.println("Initializing with artist ID: " + playlistID);
         loadSongList();
-        String playlistName = ResourceLoader.getPlaylistName(playlistID);
-        playlistNameLabel.setText(playlistName);
+        IOExecutor.scopeOf(playlistNameLabel).load(() -> ResourceLoader.getPlaylistName(playlistID), playlistNameLabel::setText);
         loadPlaylistImage();
     }
 
@@ -77,6 +74,14 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
 
         playlistNameField.setVisible(false);
 
+        TemplateListCell.<TrackInfo, PlaylistTemplateScene>install(playlistListView, "/FXMLs/playlisttemplateScene.fxml", 105,
+                (controller, track) -> {
+                    controller.setTrack(track);
+                    controller.setPlaylistID(playlistID);
+                    controller.setQueue(audioQueue);
+                    controller.setPlaylistContentsScene(this);
+                }, null);
+
         playlistNameLabel.setOnMouseClicked((MouseEvent event) -> {
             if (event.getClickCount() == 2) {
                 playlistNameField.setText( playlistNameLabel.getText());
@@ -113,11 +118,19 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
     }
 
     /**
-     * Updates the playlist name in the database.
+     * Updates the playlist name in the database on the {@link IOExecutor}.
      *
      * @param newName the new name for the playlist
      */
     private void updatePlaylistName(String newName) {
+        int playlistID = this.playlistID;
+        IOExecutor.commit(() -> {
+            updatePlaylistName(playlistID, newName);
+            return null;
+        }, done -> {});
+    }
+
+    private static void updatePlaylistName(int playlistID, String newName) {
         String query = "UPDATE Playlists SET playlistName = ? WHERE playlistID = ?";
 
         try (Connection connection = new DatabaseConnection().getConnection();
@@ -132,6 +145,7 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
 
             if (rowsAffected > 0) {
                 System.out.println("Playlist name updated successfully.");
+                CatalogCache.getInstance().invalidatePlaylist(playlistID);
             } else {
                 System.out.println("Failed to update playlist name.");
             }
@@ -143,11 +157,19 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
     }
 
     /**
-     * Updates the playlist image file path in the database.
+     * Updates the playlist image file path in the database on the {@link IOExecutor}.
      *
      * @param filePath the absolute file path of the new playlist image
      */
     private void updatePlaylistImagePath(String filePath) {
+        int playlistID = this.playlistID;
+        IOExecutor.commit(() -> {
+            updatePlaylistImagePath(playlistID, filePath);
+            return null;
+        }, done -> {});
+    }
+
+    private static void updatePlaylistImagePath(int playlistID, String filePath) {
         // Use the filePath to update the database with the new path
         String query = "UPDATE Playlists SET playlistImageFile = ? WHERE playlistID = ?";
 
@@ -162,6 +184,7 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
 
             if (rowsAffected > 0) {
                 System.out.println("Image path updated successfully.");
+                CatalogCache.getInstance().invalidatePlaylist(playlistID);
             } else {
                 System.out.println("Failed to update image path.");
             }
@@ -172,110 +195,53 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
     }
 
     /**
-     * Loads the list of songs for the current playlist and adds them to the VBox.
+     * Loads the list of songs for the current playlist on the {@link IOExecutor} and shows them in the
+     * list view. The details of every song are fetched together, and only the visible rows are created
+     * and reused as the list is scrolled.
      */
     private void loadSongList() {
-        playlistVBox.getChildren().clear();
-
-        String query = "SELECT audioID " +
-                "FROM PlaylistAudio " +
-                "WHERE playlistID = ? " +
-                "ORDER BY audioID ASC";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, playlistID); // Use playlistID to filter
+        int playlistID = this.playlistID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(playlistListView);
+        scope.cancel(); // A reload replaces a load still in flight
+        scope.load(() -> {
+            String query = "SELECT audioID " +
+                    "FROM PlaylistAudio " +
+                    "WHERE playlistID = ? " +
+                    "ORDER BY audioID ASC";
 
-            List<Integer> audioQueue = new ArrayList<>();
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int audioID = rs.getInt("audioID");
+                preparedStatement.setInt(1, playlistID); // Use playlistID to filter
 
-                    audioQueue.add(audioID);
+                IntList audioQueue = new IntList();
 
-                    // Load the song list template
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/playlisttemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
-
-                    PlaylistTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID);
-                    controller.setPlaylistID(playlistID);
-                    controller.setQueue(audioQueue);
-                    controller.setPlaylistContentsScene(this);
-
-                    // Add the song to the VBox
-                    playlistVBox.getChildren().add(songList);
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        audioQueue.add(rs.getInt("audioID"));
+                    }
                 }
+
+                return ResourceLoader.loadTracks(audioQueue.toList());
             }
-        } catch (SQLException | IOException e) {
-            e.printStackTrace();
-        }
+        }, (Map<Integer, TrackInfo> tracks) -> {
+            this.audioQueue = IntList.of(tracks.keySet());
+            playlistListView.getItems().setAll(tracks.values());
+        });
     }
 
     /**
-     * Loads the playlist image from the file system and sets it to the ImageView.
-     * If the image cannot be loaded, a default image is displayed.
+     * Loads the playlist image from the file system in the background and sets it to the ImageView.
+     * A default image is shown until it is ready, and stays if the image cannot be loaded. The image's
+     * path is looked up on the {@link IOExecutor} first.
      */
     private void loadPlaylistImage() {
-
-        String imagePath = ResourceLoader.getPlaylistImagePath(playlistID);
-        try {
-            if (imagePath != null && !imagePath.isEmpty()) {
-                File imageFile = new File(imagePath);
-
-                if (imageFile.exists() && imageFile.isFile()) {
-                    Image image = new Image(imageFile.toURI().toString());
-
-                    if (!image.isError()) {
-                        playlistImage.setImage(image);
-                        return;
-                    }
-                }
-            }
-
-            // If we reach here, load default image
-            loadDefaultImage();
-        } catch (Exception e) {
-            e.printStackTrace();
-            loadDefaultImage();
-        }
+        int playlistID = this.playlistID;
+        IOExecutor.scopeOf(playlistImage).load(() -> ResourceLoader.getPlaylistImagePath(playlistID), this::showPlaylistImage);
     }
 
-    /**
-     * Loads a default image and sets it to the playlist image view.
-     */
-    private void loadDefaultImage() {
-        try {
-            // More robust path construction
-            String defaultImagePath = System.getProperty("user.dir") +
-                    File.separator + "src" +
-                    File.separator + "main" +
-                    File.separator + "resources" +
-                    File.separator + "ProjectImages" +
-                    File.separator + "Vector.png";
-
-            File defaultImageFile = new File(defaultImagePath);
-
-            if (defaultImageFile.exists()) {
-                // Use URL encoding to handle potential spaces in path
-                Image defaultImage = new Image(defaultImageFile.toURI().toString());
-
-                if (!defaultImage.isError()) {
-                    playlistImage.setImage(defaultImage);
-                } else {
-                    System.out.println("Error loading default image");
-                    playlistImage.setImage(null);
-                }
-            } else {
-                System.out.println("Default image file not found at: " + defaultImagePath);
-                playlistImage.setImage(null);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            playlistImage.setImage(null);
-        }
+    private void showPlaylistImage(String imagePath) {
+        AsyncImageLoader.load(playlistImage, imagePath, IconRegistry.get(Icon.PLAYLIST_PLACEHOLDER));
     }
 
     /**
@@ -299,13 +265,12 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
 
         // Check if the file is valid (not null)
         if (selectedFile != null) {
-            // Update the ImageView with the selected image
-            Image image = new Image(selectedFile.toURI().toString());
-            playlistImage.setImage(image);
-
             // Get the absolute path of the selected file
             String filePath = selectedFile.getAbsolutePath();
 
+            // Update the ImageView with the selected image once it is decoded
+            showPlaylistImage(filePath);
+
             // Update the database with the absolute path
             updatePlaylistImagePath(filePath);
         } else {
@@ -325,13 +290,13 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
 
     @FXML
     private void handleAddImagePressed(MouseEvent event) {
-        addImage.setImage(new Image(getClass().getResource("/ProjectImages/AddImageClicked.png").toExternalForm()));
+        addImage.setImage(IconRegistry.get(Icon.ADD_IMAGE_CLICKED));
 
     }
 
     @FXML
     private void handleAddImageReleased(MouseEvent event) {
-        addImage.setImage(new Image(getClass().getResource("/ProjectImages/AddImage.png").toExternalForm()));
+        addImage.setImage(IconRegistry.get(Icon.ADD_IMAGE));
 
     }
 
@@ -361,11 +326,12 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
         );
 
         if (confirmDelete) {
-            // Delete the playlist from the database
-            deletePlaylistFromDatabase();
-
-            // Redirect to the PlaylistScene
-            homeScene.loadPlaylistScene("/FXMLs/playlistScene.fxml", playlistID);
+            // Delete the playlist from the database, then redirect to the PlaylistScene
+            int playlistID = this.playlistID;
+            IOExecutor.commit(() -> {
+                deletePlaylistFromDatabase(playlistID);
+                return null;
+            }, done -> homeScene.loadPlaylistScene("/FXMLs/playlistScene.fxml", playlistID));
         }
     }
 
@@ -389,9 +355,11 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
     }
 
     /**
-     * Deletes the playlist from the database.
+     * Deletes the playlist from the database. Runs on the {@link IOExecutor}.
+     *
+     * @param playlistID the ID of the playlist to delete
      */
-    private void deletePlaylistFromDatabase() {
+    private static void deletePlaylistFromDatabase(int playlistID) {
         String query = "DELETE FROM Playlists WHERE playlistID = ?";
 
         try (Connection connection = new DatabaseConnection().getConnection();
@@ -402,6 +370,7 @@ public class PlaylistContentsScene implements SceneWithHomeContext {
             int rowsAffected = preparedStatement.executeUpdate();
             if (rowsAffected > 0) {
                 System.out.println("Playlist deleted successfully.");
+                CatalogCache.getInstance().invalidatePlaylist(playlistID);
             } else {
                 System.out.println("Failed to delete the playlist.");
             }
@@ -1,17 +1,18 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
+import AudioController.IntList;
 import AudioController.MouseEffects;
 import AudioController.SceneWithHomeContext; // Make sure to import this if needed
+import AudioController.TemplateFactory;
 import AudioController.UserSession;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.Pane;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.*;
 
 /**
@@ -38,55 +39,67 @@ public class PlaylistScene implements SceneWithHomeContext {
 
     /**
      * Initializes the PlaylistScene by retrieving the user's playlists
-     * from the database and displaying them in the FlowPane.
+     * from the database on the {@link IOExecutor} and displaying them in the FlowPane.
      */
     @FXML
     private void initialize() {
         // Retrieve the userID from the UserSession
         int userID = UserSession.getInstance().getUserID();
 
-        String query = "SELECT playlistID FROM Playlists WHERE UserID = ? ORDER BY playlistID ASC";
+        IOExecutor.scopeOf(playlistsFlowPane).load(() -> {
+            String query = "SELECT playlistID FROM Playlists WHERE UserID = ? ORDER BY playlistID ASC";
 
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-            // Set the userID in the PreparedStatement
-            preparedStatement.setInt(1, userID);
+                // Set the userID in the PreparedStatement
+                preparedStatement.setInt(1, userID);
 
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    int playlistID = rs.getInt("playlistID");
+                IntList playlistIDs = new IntList();
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        playlistIDs.add(rs.getInt("playlistID"));
+                    }
+                }
+                return playlistIDs;
+            }
+        }, this::showPlaylists);
+    }
 
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/playlistcardtemplateScene.fxml"));
-                    AnchorPane playlistCard = fxmlLoader.load();
+    private void showPlaylists(IntList playlistIDs) {
+        try {
+            for (int i = 0; i < playlistIDs.size(); i++) {
+                int playlistID = playlistIDs.get(i);
 
-                    PlaylistCardTemplateScene controller = fxmlLoader.getController();
-                    controller.setPlaylistID(playlistID);
+                TemplateFactory.Row<PlaylistCardTemplateScene> row = TemplateFactory.load("/FXMLs/playlistcardtemplateScene.fxml");
+                Pane playlistCard = row.root();
 
-                    MouseEffects.addMouseEffects(playlistCard);
+                PlaylistCardTemplateScene controller = row.controller();
+                controller.setPlaylistID(playlistID);
 
-                    playlistCard.setOnMouseClicked(event -> {
-                        System.out.println("Redirecting to song...");
+                MouseEffects.addMouseEffects(playlistCard);
 
-                        if (homeScene != null) {
-                            homeScene.loadPlaylistScene("/FXMLs/playlistcontentsScene.fxml", playlistID);
-                        } else {
-                            System.out.println("HomeScene is null!");
-                        }
-                    });
+                playlistCard.setOnMouseClicked(event -> {
+                    System.out.println("Redirecting to song...");
 
-                    playlistsFlowPane.getChildren().add(playlistCard);
-                }
-            }
+                    if (homeScene != null) {
+                        homeScene.loadPlaylistScene("/FXMLs/playlistcontentsScene.fxml", playlistID);
+                    } else {
+                        System.out.println("HomeScene is null!");
+                    }
+                });
 
-        } catch (SQLException | IOException e) {
+                playlistsFlowPane.getChildren().add(playlistCard);
+            }
+        } catch (UncheckedIOException e) {
             e.printStackTrace();
         }
     }
 
     /**
      * Handles the click event to create a new playlist.
-     * Adds the new playlist to the database and loads the playlist contents scene.
+     * Adds the new playlist to the database on the {@link IOExecutor} and then loads the playlist
+     * contents scene.
      *
      * @param event The MouseEvent triggered by clicking the button.
      */
@@ -98,6 +111,20 @@ public class PlaylistScene implements SceneWithHomeContext {
         int userID = UserSession.getInstance().getUserID();
         System.out.println("Current User ID: " + userID);
 
+        IOExecutor.commit(() -> createPlaylist(userID), playlistID -> {
+            // Step 5: Load the new scene
+            if (playlistID != -1 && homeScene != null) {
+                homeScene.loadPlaylistScene("/FXMLs/playlistcontentsScene.fxml", playlistID);
+            }
+        });
+    }
+
+    /**
+     * Inserts a new playlist for a user. Runs on the {@link IOExecutor}.
+     *
+     * @return the ID of the new playlist, or -1 if it was not created.
+     */
+    private static int createPlaylist(int userID) {
         // Step 2: Define database query
         String createPlaylistQuery = "INSERT INTO Playlists (playlistName, playlistImageFile, userID) VALUES (?, ?, ?)";
 
@@ -123,11 +150,7 @@ public class PlaylistScene implements SceneWithHomeContext {
                     if (generatedKeys.next()) {
                         int playlistID = generatedKeys.getInt(1);
                         System.out.println("New playlist ID: " + playlistID);
-
-                        // Step 5: Load the new scene
-                        if (homeScene != null) {
-                            homeScene.loadPlaylistScene("/FXMLs/playlistcontentsScene.fxml", playlistID);
-                        }
+                        return playlistID;
                     } else {
                         System.out.println("No playlist ID obtained.");
                     }
@@ -140,6 +163,7 @@ public class PlaylistScene implements SceneWithHomeContext {
             System.err.println("Error while creating playlist: " + e.getMessage());
             e.printStackTrace();
         }
+        return -1;
     }
 
     // Playlist Card Pane UX
@@ -1,16 +1,21 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.AudioPlayer;
 import AudioController.DatabaseConnection;
 import AudioController.DownloadManager;
+import AudioController.IOExecutor;
+import AudioController.IconRegistry;
+import AudioController.IconRegistry.Icon;
+import AudioController.IntList;
 import AudioController.MouseEffects;
 import AudioController.ResourceLoader;
+import AudioController.TrackInfo;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.FileChooser;
@@ -20,8 +25,6 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -35,31 +38,48 @@ public class PlaylistTemplateScene {
     private ImageView songCoverImage, removeImage, playImage, downloadImage;
 
     private int audioID, playlistID;
+    private TrackInfo track;
 
-    private List<Integer> audioQueue = new ArrayList<>();
+    private IntList audioQueue = new IntList();
 
     private PlaylistContentsScene playlistContentsScene;
 
     /**
-     * Sets the audio ID for the current scene and loads the song details.
+     * Sets the audio ID for the current scene and loads the song details on the {@link IOExecutor}.
      *
      * @param audioID the ID of the audio to be displayed
      */
     public void setAudioID(int audioID) {
-        this.audioID = audioID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), this::setTrack);
+    }
+
+    /**
+     * Sets the track for the current scene and displays its details. Callers rendering many rows
+     * should fetch all tracks with {@link ResourceLoader#loadTracks(java.util.Collection)} and pass
+     * each one here, so the whole list costs a single query.
+     *
+     * @param track the track to be displayed
+     */
+    public void setTrack(TrackInfo track) {
+        if (track == null) {
+            System.out.println("Cannot initialize playlist row without a track");
+            return;
+        }
+        this.track = track;
+        this.audioID = track.audioID();
         System.out.println("Initializing with audio ID: " + audioID);
         loadAudioDetails();
     }
 
     /**
-     * Sets the playlist ID for the current scene and loads the song details.
+     * Sets the ID of the playlist the song is removed from.
      *
-     * @param playlistID the ID of the audio to be displayed
+     * @param playlistID the ID of the playlist
      */
     public void setPlaylistID(int playlistID) {
         this.playlistID = playlistID;
-        System.out.println("Initializing with playlistID: " + playlistID);
-        loadAudioDetails();
     }
 
     /**
@@ -67,7 +87,7 @@ public class PlaylistTemplateScene {
      *
      * @param audioQueue the list of audio IDs to be set as the audio queue
      */
-    public void setQueue(List audioQueue) {
+    public void setQueue(IntList audioQueue) {
         this.audioQueue = audioQueue;
     }
 
@@ -99,28 +119,33 @@ public class PlaylistTemplateScene {
 
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 System.out.println("Removing audio with ID: " + audioID);
-
-                try (Connection connection = new DatabaseConnection().getConnection();
-                     PreparedStatement stmt = connection.prepareStatement(
-                             "DELETE FROM PlaylistAudio WHERE playlistID = ? AND audioID = ?")) {
-                    stmt.setInt(1, playlistID);
-                    stmt.setInt(2, audioID);
-
-                    int rowsAffected = stmt.executeUpdate();
-                    if (rowsAffected > 0) {
-                        System.out.println("Audio successfully removed from playlist.");
-                    } else {
-                        System.out.println("Audio not found in playlist or already removed.");
+                int playlistID = this.playlistID;
+                int audioID = this.audioID;
+
+                IOExecutor.commit(() -> {
+                    try (Connection connection = new DatabaseConnection().getConnection();
+                         PreparedStatement stmt = connection.prepareStatement(
+                                 "DELETE FROM PlaylistAudio WHERE playlistID = ? AND audioID = ?")) {
+                        stmt.setInt(1, playlistID);
+                        stmt.setInt(2, audioID);
+
+                        int rowsAffected = stmt.executeUpdate();
+                        if (rowsAffected > 0) {
+                            System.out.println("Audio successfully removed from playlist.");
+                        } else {
+                            System.out.println("Audio not found in playlist or already removed.");
+                        }
+                    } catch (SQLException e) {
+                        System.err.println("Error while removing audio: " + e.getMessage());
+                        e.printStackTrace();
                     }
-                } catch (SQLException e) {
-                    System.err.println("Error while removing audio: " + e.getMessage());
-                    e.printStackTrace();
-                }
-
-                // Clear and reset the queue, and reload the playlist UI
-                AudioPlayer.getInstance().clearQueue();
-                AudioPlayer.getInstance().setQueue(audioQueue);
-                playlistContentsScene.reloadSongList();
+                    return null;
+                }, done -> {
+                    // Clear and reset the queue, and reload the playlist UI
+                    AudioPlayer.getInstance().clearQueue();
+                    AudioPlayer.getInstance().setQueue(audioQueue);
+                    playlistContentsScene.reloadSongList();
+                });
             } else {
                 System.out.println("Audio removal canceled by user.");
             }
@@ -138,7 +163,7 @@ public class PlaylistTemplateScene {
         downloadImage.setOnMouseClicked(event -> {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Save Audio File");
-            fileChooser.setInitialFileName(ResourceLoader.getAudioName(audioID) + ".mp3");
+            fileChooser.setInitialFileName(track.audioName() + ".mp3");
             Path destination = fileChooser.showSaveDialog(songCoverImage.getScene().getWindow()).toPath();
 
             if (destination != null) {
@@ -149,28 +174,16 @@ public class PlaylistTemplateScene {
 
     /**
      * Loads the details of the audio, such as the song name and cover image.
-     * The song name is fetched using the `ResourceLoader`, and the cover image is set if available.
+     * The details come from the track, and the cover image is decoded in the background if available.
      */
     private void loadAudioDetails() {
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
-
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
-        } else {
+        songNameLabel.setText(track.audioName());
+
+        String artistImagePath = track.imagePath();
+        if (artistImagePath == null) {
             System.out.println("Artist image path is null for artistID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, artistImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 
     @FXML
@@ -180,8 +193,7 @@ public class PlaylistTemplateScene {
         scaleTransition.setToY(1.05);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binred.png"));
-        removeImage.setImage(hoverImage);
+        removeImage.setImage(IconRegistry.get(Icon.BIN_RED));
     }
 
     @FXML
@@ -191,8 +203,7 @@ public class PlaylistTemplateScene {
         scaleTransition.setToY(1.0);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binwhite.png"));
-        removeImage.setImage(hoverImage);
+        removeImage.setImage(IconRegistry.get(Icon.BIN_WHITE));
     }
 
     @FXML
@@ -202,8 +213,7 @@ public class PlaylistTemplateScene {
         scaleTransition.setToY(1.02);
         scaleTransition.play();
 
-        Image hoverImage = new Image(getClass().getResourceAsStream("/ProjectImages/binred.png"));
-        removeImage.setImage(hoverImage);
+        removeImage.setImage(IconRegistry.get(Icon.BIN_RED));
     }
 
     @FXML
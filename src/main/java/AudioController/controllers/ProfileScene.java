@@ -70,29 +70,14 @@ public class    ProfileScene implements SceneWithHomeContext {
 
     /**
      * Displays the profile information of the current user.
-     * Retrieves user details from the database and populates the labels.
+     * Retrieves user details from the database on the {@link IOExecutor} and populates the labels.
      */
     private void displayUserProfile() {
         int userID = UserSession.getInstance().getUserID();
         if (userID != 0) {
-            User user = resourceLoader.getProfile(userID);
-            if (user != null) {
-                // Set user information in the labels
-                usernameLabel.setText(user.getUserName());
-                firstnameLabel.setText(user.getFirstName());
-                lastnameLabel.setText(user.getLastName());
-                emailLabel.setText(user.getEmail());
-
-                // Update balance label
-                balanceLabel.setText("Balance: " + user.getBalance());
-            } else {
-                // If user not found in DB
-                usernameLabel.setText("User not found.");
-                firstnameLabel.setText("-");
-                lastnameLabel.setText("-");
-                emailLabel.setText("-");
-                balanceLabel.setText("Balance: -");
-            }
+            IOExecutor.Scope scope = IOExecutor.scopeOf(usernameLabel);
+            scope.cancel(); // A reload after a top-up replaces a load still in flight
+            scope.load(() -> resourceLoader.getProfile(userID), this::showUserProfile);
         } else {
             // No valid userID in the session
             usernameLabel.setText("No user logged in.");
@@ -103,6 +88,26 @@ public class    ProfileScene implements SceneWithHomeContext {
         }
     }
 
+    private void showUserProfile(User user) {
+        if (user != null) {
+            // Set user information in the labels
+            usernameLabel.setText(user.getUserName());
+            firstnameLabel.setText(user.getFirstName());
+            lastnameLabel.setText(user.getLastName());
+            emailLabel.setText(user.getEmail());
+
+            // Update balance label
+            balanceLabel.setText("Balance: " + user.getBalance());
+        } else {
+            // If user not found in DB
+            usernameLabel.setText("User not found.");
+            firstnameLabel.setText("-");
+            lastnameLabel.setText("-");
+            emailLabel.setText("-");
+            balanceLabel.setText("Balance: -");
+        }
+    }
+
     /**
      * Logs the user out by clearing the session and loading the login scene.
      * @param event The mouse event triggered by the logout action.
@@ -201,28 +206,16 @@ public class    ProfileScene implements SceneWithHomeContext {
                 // Get the user ID
                 int userID = UserSession.getInstance().getUserID();
 
-                // Update the balance in the database
-                String updateQuery = "UPDATE User SET balance = balance + ? WHERE userID = ?";
-                try (Connection connection = new DatabaseConnection().getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-
-                    preparedStatement.setDouble(1, topUpAmount);
-                    preparedStatement.setInt(2, userID);
-
-                    int rowsAffected = preparedStatement.executeUpdate();
-                    if (rowsAffected > 0) {
+                // Update the balance in the database on the IOExecutor
+                IOExecutor.commit(() -> topUp(userID, topUpAmount), toppedUp -> {
+                    if (toppedUp) {
                         System.out.println("Top-up successful. Amount added: " + topUpAmount);
                         displayThankYouMessage("Balance updated successfully!");
 
                         // Update the UI with the new balance
                         displayUserProfile();
-                    } else {
-                        System.out.println("Failed to update balance. User ID not found.");
                     }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    System.out.println("Error updating the balance.");
-                }
+                });
             } catch (NumberFormatException e) {
                 System.out.println("Invalid input: " + input);
                 displayThankYouMessage("Invalid amount entered. Please try again.");
@@ -230,4 +223,29 @@ public class    ProfileScene implements SceneWithHomeContext {
         });
     }
 
+    /**
+     * Adds an amount to a user's balance. Runs on the {@link IOExecutor}.
+     *
+     * @return whether the balance was updated.
+     */
+    private static boolean topUp(int userID, double topUpAmount) {
+        String updateQuery = "UPDATE User SET balance = balance + ? WHERE userID = ?";
+        try (Connection connection = new DatabaseConnection().getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+
+            preparedStatement.setDouble(1, topUpAmount);
+            preparedStatement.setInt(2, userID);
+
+            int rowsAffected = preparedStatement.executeUpdate();
+            if (rowsAffected == 0) {
+                System.out.println("Failed to update balance. User ID not found.");
+            }
+            return rowsAffected > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.out.println("Error updating the balance.");
+            return false;
+        }
+    }
+
 }
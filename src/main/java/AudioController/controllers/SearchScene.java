@@ -1,28 +1,39 @@
 package AudioController.controllers;
 
-import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.MouseEffects;
 import AudioController.SceneWithHomeContext;
+import AudioController.SearchResults;
+import AudioController.TrackInfo;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Label;
-import javafx.scene.layout.FlowPane;
-import javafx.scene.layout.AnchorPane;
+import javafx.scene.control.ListView;
 
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Controller class for the SearchScene, responsible for handling the search functionality
- * within the application. It populates the search results based on a query and displays
- * the results dynamically in a FlowPane.
+ * within the application. It displays the results of a search, fetched by {@link HomeScene},
+ * dynamically in a ListView.
+ * <p>
+ * Results are shown a page at a time: the first page is displayed as soon as it is fetched, and
+ * further pages are fetched in the background and appended as the user scrolls towards the last
+ * loaded row. Only the visible rows are created, and they are reused as the list is scrolled.
+ * </p>
  */
 public class SearchScene implements SceneWithHomeContext {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    // Fetch the next page once a row this close to the last loaded row is shown
+    private static final int LOAD_MORE_MARGIN = 10;
+
+    private static int pageSize = DEFAULT_PAGE_SIZE;
+
     private HomeScene homeScene;
+    private SearchResults results;
+    private boolean loadingPage;
 
     @Override
     public void setHomeScene(HomeScene homeScene) {
@@ -30,104 +41,115 @@ public class SearchScene implements SceneWithHomeContext {
     }
 
     @FXML
-    private FlowPane searchFlowPane;
+    private ListView<TrackInfo> searchListView;
     @FXML
     private Label resultsLabel;
 
-    /**
-     * Populates the search results dynamically based on the query string and mode.
-     * Fetches matching songs from the database and displays them in the FlowPane.
-     *
-     * @param query The search query string.
-     * @param mode  The search mode (TITLE, GENRE, ARTIST, ALBUM).
-     */
-    public void populateSearchResults(String query, String mode) {
-        searchFlowPane.getChildren().clear();
-
-        String sql = getSQLForMode(mode);
-        if (sql == null) {
-            resultsLabel.setText("Invalid search mode.");
-            return;
-        }
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-
-            int resultCount = 0;
-            preparedStatement.setString(1, "%" + query + "%");
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-
-                while (rs.next()) {
-                    resultCount++;
-
-                    int audioID = rs.getInt("audioID");
-
-                    FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/FXMLs/songlisttemplateScene.fxml"));
-                    AnchorPane songList = fxmlLoader.load();
-
-                    SongListTemplateScene controller = fxmlLoader.getController();
-                    controller.setAudioID(audioID);
+    @FXML
+    private void initialize() {
+        TemplateListCell.<TrackInfo, SongListTemplateScene>install(searchListView, "/FXMLs/songlisttemplateScene.fxml", 105,
+                (controller, track) -> {
+                    controller.setTrack(track);
                     controller.setHomeScene(this.homeScene);
                     controller.setSearchScene(this);
+                },
+                cell -> {
+                    MouseEffects.addMouseEffects(cell.getRow());
 
-                    MouseEffects.addMouseEffects(songList);
-
-                    songList.setOnMouseClicked(event -> {
+                    cell.getRow().setOnMouseClicked(event -> {
                         System.out.println("Redirecting to song...");
 
                         if (homeScene != null) {
-                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", audioID);
+                            homeScene.loadSongScene("/FXMLs/songpageScene.fxml", cell.getItem().audioID());
                         } else {
                             System.out.println("HomeScene is null!");
                         }
                     });
-                    searchFlowPane.getChildren().add(songList);
-                }
-            }
 
-            if (resultCount == 0) {
-                resultsLabel.setText("Found 0 results for query: \"" + query + "\"");
-            } else {
-                resultsLabel.setText("Found " + resultCount + " result" + (resultCount > 1 ? "s" : "") + " for query: \"" + query + "\"");
-            }
+                    // Cells are only laid out for visible rows, so a cell near the end means the user got there
+                    cell.indexProperty().addListener((observable, oldValue, newValue) -> {
+                        if (newValue.intValue() >= searchListView.getItems().size() - LOAD_MORE_MARGIN) {
+                            loadMoreIfNeeded();
+                        }
+                    });
+                });
+    }
 
-        } catch (SQLException | IOException e) {
-            e.printStackTrace();
+    /**
+     * Returns the number of songs fetched and displayed per page.
+     *
+     * @return the page size.
+     */
+    public static int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of songs fetched and displayed per page. Applies to searches started afterwards.
+     *
+     * @param size the page size; must be positive.
+     */
+    public static void setPageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
         }
+        pageSize = size;
     }
 
     /**
-     * Returns the appropriate SQL query based on the search mode.
+     * Replaces the displayed results with the first page of a new search. Must run on the FX thread.
+     * Later pages are fetched as the user scrolls.
      *
-     * @param mode The search mode.
-     * @return SQL query string.
+     * @param searchResults The results of the search, or null if the search mode was invalid.
+     * @param firstPage     The tracks of the first page, already fetched from the results.
+     */
+    public void showResults(SearchResults searchResults, List<TrackInfo> firstPage) {
+        searchListView.getItems().clear();
+        this.results = searchResults;
+        this.loadingPage = false;
+
+        if (searchResults == null) {
+            resultsLabel.setText("Invalid search mode.");
+            return;
+        }
+
+        String query = searchResults.getQuery();
+        int resultCount = searchResults.getCount();
+        if (resultCount == 0) {
+            resultsLabel.setText("Found 0 results for query: \"" + query + "\"");
+        } else {
+            resultsLabel.setText("Found " + resultCount + " result" + (resultCount > 1 ? "s" : "") + " for query: \"" + query + "\"");
+        }
+
+        searchListView.scrollTo(0);
+        searchListView.getItems().addAll(firstPage);
+    }
+
+    /**
+     * Fetches and appends the next page on the {@link IOExecutor}, unless every page has been fetched
+     * or a page is already being fetched. Called when a row near the end of the loaded rows is shown.
+     * A page that fails to load is reported, and fetched again the next time a row near the end is
+     * shown.
      */
-    private String getSQLForMode(String mode) {
-        return switch (mode) {
-            case "Title" -> "SELECT audioID FROM Audio WHERE audioName LIKE ? ORDER BY audioID ASC";
-            case "Genre" -> """
-                SELECT a.audioID 
-                FROM Audio a 
-                JOIN Genre g ON a.genreID = g.genreID 
-                WHERE g.genreName LIKE ? 
-                ORDER BY a.audioID ASC
-                """;
-            case "Artist" -> """
-                SELECT a.audioID 
-                FROM Audio a 
-                JOIN Artists ar ON a.artistID = ar.artistID 
-                WHERE ar.artistName LIKE ? 
-                ORDER BY a.audioID ASC
-                """;
-            case "Album" -> """
-                SELECT a.audioID 
-                FROM Audio a 
-                JOIN Albums al ON a.albumID = al.albumID 
-                WHERE al.albumName LIKE ? 
-                ORDER BY a.audioID ASC
-                """;
-            default -> null;
-        };
+    private void loadMoreIfNeeded() {
+        if (results == null || loadingPage || !results.hasMore() || searchListView.getScene() == null) {
+            return;
+        }
+
+        loadingPage = true;
+        SearchResults pageOf = results;
+        IOExecutor.supply(pageOf::nextPage).whenComplete((page, e) -> Platform.runLater(() -> {
+            // Drop the page if a newer search replaced these results meanwhile
+            if (pageOf != results) {
+                return;
+            }
+            loadingPage = false;
+            if (e != null) {
+                e.printStackTrace();
+                System.out.println("Failed to load more search results: " + e.getMessage());
+                return;
+            }
+            searchListView.getItems().addAll(page);
+        }));
     }
 }
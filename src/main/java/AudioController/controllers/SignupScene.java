@@ -1,6 +1,7 @@
 package AudioController.controllers;
 
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import javafx.animation.Interpolator;
 import javafx.animation.ScaleTransition;
 import javafx.event.ActionEvent;
@@ -56,14 +57,13 @@ public class SignupScene {
 
     /**
      * Handles the registration process. It validates user input, inserts the user data into the database,
-     * and shows appropriate alerts based on the result.
+     * and shows appropriate alerts based on the result. The insert runs on the {@link IOExecutor}, and the
+     * create account button is disabled until it is done.
      *
      * @param event The action event triggered by clicking the create account button.
      */
     @FXML
     public void register(ActionEvent event) {
-        DatabaseConnection db = new DatabaseConnection();
-
         String firstname = signupFirstnameField.getText().trim();
         String lastname = signupLastnameField.getText().trim();
         String username = signupUsernameField.getText().trim();
@@ -76,6 +76,22 @@ public class SignupScene {
             return;
         }
 
+        createAccountButton.setDisable(true); // Until the insert is done, so the user is not registered twice
+        IOExecutor.commit(() -> insertUser(firstname, lastname, username, email, password), registered -> {
+            createAccountButton.setDisable(false);
+            if (registered) {
+                showAlert(Alert.AlertType.INFORMATION, "Registration Successful", "User registered successfully!");
+            }
+        });
+    }
+
+    /**
+     * Inserts a user with a balance of 0.00 in a transaction. Runs on the {@link IOExecutor}.
+     *
+     * @return whether the user was registered.
+     */
+    private static boolean insertUser(String firstname, String lastname, String username, String email, String password) {
+        DatabaseConnection db = new DatabaseConnection();
         Connection conn = null;
         PreparedStatement userStmt = null;
 
@@ -96,14 +112,15 @@ public class SignupScene {
 
             // Commit transaction
             conn.commit();
-            showAlert(Alert.AlertType.INFORMATION, "Registration Successful", "User registered successfully!");
+            return true;
         } catch (SQLException e) {
             try {
                 if (conn != null) conn.rollback();
             } catch (SQLException rollbackEx) {
                 rollbackEx.printStackTrace();
             }
-            throw new RuntimeException(e);
+            e.printStackTrace();
+            return false;
         } finally {
             try {
                 if (userStmt != null) userStmt.close();
@@ -1,9 +1,11 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
+import AudioController.TrackInfo;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -20,47 +22,50 @@ public class SongCardTemplateScene {
 
     /**
      * Sets the audio ID for the song card and loads the corresponding song details.
-     * This method is called to initialize the song card with specific details.
+     * The details are looked up on the {@link IOExecutor}; prefer {@link #setTrack(TrackInfo)}
+     * when they have already been loaded.
      *
      * @param audioID The ID of the audio to load details for.
      */
     public void setAudioID(int audioID) {
         this.audioID = audioID;
         System.out.println("Initializing with audio ID: " + audioID);
-        loadAudioDetails();
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> ResourceLoader.loadTrack(audioID), track -> {
+            if (track != null) {
+                setTrack(track);
+            }
+        });
+    }
+
+    /**
+     * Sets the track shown on the song card from details that have already been loaded.
+     *
+     * @param track The details of the track.
+     */
+    public void setTrack(TrackInfo track) {
+        this.audioID = track.audioID();
+        loadAudioDetails(track);
     }
 
     public void initialize() {}
 
     /**
-     * Loads the audio details including the song name and artist's cover image
-     * based on the audio ID.
-     * This method fetches the song name and image from the resource loader and
-     * updates the corresponding UI elements.
+     * Shows the song name, price and cover image of a track. The cover image is decoded in the
+     * background unless it is already cached.
      */
-    private void loadAudioDetails() {
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
+    private void loadAudioDetails(TrackInfo track) {
+        songNameLabel.setText(track.audioName());
 
-        Double price = ResourceLoader.getAudioPrice(audioID);
+        double price = track.price();
         String priceText = (price == 0.0) ? "FREE" : "₱ " + price;
         priceLabel.setText(priceText);
 
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
-        } else {
+        String artistImagePath = track.imagePath();
+        if (artistImagePath == null) {
             System.out.println("Artist image path is null for artistID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, artistImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
     }
 }
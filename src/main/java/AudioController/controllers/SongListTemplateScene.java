@@ -1,18 +1,19 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TrackInfo;
 import AudioController.UserSession;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -81,14 +82,37 @@ public class SongListTemplateScene implements SceneWithHomeContext {
     private Label songNameLabel;
 
     private int audioID;
+    private TrackInfo track;
 
     /**
-     * Sets the audio ID for the current song and loads its details.
+     * Sets the audio ID for the current song and loads its details on the {@link IOExecutor}.
      *
      * @param audioID The ID of the audio to load details for.
      */
     public void setAudioID(int audioID) {
-        this.audioID = audioID;
+        IOExecutor.Scope scope = IOExecutor.scopeOf(songNameLabel);
+        scope.cancel(); // A new track replaces one still loading
+        scope.load(() -> {
+            UserSession.getInstance().loadCollections();
+            return ResourceLoader.loadTrack(audioID);
+        }, this::setTrack);
+    }
+
+    /**
+     * Sets the track for the current song and displays its details. Callers rendering many rows
+     * should fetch all tracks with {@link ResourceLoader#loadTracks(java.util.Collection)} and pass
+     * each one here, so the whole list costs a single query. They should also have loaded the user's
+     * library and cart with {@link UserSession#loadCollections()}, which the button state comes from.
+     *
+     * @param track The track to display.
+     */
+    public void setTrack(TrackInfo track) {
+        if (track == null) {
+            System.out.println("Cannot initialize song list row without a track");
+            return;
+        }
+        this.track = track;
+        this.audioID = track.audioID();
         System.out.println("Initializing with audio ID: " + audioID);
         loadAudioDetails();
     }
@@ -100,40 +124,28 @@ public class SongListTemplateScene implements SceneWithHomeContext {
      * Also checks if the song is in the user's library or cart, and updates the button text accordingly.
      */
     private void loadAudioDetails() {
-        int userID = UserSession.getInstance().getUserID();
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
-
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
-        if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
-        } else {
+        songNameLabel.setText(track.audioName());
+
+        String artistImagePath = track.imagePath();
+        if (artistImagePath == null) {
             System.out.println("Artist image path is null for audioID: " + audioID);
         }
+        AsyncImageLoader.loadResource(songCoverImage, artistImagePath, songCoverImage.getFitWidth(), songCoverImage.getFitHeight());
 
-        if (isSongInLibrary(userID, audioID)) {
+        if (UserSession.getInstance().isInLibrary(audioID)) {
             addtocartButton.setText("Already Bought");
             addtocartButton.setDisable(true);
             return;
         }
 
-        if (isSongInCart(userID, audioID)) {
+        if (UserSession.getInstance().isInCart(audioID)) {
             addtocartButton.setText("In Cart");
             addtocartButton.setDisable(true);
             return;
         }
 
-        Double price = ResourceLoader.getAudioPrice(audioID);
+        addtocartButton.setDisable(false);
+        double price = track.price();
         if (price == 0) {
             addtocartButton.setText("Add to Cart (FREE)");
         } else if (price > 0) {
@@ -143,103 +155,55 @@ public class SongListTemplateScene implements SceneWithHomeContext {
         }
     }
 
-    /**
-     * Checks if the song is already in the user's library.
-     *
-     * @param userID The ID of the user.
-     * @param audioID The ID of the audio.
-     * @return {@code true} if the song is in the user's library, {@code false} otherwise.
-     */
-    private boolean isSongInLibrary(int userID, int audioID) {
-        String query = "SELECT COUNT(*) FROM LibraryAudio WHERE userID = ? AND audioID = ?";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error checking if song is in library: " + e.getMessage());
-        }
-        return false;
-    }
-
-    /**
-     * Checks if the song is already in the user's cart.
-     *
-     * @param userID The ID of the user.
-     * @param audioID The ID of the audio.
-     * @return {@code true} if the song is in the user's cart, {@code false} otherwise.
-     */
-    private boolean isSongInCart(int userID, int audioID) {
-        String query = "SELECT COUNT(*) FROM CartAudio WHERE userID = ? AND audioID = ?";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error checking if song is in cart: " + e.getMessage());
-        }
-        return false;
-    }
-
     /**
      * Adds the song to the user's cart.
-     * This method inserts a record into the CartAudio table and updates the UI accordingly.
+     * This method inserts a record into the CartAudio table on the {@link IOExecutor} and updates the
+     * UI once it is done.
      */
     @FXML
     private void addToCart() {
         int userID = UserSession.getInstance().getUserID();
-
-        String query = """
-            INSERT INTO CartAudio (userID, audioID)
-            VALUES (?, ?)
-            """;
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            // Set the userID and audioID in the prepared statement
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            // Execute the query to insert the audioID into the CartAudio table
-            int rowsAffected = preparedStatement.executeUpdate();
-
-            if (rowsAffected > 0) {
+        int audioID = this.audioID;
+        addtocartButton.setDisable(true); // Until the insert is done, so it is not sent twice
+
+        IOExecutor.commit(() -> {
+            String query = """
+                INSERT INTO CartAudio (userID, audioID)
+                VALUES (?, ?)
+                """;
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                // Set the userID and audioID in the prepared statement
+                preparedStatement.setInt(1, userID);
+                preparedStatement.setInt(2, audioID);
+
+                // Execute the query to insert the audioID into the CartAudio table
+                int rowsAffected = preparedStatement.executeUpdate();
+                if (rowsAffected > 0) {
+                    UserSession.getInstance().addToCart(audioID);
+                }
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.out.println("Error adding audio to cart: " + e.getMessage());
+                return false;
+            }
+        }, added -> {
+            if (added) {
                 System.out.println("Audio added to cart successfully!");
                 if (artistPageScene != null) {
                     artistPageScene.loadSongList();
                 }
-
-                if (searchScene != null) {
-                    searchScene.populateSearchResults(homeScene.getCurrentQuery(), homeScene.getCurrentMode());
-                }
-
             } else {
                 System.out.println("Failed to add audio to cart.");
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error adding audio to cart: " + e.getMessage());
-        }
+
+            // Refresh only this row so the search results keep their loaded pages and scroll position
+            if (track != null && track.audioID() == audioID) {
+                loadAudioDetails();
+            }
+        });
     }
 }
@@ -1,22 +1,23 @@
 package AudioController.controllers;
 
+import AudioController.AsyncImageLoader;
 import AudioController.DatabaseConnection;
+import AudioController.IOExecutor;
 import AudioController.ResourceLoader;
 import AudioController.SceneWithHomeContext;
+import AudioController.TrackInfo;
 import AudioController.UserSession;
 import javafx.animation.ScaleTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Duration;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -41,16 +42,21 @@ public class SongPageScene implements SceneWithHomeContext {
     private Button addtocartButton;
 
     private int audioID;
+    private TrackInfo track;
 
     /**
-     * Sets the audio ID for the current scene and loads the corresponding song details.
+     * Sets the audio ID for the current scene and loads the corresponding song details on the
+     * {@link IOExecutor}.
      *
      * @param audioID the ID of the audio to be displayed
      */
     public void setAudioID(int audioID) {
         this.audioID = audioID;
         System.out.println("Initializing with audio ID: " + audioID);
-        loadAudioDetails();
+        IOExecutor.scopeOf(songNameLabel).load(() -> {
+            UserSession.getInstance().loadCollections();
+            return ResourceLoader.loadTrack(audioID);
+        }, this::loadAudioDetails);
     }
 
     public void initialize() {}
@@ -58,48 +64,37 @@ public class SongPageScene implements SceneWithHomeContext {
     /**
      * Loads the details of the audio, such as the song name, artist name, album name, and cover image.
      * Also updates the button text based on the availability of the song in the user's library or cart.
+     *
+     * @param track the track, loaded together with the user's library and cart
      */
-    private void loadAudioDetails() {
-
-        int userID = UserSession.getInstance().getUserID();
-        Double price = ResourceLoader.getAudioPrice(audioID);
-
-        String songName = ResourceLoader.getAudioName(audioID);
-        songNameLabel.setText(songName);
-
-        String genre = ResourceLoader.getAudioGenre(audioID);
-        genreLabel.setText(genre);
-
-        String artistName = ResourceLoader.getArtistNamefromAudioID(audioID);
-        artistNameLabel.setText(artistName);
+    private void loadAudioDetails(TrackInfo track) {
+        this.track = track;
+        if (track == null) {
+            System.out.println("No track found for audioID: " + audioID);
+            return;
+        }
+        double price = track.price();
 
-        String albumName = (ResourceLoader.getAlbumName(audioID) == null) ? "Single" : ResourceLoader.getAlbumName(audioID);
-        albumNameLabel.setText(albumName);
+        songNameLabel.setText(track.audioName());
+        genreLabel.setText(track.genreName());
+        artistNameLabel.setText(track.artistName());
+        albumNameLabel.setText(track.albumNameOrSingle());
 
-        String artistImagePath = ResourceLoader.getAudioImagePath(audioID);
+        String artistImagePath = track.imagePath();
         if (artistImagePath != null) {
-            try {
-                Image image = new Image(getClass().getResourceAsStream(artistImagePath));
-                if (!image.isError()) {
-                    songCoverImage.setImage(image);
-                } else {
-                    System.out.println("Error loading image: " + artistImagePath);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.out.println("Exception loading image: " + artistImagePath);
-            }
+            // The song page shows the full-size art; lists and cards use thumbnails
+            AsyncImageLoader.loadResource(songCoverImage, artistImagePath, 0, 0);
         } else {
             System.out.println("Artist image path is null for artistID: " + audioID);
         }
 
-        if (isSongInLibrary(userID, audioID)) {
+        if (UserSession.getInstance().isInLibrary(audioID)) {
             addtocartButton.setText("Already Bought");
             addtocartButton.setDisable(true);
             return; // Exit after updating if the song is bought
         }
 
-        if (isSongInCart(userID, audioID)) {
+        if (UserSession.getInstance().isInCart(audioID)) {
             addtocartButton.setText("In Cart");
             addtocartButton.setDisable(true);
             return; // Exit if the song is in the cart
@@ -116,115 +111,66 @@ public class SongPageScene implements SceneWithHomeContext {
     }
 
     /**
-     * Checks if the song is already in the user's library.
-     *
-     * @param userID the ID of the user
-     * @param audioID the ID of the audio
-     * @return {@code true} if the song is in the user's library, false otherwise
-     */
-    private boolean isSongInLibrary(int userID, int audioID) {
-        String query = "SELECT COUNT(*) FROM LibraryAudio WHERE userID = ? AND audioID = ?";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error checking if song is in library: " + e.getMessage());
-        }
-        return false;
-    }
-
-    /**
-     * Checks if the song is already in the user's cart.
-     *
-     * @param userID the ID of the user
-     * @param audioID the ID of the audio
-     * @return {@code true} if the song is in the user's cart, false otherwise
-     */
-    private boolean isSongInCart(int userID, int audioID) {
-        String query = "SELECT COUNT(*) FROM CartAudio WHERE userID = ? AND audioID = ?";
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            try (ResultSet rs = preparedStatement.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error checking if song is in cart: " + e.getMessage());
-        }
-        return false;
-    }
-
-    /**
-     * Adds the selected song to the user's cart.
+     * Adds the selected song to the user's cart. The insert runs on the {@link IOExecutor}, and the
+     * button is disabled until it is done.
      */
     public void addToCart() {
         int userID = UserSession.getInstance().getUserID();
-
-        String query = """
-        INSERT INTO CartAudio (userID, audioID)
-        VALUES (?, ?)
-        """;
-
-        try (Connection connection = new DatabaseConnection().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            // Set the userID and audioID in the prepared statement
-            preparedStatement.setInt(1, userID);
-            preparedStatement.setInt(2, audioID);
-
-            // Execute the query to insert the audioID into the CartAudio table
-            int rowsAffected = preparedStatement.executeUpdate();
-
-            if (rowsAffected > 0) {
+        int audioID = this.audioID;
+        addtocartButton.setDisable(true); // Until the insert is done, so it is not sent twice
+
+        IOExecutor.commit(() -> {
+            String query = """
+            INSERT INTO CartAudio (userID, audioID)
+            VALUES (?, ?)
+            """;
+
+            try (Connection connection = new DatabaseConnection().getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                // Set the userID and audioID in the prepared statement
+                preparedStatement.setInt(1, userID);
+                preparedStatement.setInt(2, audioID);
+
+                // Execute the query to insert the audioID into the CartAudio table
+                int rowsAffected = preparedStatement.executeUpdate();
+                if (rowsAffected > 0) {
+                    UserSession.getInstance().addToCart(audioID);
+                }
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.out.println("Error adding audio to cart: " + e.getMessage());
+                return false;
+            }
+        }, added -> {
+            if (added) {
                 System.out.println("Audio added to cart successfully!");
-
-                // Refresh UI after adding the song to the cart
-                loadAudioDetails();
+                addtocartButton.setText("In Cart");
             } else {
                 System.out.println("Failed to add audio to cart.");
+                addtocartButton.setDisable(false);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error adding audio to cart: " + e.getMessage());
-        }
+        });
     }
 
     @FXML
     private void handleGenreClicked() {
-        if (homeScene != null) {
-            homeScene.loadGenreScene("/FXMLs/genrePageScene.fxml", ResourceLoader.getGenreID(audioID));
+        if (homeScene != null && track != null) {
+            homeScene.loadGenreScene("/FXMLs/genrePageScene.fxml", track.genreID());
         }
     }
 
     @FXML
     private void handleArtistClicked() {
-        if (homeScene != null) {
-            homeScene.loadScene("/FXMLs/artistpageScene.fxml", ResourceLoader.getArtistIDFromAudioID(audioID));
+        if (homeScene != null && track != null) {
+            homeScene.loadScene("/FXMLs/artistpageScene.fxml", track.artistID());
         }
     }
 
     @FXML
     private void handleAlbumClicked() {
-        int albumID = ResourceLoader.getAlbumID(audioID);
+        int albumID = track == null ? -1 : track.albumID();
         System.out.println("album id is " + albumID);
         if (homeScene != null && albumID >= 1) {
             homeScene.loadAlbumScene("/FXMLs/albumpageScene.fxml", albumID);
@@ -0,0 +1,97 @@
+package AudioController.controllers;
+
+import AudioController.TemplateFactory;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.Pane;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ListCell} that renders its item with one of the row templates loaded from FXML, such as
+ * {@code songlisttemplateScene.fxml}, using the template's controller to fill it in.
+ * <p>
+ * A {@link ListView} only creates cells for the rows that are visible and reuses them as the user
+ * scrolls, so each template is loaded once per visible row rather than once per item, and a list of
+ * thousands of songs costs about as much to show as a list of ten.
+ * </p>
+ *
+ * @param <T> the type of the list items, e.g. a track.
+ * @param <C> the type of the template's controller.
+ */
+public final class TemplateListCell<T, C> extends ListCell<T> {
+
+    private final Pane row;
+    private final C controller;
+    private final BiConsumer<C, T> binder;
+
+    /**
+     * Creates a cell and loads its row template.
+     *
+     * @param fxmlPath the resource path of the row template.
+     * @param binder   fills in the template's controller for an item; called every time the cell is
+     *                 given another item.
+     * @throws java.io.UncheckedIOException if the template cannot be loaded.
+     */
+    public TemplateListCell(String fxmlPath, BiConsumer<C, T> binder) {
+        TemplateFactory.Row<C> template = TemplateFactory.load(fxmlPath);
+        this.row = template.root();
+        this.controller = template.controller();
+        this.binder = binder;
+        setText(null);
+    }
+
+    /**
+     * Makes a list view render its items with a row template.
+     *
+     * @param listView  the list view to set up.
+     * @param fxmlPath  the resource path of the row template.
+     * @param rowHeight the height of one row including spacing. Rows get a fixed height so the list
+     *                  view does not have to lay out every row to measure it.
+     * @param binder    fills in the template's controller for an item.
+     * @param setup     called once for every new cell, e.g. to add mouse handlers to its row; may be null.
+     * @param <T>       the type of the list items.
+     * @param <C>       the type of the template's controller.
+     */
+    public static <T, C> void install(ListView<T> listView, String fxmlPath, double rowHeight,
+                                      BiConsumer<C, T> binder, Consumer<TemplateListCell<T, C>> setup) {
+        listView.setFixedCellSize(rowHeight);
+        listView.setCellFactory(view -> {
+            TemplateListCell<T, C> cell = new TemplateListCell<>(fxmlPath, binder);
+            if (setup != null) {
+                setup.accept(cell);
+            }
+            return cell;
+        });
+    }
+
+    /**
+     * Returns the root node of this cell's row template.
+     *
+     * @return the row.
+     */
+    public Pane getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the controller of this cell's row template.
+     *
+     * @return the controller.
+     */
+    public C getController() {
+        return controller;
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+        binder.accept(controller, item);
+        setGraphic(row);
+    }
+}
@@ -6,6 +6,7 @@ module com.example.audiolibrary {
     requires com.dlsc.formsfx;
     requires java.sql;
     requires java.desktop;
+    requires java.xml;
     requires mysql.connector.j;
 
     opens AudioController to javafx.fxml;
@@ -0,0 +1,93 @@
+package AudioController;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChecksumsTest {
+
+    private Path recordFile;
+
+    @BeforeEach
+    void useTemporaryFile(@TempDir Path directory) {
+        recordFile = directory.resolve("checksums.txt");
+        System.setProperty("checksumFile", recordFile.toString());
+        Checksums.reset();
+    }
+
+    @Test
+    void readsBackWhatWasRecorded() {
+        Checksums.record("/music/a song.mp3", 10, 100, "aa");
+        Checksums.record("/music/b.mp3", 20, 200, "bb");
+        Checksums.reset();
+
+        assertEquals("aa", Checksums.known("/music/a song.mp3", 10, 100));
+        assertEquals("bb", Checksums.known("/music/b.mp3", 20, 200));
+        assertNull(Checksums.known("/music/b.mp3", 20, 201));
+        assertNull(Checksums.known("/music/c.mp3", 20, 200));
+    }
+
+    @Test
+    void keepsOnlyTheLatestVersionOfALocation() {
+        Checksums.record("/music/a.mp3", 10, 100, "aa");
+        Checksums.record("/music/a.mp3", 11, 101, "ab");
+
+        assertNull(Checksums.known("/music/a.mp3", 10, 100));
+        assertEquals("ab", Checksums.known("/music/a.mp3", 11, 101));
+    }
+
+    @Test
+    void compactsOnceSupersededLinesPileUp() throws IOException {
+        for (int version = 0; version < 5000; version++) {
+            Checksums.record("/music/a.mp3", version, version, "a" + version);
+            Checksums.record("/music/b.mp3", 1, 1, "bb");
+        }
+
+        assertTrue(lineCount() <= 1024, "lines: " + lineCount());
+        Checksums.reset();
+        assertEquals("a4999", Checksums.known("/music/a.mp3", 4999, 4999));
+        assertEquals("bb", Checksums.known("/music/b.mp3", 1, 1));
+        assertNull(Checksums.known("/music/a.mp3", 4998, 4998));
+    }
+
+    @Test
+    void compactsALongFileWhenLoadingIt() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int version = 0; version < 2000; version++) {
+            lines.append("a").append(version).append(' ').append(version).append(" 0 /music/a.mp3\n");
+        }
+        lines.append("cut short 1"); // Left by a crash in the middle of a line
+        Files.writeString(recordFile, lines, StandardCharsets.UTF_8);
+
+        assertEquals("a1999", Checksums.known("/music/a.mp3", 1999, 0));
+        assertEquals(1, lineCount());
+    }
+
+    @Test
+    void appendsAfterCompaction() throws IOException {
+        Files.writeString(recordFile, "x 1 1 /music/old.mp3\n".repeat(2000), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE);
+        Checksums.record("/music/new.mp3", 2, 2, "yy");
+        Checksums.reset();
+
+        assertEquals("x", Checksums.known("/music/old.mp3", 1, 1));
+        assertEquals("yy", Checksums.known("/music/new.mp3", 2, 2));
+        assertEquals(2, lineCount());
+    }
+
+    private long lineCount() throws IOException {
+        try (var lines = Files.lines(recordFile, StandardCharsets.UTF_8)) {
+            return lines.count();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package AudioController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Measures the throughput of {@link FileTransfer#download} against the {@code Files.copy} of a
+ * resource stream that downloads used before, from plain files and from entries of a jar, as the
+ * application reads its audio when it runs from an exploded build or from a jar. A download forces its
+ * file to disk before moving it into place, so {@code Files.copy} is also measured followed by an
+ * fsync. Not a test; run its {@link #main} by hand, e.g. with {@code -Dfiles=8 -Dmegabytes=32}.
+ */
+public class FileTransferBenchmark {
+
+    private static final int PASSES = 3;
+
+    public static void main(String[] args) throws IOException {
+        int fileCount = Integer.getInteger("files", 8);
+        int fileMegabytes = Integer.getInteger("megabytes", 32);
+
+        Path directory = Files.createTempDirectory("transfer-benchmark");
+        System.setProperty("checksumFile", directory.resolve("checksums.txt").toString());
+        try {
+            URL[] files = new URL[fileCount];
+            URL[] jarEntries = new URL[fileCount];
+            Path jar = directory.resolve("audio.jar");
+            byte[] chunk = new byte[1024 * 1024];
+            Random random = new Random(42);
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                for (int i = 0; i < fileCount; i++) {
+                    Path source = directory.resolve("source-" + i + ".mp3");
+                    out.putNextEntry(new ZipEntry("audio/source-" + i + ".mp3"));
+                    try (OutputStream file = Files.newOutputStream(source)) {
+                        for (int mb = 0; mb < fileMegabytes; mb++) {
+                            random.nextBytes(chunk);
+                            file.write(chunk);
+                            out.write(chunk);
+                        }
+                    }
+                    out.closeEntry();
+                    files[i] = source.toUri().toURL();
+                    jarEntries[i] = URI.create("jar:" + jar.toUri() + "!/audio/source-" + i + ".mp3").toURL();
+                }
+            }
+
+            long bytes = (long) fileCount * fileMegabytes * 1024 * 1024;
+            System.out.printf("%d files of %d MiB, best of %d passes%n", fileCount, fileMegabytes, PASSES);
+            measure("file  Files.copy", directory, files, bytes, FileTransferBenchmark::copy);
+            measure("file  copy+fsync", directory, files, bytes, FileTransferBenchmark::copyAndForce);
+            measure("file  download()", directory, files, bytes, FileTransferBenchmark::download);
+            measure("jar   Files.copy", directory, jarEntries, bytes, FileTransferBenchmark::copy);
+            measure("jar   copy+fsync", directory, jarEntries, bytes, FileTransferBenchmark::copyAndForce);
+            measure("jar   download()", directory, jarEntries, bytes, FileTransferBenchmark::download);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static void measure(String label, Path directory, URL[] sources, long bytes, Copier copier) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < PASSES; pass++) {
+            // Every pass writes new files, as a download does
+            Path[] targets = new Path[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                targets[i] = directory.resolve("target-" + i + ".mp3");
+                Files.deleteIfExists(targets[i]);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < sources.length; i++) {
+                copier.copy(sources[i], targets[i]);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-18s %8.0f MiB/s%n", label, bytes * 1e9 / best / (1024 * 1024));
+    }
+
+    private static void copy(URL source, Path target) throws IOException {
+        try (InputStream in = source.openStream()) {
+            Files.copy(in, target);
+        }
+    }
+
+    private static void copyAndForce(URL source, Path target) throws IOException {
+        copy(source, target);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void download(URL source, Path target) throws IOException {
+        FileTransfer.download(source, target, count -> {}, () -> false);
+    }
+
+    private interface Copier {
+        void copy(URL source, Path target) throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+package AudioController;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntMapTest {
+
+    @Test
+    void zeroKeyIsStoredLikeAnyOther() {
+        IntMap<String> map = new IntMap<>();
+        assertNull(map.put(0, "zero"));
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removalKeepsLaterEntriesOfAProbeRunReachable() {
+        // Keys that are multiples of the capacity share a home slot, so they form one probe run
+        IntMap<Integer> map = new IntMap<>(4);
+        int[] keys = {16, 32, 48, 64, 80};
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        map.remove(32);
+        for (int key : keys) {
+            if (key != 32) {
+                assertEquals(key, map.get(key), "key " + key);
+            }
+        }
+        assertNull(map.get(32));
+    }
+
+    @Test
+    void randomOperationsMatchHashMap() {
+        Random random = new Random(1);
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> model = new HashMap<>();
+
+        for (int step = 0; step < 200_000; step++) {
+            // A small key range, including 0 and negative keys, keeps probe runs long and removals frequent
+            int key = random.nextInt(512) - 64;
+            switch (random.nextInt(10)) {
+                case 0, 1, 2, 3 -> assertEquals(model.put(key, step), map.put(key, step));
+                case 4, 5, 6 -> assertEquals(model.remove(key), map.remove(key));
+                case 7, 8 -> {
+                    assertEquals(model.get(key), map.get(key));
+                    assertEquals(model.containsKey(key), map.containsKey(key));
+                }
+                default -> {
+                    if (random.nextInt(200) == 0) {
+                        int modulus = 2 + random.nextInt(5);
+                        int removed = map.removeIf(value -> value % modulus == 0);
+                        int expected = model.size();
+                        model.values().removeIf(value -> value % modulus == 0);
+                        assertEquals(expected - model.size(), removed);
+                    }
+                }
+            }
+            assertEquals(model.size(), map.size());
+        }
+        assertSameEntries(model, map);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        IntMap<Integer> map = new IntMap<>(2);
+        Map<Integer, Integer> model = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i * 7919, i);
+            model.put(i * 7919, i);
+        }
+        assertSameEntries(model, map);
+    }
+
+    private static void assertSameEntries(Map<Integer, Integer> model, IntMap<Integer> map) {
+        assertEquals(model.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        IntList keys = map.keys();
+        assertEquals(model.size(), keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(model.containsKey(keys.get(i)));
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value), "visited twice: " + key));
+        assertEquals(model, visited);
+    }
+}
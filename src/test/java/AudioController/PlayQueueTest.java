@@ -0,0 +1,175 @@
+package AudioController;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayQueueTest {
+
+    /**
+     * A queue entry of the model. Entries are compared by identity, so the model can tell which of
+     * several entries of the same track is current.
+     */
+    private record Entry(int audioID) {
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    @Test
+    void currentEntryFollowsMovesAndRemovals() {
+        PlayQueue queue = new PlayQueue();
+        queue.setAll(IntList.of(List.of(10, 20, 30, 20)));
+        queue.setCurrentIndex(3);
+        assertEquals(20, queue.getCurrentAudioID());
+        assertEquals(1, queue.indexOf(20));
+
+        queue.removeAt(0);
+        assertEquals(2, queue.getCurrentIndex());
+        queue.move(2, 0);
+        assertEquals(0, queue.getCurrentIndex());
+        assertEquals(IntList.of(List.of(20, 20, 30)), queue.toIntList());
+
+        // Removing the current entry makes the one that takes its place current
+        queue.removeAt(0);
+        assertEquals(0, queue.getCurrentIndex());
+        queue.removeAt(1);
+        queue.removeAt(0);
+        assertEquals(-1, queue.getCurrentIndex());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(20));
+    }
+
+    @Test
+    void rejectsPositionsOutsideTheQueue() {
+        PlayQueue queue = new PlayQueue();
+        queue.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.insert(2, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.move(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.removeAt(-1));
+    }
+
+    @Test
+    void randomOperationsMatchArrayList() {
+        for (long seed = 0; seed < 20; seed++) {
+            runModel(seed);
+        }
+    }
+
+    private static void runModel(long seed) {
+        Random random = new Random(seed);
+        PlayQueue queue = new PlayQueue();
+        List<Entry> model = new ArrayList<>();
+        Entry current = null;
+
+        for (int step = 0; step < 5000; step++) {
+            String context = "seed " + seed + ", step " + step;
+            // Few distinct tracks, so most tracks appear several times
+            int audioID = random.nextInt(16);
+            switch (random.nextInt(12)) {
+                case 0, 1, 2 -> {
+                    int index = random.nextInt(model.size() + 1);
+                    queue.insert(index, audioID);
+                    model.add(index, new Entry(audioID));
+                }
+                case 3 -> {
+                    queue.add(audioID);
+                    model.add(new Entry(audioID));
+                }
+                case 4, 5 -> {
+                    if (model.isEmpty()) {
+                        continue;
+                    }
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.get(index).audioID(), queue.removeAt(index), context);
+                    Entry removed = model.remove(index);
+                    if (removed == current) {
+                        current = model.isEmpty() ? null : model.get(Math.min(index, model.size() - 1));
+                    }
+                }
+                case 6 -> {
+                    int index = indexOf(model, audioID);
+                    assertEquals(index, queue.removeValue(audioID), context);
+                    if (index != -1) {
+                        Entry removed = model.remove(index);
+                        if (removed == current) {
+                            current = model.isEmpty() ? null : model.get(Math.min(index, model.size() - 1));
+                        }
+                    }
+                }
+                case 7, 8 -> {
+                    if (model.isEmpty()) {
+                        continue;
+                    }
+                    int from = random.nextInt(model.size());
+                    int to = random.nextInt(model.size());
+                    queue.move(from, to);
+                    model.add(to, model.remove(from));
+                }
+                case 9 -> {
+                    if (model.isEmpty()) {
+                        continue;
+                    }
+                    int index = random.nextInt(model.size());
+                    queue.setCurrentIndex(index);
+                    current = model.get(index);
+                }
+                case 10 -> {
+                    assertEquals(indexOf(model, audioID), queue.indexOf(audioID), context);
+                    assertEquals(indexOf(model, audioID) != -1, queue.contains(audioID), context);
+                }
+                default -> {
+                    if (random.nextInt(50) == 0) {
+                        List<Integer> audioIDs = new ArrayList<>();
+                        for (int i = random.nextInt(20); i > 0; i--) {
+                            audioIDs.add(random.nextInt(16));
+                        }
+                        queue.setAll(IntList.of(audioIDs));
+                        model.clear();
+                        audioIDs.forEach(id -> model.add(new Entry(id)));
+                        current = model.isEmpty() ? null : model.get(0);
+                    }
+                }
+            }
+
+            assertEquals(model.size(), queue.size(), context);
+            assertEquals(current == null ? -1 : model.indexOf(current), queue.getCurrentIndex(), context);
+            assertEquals(current == null ? -1 : current.audioID(), queue.getCurrentAudioID(), context);
+            if (step % 50 == 0) {
+                assertEquals(audioIDsOf(model), queue.toIntList(), context);
+                for (int i = 0; i < model.size(); i++) {
+                    assertEquals(model.get(i).audioID(), queue.get(i), context);
+                }
+            }
+        }
+    }
+
+    private static int indexOf(List<Entry> model, int audioID) {
+        for (int i = 0; i < model.size(); i++) {
+            if (model.get(i).audioID() == audioID) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static IntList audioIDsOf(List<Entry> model) {
+        IntList audioIDs = new IntList(model.size());
+        model.forEach(entry -> audioIDs.add(entry.audioID()));
+        return audioIDs;
+    }
+}
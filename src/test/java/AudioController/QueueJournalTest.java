@@ -0,0 +1,149 @@
+package AudioController;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueueJournalTest {
+
+    private static final int USER_ID = 7;
+
+    private Path journalFile;
+
+    @BeforeEach
+    void useTemporaryDirectory(@TempDir Path directory) {
+        System.setProperty("queueJournalDir", directory.toString());
+        journalFile = directory.resolve("queue-" + USER_ID + ".journal");
+    }
+
+    @Test
+    void replaysNothingWithoutAJournal() {
+        assertNull(QueueJournal.forUser(USER_ID).replay(new PlayQueue()));
+    }
+
+    @Test
+    void replaysASnapshotAndTheRecordsAfterIt() {
+        QueueJournal journal = QueueJournal.forUser(USER_ID);
+        journal.snapshot(IntList.of(List.of(5, 6, 7)), 1, true, false, 1500);
+        journal.insert(0, 4);
+        journal.remove(3);
+        journal.move(0, 2);
+        journal.current(1);
+        journal.looped(true);
+        journal.position(2500);
+        journal.close();
+
+        PlayQueue queue = new PlayQueue();
+        QueueJournal.State state = QueueJournal.forUser(USER_ID).replay(queue);
+        assertEquals(IntList.of(List.of(5, 6, 4)), queue.toIntList());
+        assertEquals(1, queue.getCurrentIndex());
+        assertEquals(new QueueJournal.State(true, true, 2500), state);
+    }
+
+    @Test
+    void stopsAtTheLastCompleteRecord() throws IOException {
+        QueueJournal journal = QueueJournal.forUser(USER_ID);
+        journal.snapshot(IntList.of(List.of(1, 2)), 0, false, false, 0);
+        journal.insert(2, 3);
+        journal.close();
+        long complete = Files.size(journalFile);
+
+        QueueJournal appended = QueueJournal.forUser(USER_ID);
+        appended.insert(0, 9);
+        appended.close();
+
+        // Cut the last record off at every byte, in a copy kept as another user's journal
+        Path copy = journalFile.resolveSibling("queue-" + (USER_ID + 1) + ".journal");
+        for (long length = complete; length < Files.size(journalFile); length++) {
+            Files.copy(journalFile, copy, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.WRITE)) {
+                channel.truncate(length);
+            }
+
+            PlayQueue queue = new PlayQueue();
+            assertEquals(new QueueJournal.State(false, false, 0), QueueJournal.forUser(USER_ID + 1).replay(queue));
+            assertEquals(IntList.of(List.of(1, 2, 3)), queue.toIntList(), "length " + length);
+        }
+    }
+
+    @Test
+    void randomChangesSurviveCompactionAndReplay() {
+        Random random = new Random(3);
+        PlayQueue expected = new PlayQueue();
+        boolean shuffled = false;
+        boolean looped = false;
+        long position = 0;
+        int snapshots = 0;
+
+        QueueJournal journal = QueueJournal.forUser(USER_ID);
+        journal.snapshot(new IntList(), -1, false, false, 0);
+        for (int step = 0; step < 5000; step++) {
+            int size = expected.size();
+            switch (random.nextInt(7)) {
+                case 0, 1 -> {
+                    int index = random.nextInt(size + 1);
+                    int audioID = random.nextInt(100);
+                    expected.insert(index, audioID);
+                    journal.insert(index, audioID);
+                }
+                case 2 -> {
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        expected.removeAt(index);
+                        journal.remove(index);
+                    }
+                }
+                case 3 -> {
+                    if (size > 0) {
+                        int from = random.nextInt(size);
+                        int to = random.nextInt(size);
+                        expected.move(from, to);
+                        journal.move(from, to);
+                    }
+                }
+                case 4 -> {
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        expected.setCurrentIndex(index);
+                        journal.current(index);
+                    }
+                }
+                case 5 -> {
+                    shuffled = random.nextBoolean();
+                    looped = random.nextBoolean();
+                    journal.shuffled(shuffled);
+                    journal.looped(looped);
+                }
+                default -> {
+                    position = random.nextInt(600_000);
+                    journal.position(position);
+                }
+            }
+            if (journal.needsCompaction(expected.size())) {
+                journal.snapshot(expected.toIntList(), expected.getCurrentIndex(), shuffled, looped, position);
+                snapshots++;
+            }
+        }
+        journal.close();
+        assertTrue(snapshots > 0);
+
+        PlayQueue queue = new PlayQueue();
+        QueueJournal.State state = QueueJournal.forUser(USER_ID).replay(queue);
+        assertEquals(expected.toIntList(), queue.toIntList());
+        assertEquals(expected.getCurrentIndex(), queue.getCurrentIndex());
+        assertEquals(new QueueJournal.State(shuffled, looped, position), state);
+    }
+}
@@ -0,0 +1,110 @@
+package AudioController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures search latency on a synthetic catalog, without a database. Not a test; run its
+ * {@link #main} by hand, e.g. with {@code -Dtracks=500000}.
+ */
+public class SearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ten", "so", "vel", "an", "dor", "is", "ul", "ne", "ber", "chi",
+            "pa", "ri", "gon", "ma", "el", "tu", "shi", "wen", "zo", "fa", "li", "ost", "que", "ha"
+    };
+
+    private static final int RUNS = 50;
+
+    public static void main(String[] args) {
+        int trackCount = Integer.getInteger("tracks", 500_000);
+        Random random = new Random(42);
+        String[] words = vocabulary(random, 40_000);
+        String[] artists = names(random, words, 20_000, 2);
+        String[] albums = names(random, words, 60_000, 3);
+        String[] genres = names(random, words, 40, 1);
+
+        List<TrackInfo> tracks = new ArrayList<>(trackCount);
+        for (int audioID = 1; audioID <= trackCount; audioID++) {
+            int artistID = random.nextInt(artists.length);
+            int albumID = random.nextInt(albums.length);
+            int genreID = random.nextInt(genres.length);
+            tracks.add(new TrackInfo(audioID, name(random, words, 1 + random.nextInt(4)), 200, "track.mp3",
+                    null, 1.29, artistID, artists[artistID], albumID, albums[albumID], genreID, genres[genreID]));
+        }
+
+        SearchIndex index = SearchIndex.getInstance();
+        long start = System.nanoTime();
+        index.build(tracks);
+        System.out.printf("Built %,d tracks in %d ms: %s%n", trackCount, (System.nanoTime() - start) / 1_000_000,
+                index.getStats());
+
+        String artist = artists[7];
+        String word = artist.substring(0, artist.indexOf(' '));
+        measure(index, "exact artist", artist, SearchIndex.Field.ARTIST);
+        measure(index, "prefix", word.substring(0, Math.min(4, word.length())), null);
+        measure(index, "typo", typo(word), null);
+        measure(index, "typo, two terms", typo(word) + " " + artist.substring(artist.indexOf(' ') + 1), null);
+        measure(index, "half-typed typo", typo(word).substring(0, word.length() - 1), null);
+        measure(index, "genre (broad)", genres[3], null);
+        measure(index, "two letters", "ka", null);
+    }
+
+    private static void measure(SearchIndex index, String label, String query, SearchIndex.Field field) {
+        long[] nanos = new long[RUNS];
+        int hits = 0;
+        for (int warmup = 0; warmup < RUNS; warmup++) {
+            hits = index.search(query, field).size();
+        }
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            index.search(query, field);
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-16s %-24s %,8d hits  median %6.2f ms  p90 %6.2f ms%n", label, '"' + query + '"', hits,
+                nanos[RUNS / 2] / 1e6, nanos[RUNS * 9 / 10] / 1e6);
+    }
+
+    /**
+     * Swaps two adjacent letters in the middle of a word.
+     */
+    private static String typo(String word) {
+        int i = word.length() / 2;
+        return word.substring(0, i - 1) + word.charAt(i) + word.charAt(i - 1) + word.substring(i + 1);
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String[] names(Random random, String[] words, int count, int maxWords) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = name(random, words, maxWords == 1 ? 1 : 2 + random.nextInt(maxWords - 1));
+        }
+        return names;
+    }
+
+    private static String name(Random random, String[] words, int wordCount) {
+        StringBuilder name = new StringBuilder();
+        for (int w = 0; w < wordCount; w++) {
+            if (w > 0) {
+                name.append(' ');
+            }
+            name.append(words[random.nextInt(words.length)]);
+        }
+        return name.toString();
+    }
+}
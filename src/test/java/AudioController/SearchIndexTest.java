@@ -0,0 +1,55 @@
+package AudioController;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private static TrackInfo track(int audioID, String name, int genreID, String genreName) {
+        return new TrackInfo(audioID, name, 200, "track.mp3", null, 1.29,
+                1, "Frederic Chopin", 1, "Nocturnes", genreID, genreName);
+    }
+
+    @Test
+    void replacesAWholeGenre() {
+        List<TrackInfo> tracks = new ArrayList<>();
+        IntList genre = new IntList();
+        Map<Integer, TrackInfo> moved = new HashMap<>();
+        for (int audioID = 1; audioID <= 20_000; audioID++) {
+            boolean baroque = audioID % 2 == 0;
+            tracks.add(track(audioID, "Nocturne " + audioID, baroque ? 1 : 2, baroque ? "Baroque" : "Romantic"));
+            if (baroque) {
+                genre.add(audioID);
+                moved.put(audioID, track(audioID, "Nocturne " + audioID, 1, "Classical"));
+            }
+        }
+        SearchIndex index = SearchIndex.getInstance();
+        index.build(tracks);
+
+        index.replace(genre, moved);
+
+        assertTrue(index.search("baroque", SearchIndex.Field.GENRE).isEmpty());
+        assertEquals(10_000, index.search("classical", SearchIndex.Field.GENRE).size());
+        assertEquals(10_000, index.search("romantic", SearchIndex.Field.GENRE).size());
+        assertEquals(4, index.search("nocturne 4", SearchIndex.Field.TITLE).get(0));
+    }
+
+    @Test
+    void removesTracksMissingFromTheReplacement() {
+        SearchIndex index = SearchIndex.getInstance();
+        index.build(List.of(track(1, "Minute Waltz", 1, "Romantic"), track(2, "Raindrop Prelude", 1, "Romantic")));
+
+        index.replace(IntList.of(List.of(1)), Map.of());
+
+        assertTrue(index.search("waltz", null).isEmpty());
+        assertEquals(IntList.of(List.of(2)), index.search("romantic", null));
+        assertTrue(index.getStats().contains("tracks=1"), index.getStats());
+    }
+}
@@ -0,0 +1,202 @@
+package AudioController;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShuffleOrderTest {
+
+    @Test
+    void playsEveryTrackOnceARound() {
+        ShuffleOrder order = new ShuffleOrder(new Random(1));
+        order.reset(50, 7);
+        Set<Integer> played = new HashSet<>(List.of(7));
+        for (int i = 1; i < 50; i++) {
+            assertTrue(played.add(order.next(false)));
+        }
+        assertEquals(-1, order.peekNext(false));
+        assertEquals(-1, order.next(false));
+    }
+
+    @Test
+    void newRoundDoesNotRepeatTheLastTrack() {
+        ShuffleOrder order = new ShuffleOrder(new Random(2));
+        for (int round = 0; round < 200; round++) {
+            order.reset(3, 0);
+            order.next(false);
+            int last = order.next(false);
+            int first = order.peekNext(true);
+            assertNotEquals(last, first);
+            assertEquals(first, order.next(true));
+        }
+    }
+
+    @Test
+    void peekingIntoTheNextRoundChangesNothing() {
+        ShuffleOrder order = new ShuffleOrder(new Random(3));
+        order.reset(4, 0);
+        for (int i = 0; i < 3; i++) {
+            order.next(false);
+        }
+        int current = order.getCurrent();
+
+        // Loop turned on and off again: the queue must still end here
+        int peeked = order.peekNext(true);
+        assertEquals(peeked, order.peekNext(true));
+        assertEquals(-1, order.peekNext(false));
+        assertEquals(-1, order.next(false));
+        assertEquals(current, order.getCurrent());
+
+        assertEquals(peeked, order.next(true));
+        Set<Integer> round = new HashSet<>(List.of(peeked));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(round.add(order.next(false)));
+        }
+        assertEquals(-1, order.next(false));
+    }
+
+    @Test
+    void previousAndNextRetraceTheHistory() {
+        ShuffleOrder order = new ShuffleOrder(new Random(4));
+        order.reset(10, 0);
+        List<Integer> history = new ArrayList<>(List.of(0));
+        for (int i = 0; i < 5; i++) {
+            history.add(order.next(false));
+        }
+        for (int i = history.size() - 2; i >= 0; i--) {
+            assertEquals(history.get(i), order.previous());
+        }
+        assertEquals(-1, order.previous());
+        for (int i = 1; i < history.size(); i++) {
+            assertEquals(history.get(i), order.peekNext(false));
+            assertEquals(history.get(i), order.next(false));
+        }
+    }
+
+    /**
+     * Runs random operations against a model that tracks queue entries by identity, so index shifts
+     * caused by removals are checked too.
+     */
+    @Test
+    void randomOperationsMatchModel() {
+        for (long seed = 0; seed < 50; seed++) {
+            runModel(seed);
+        }
+    }
+
+    private static void runModel(long seed) {
+        Random random = new Random(seed);
+        ShuffleOrder order = new ShuffleOrder(new Random(seed + 1000));
+
+        List<Integer> queue = new ArrayList<>();
+        int nextID = 0;
+        int size = 1 + random.nextInt(12);
+        for (int i = 0; i < size; i++) {
+            queue.add(nextID++);
+        }
+        int start = random.nextInt(size);
+        order.reset(size, start);
+
+        Integer current = queue.get(start);
+        Set<Integer> playedThisRound = new HashSet<>(List.of(current));
+        List<Integer> back = new ArrayList<>();
+        List<Integer> forward = new ArrayList<>();
+
+        for (int step = 0; step < 2000; step++) {
+            String context = "seed " + seed + ", step " + step;
+            switch (random.nextInt(8)) {
+                case 0, 1, 2 -> {
+                    boolean looped = random.nextBoolean();
+                    int peeked = order.peekNext(looped);
+                    int next = order.next(looped);
+                    assertEquals(peeked, next, context);
+                    if (!forward.isEmpty()) {
+                        assertEquals(queue.indexOf(forward.remove(forward.size() - 1)), next, context);
+                    } else if (playedThisRound.size() < queue.size()) {
+                        assertFalse(playedThisRound.contains(queue.get(next)), context);
+                        playedThisRound.add(queue.get(next));
+                    } else if (!looped || queue.isEmpty()) {
+                        assertEquals(-1, next, context);
+                        continue;
+                    } else {
+                        if (queue.size() > 1) {
+                            assertNotEquals(queue.indexOf(current), next, context);
+                        }
+                        playedThisRound.clear();
+                        playedThisRound.add(queue.get(next));
+                    }
+                    if (current != null) {
+                        back.add(current);
+                    }
+                    current = queue.get(next);
+                }
+                case 3 -> {
+                    int previous = order.previous();
+                    if (back.isEmpty()) {
+                        assertEquals(-1, previous, context);
+                    } else {
+                        assertEquals(queue.indexOf(back.get(back.size() - 1)), previous, context);
+                        if (current != null) {
+                            forward.add(current);
+                        }
+                        current = back.remove(back.size() - 1);
+                    }
+                }
+                case 4 -> {
+                    if (queue.isEmpty()) {
+                        continue;
+                    }
+                    int index = random.nextInt(queue.size());
+                    order.jumpTo(index);
+                    if (!queue.get(index).equals(current)) {
+                        if (current != null) {
+                            back.add(current);
+                        }
+                        forward.clear();
+                        current = queue.get(index);
+                        playedThisRound.add(current);
+                    }
+                }
+                case 5 -> {
+                    order.add();
+                    queue.add(nextID++);
+                }
+                case 6 -> {
+                    if (queue.isEmpty()) {
+                        continue;
+                    }
+                    int index = random.nextInt(queue.size());
+                    order.remove(index);
+                    Integer removed = queue.remove(index);
+                    playedThisRound.remove(removed);
+                    back.removeIf(removed::equals);
+                    forward.removeIf(removed::equals);
+                    if (removed.equals(current)) {
+                        current = null;
+                    }
+                }
+                default -> {
+                    // Peeking with either setting must not change what comes next
+                    int peekedLooped = order.peekNext(true);
+                    int peekedOnce = order.peekNext(false);
+                    assertEquals(peekedLooped, order.peekNext(true), context);
+                    assertEquals(peekedOnce, order.peekNext(false), context);
+                    if (peekedOnce != -1) {
+                        assertEquals(peekedOnce, peekedLooped, context);
+                    }
+                }
+            }
+            assertEquals(queue.size(), order.size(), context);
+            assertEquals(current == null ? -1 : queue.indexOf(current), order.getCurrent(), context);
+        }
+    }
+}
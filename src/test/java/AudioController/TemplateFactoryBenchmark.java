@@ -0,0 +1,104 @@
+package AudioController;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures how many template rows the FX thread creates per second: with a new {@link FXMLLoader} per
+ * row, as the scenes used to, through {@link TemplateFactory#load} with nothing prepared, and when
+ * taking spare rows from a {@linkplain TemplateFactory#prepare prepared} template. Not a test; run
+ * its {@link #main} by hand, e.g. with {@code -Drows=2000}, on a machine with a display or headless
+ * with Monocle ({@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw} and
+ * the openjfx-monocle jar patched into {@code javafx.graphics}).
+ */
+public class TemplateFactoryBenchmark {
+
+    private static final String[] TEMPLATES = {
+            "/FXMLs/songlisttemplateScene.fxml",
+            "/FXMLs/songcardtemplateScene.fxml",
+            "/FXMLs/librarylisttemplateScene.fxml"
+    };
+
+    // Rows taken at once from a prepared template, about what one screen of a list needs
+    private static final int SCREEN_ROWS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("rows", 2000);
+        Platform.startup(() -> {});
+        try {
+            IconRegistry.preloadAll();
+            for (String fxmlPath : TEMPLATES) {
+                measure(fxmlPath, rows);
+            }
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    private static void measure(String fxmlPath, int rows) throws Exception {
+        URL location = TemplateFactoryBenchmark.class.getResource(fxmlPath);
+
+        // Warm up both ways with the same number of rows first
+        onFxThread(() -> createUncached(location, rows));
+        onFxThread(() -> createThroughFactory(fxmlPath, rows));
+        long uncached = onFxThread(() -> createUncached(location, rows));
+        long factory = onFxThread(() -> createThroughFactory(fxmlPath, rows));
+
+        TemplateFactory.prepare(fxmlPath, SCREEN_ROWS);
+        long spareNanos = 0;
+        int screens = Math.max(1, rows / SCREEN_ROWS);
+        for (int screen = 0; screen < screens; screen++) {
+            while (TemplateFactory.getSpareCount(fxmlPath) < SCREEN_ROWS) {
+                Thread.sleep(1);
+            }
+            spareNanos += onFxThread(() -> createThroughFactory(fxmlPath, SCREEN_ROWS));
+        }
+        TemplateFactory.prepare(fxmlPath, 0);
+
+        System.out.printf("%-40s new FXMLLoader %,8.0f rows/s   factory %,8.0f rows/s   prepared %,10.0f rows/s%n",
+                fxmlPath, rowsPerSecond(rows, uncached), rowsPerSecond(rows, factory),
+                rowsPerSecond(screens * SCREEN_ROWS, spareNanos));
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows * 1e9 / nanos;
+    }
+
+    private static void createUncached(URL location, int rows) {
+        try {
+            for (int i = 0; i < rows; i++) {
+                new FXMLLoader(location).load();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void createThroughFactory(String fxmlPath, int rows) {
+        for (int i = 0; i < rows; i++) {
+            TemplateFactory.load(fxmlPath);
+        }
+    }
+
+    /**
+     * Runs a task on the FX thread and returns how long it took there.
+     */
+    private static long onFxThread(Runnable task) throws Exception {
+        CompletableFuture<Long> elapsed = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                long start = System.nanoTime();
+                task.run();
+                elapsed.complete(System.nanoTime() - start);
+            } catch (Throwable e) {
+                elapsed.completeExceptionally(e);
+            }
+        });
+        return elapsed.get();
+    }
+}
@@ -0,0 +1,51 @@
+package AudioController;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void findsTermsWithinTheEditBudget() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("chopin");
+        index.add("chapman");
+        index.add("debussy");
+
+        assertEquals(List.of(new TrigramIndex.Match("chopin", 1)), index.find("chopn", 1));
+        assertEquals(List.of(new TrigramIndex.Match("chopin", 1)), index.find("cohpin", 1)); // Transposition
+        assertEquals(List.of(new TrigramIndex.Match("debussy", 1)), index.find("debusy", 1));
+        assertTrue(index.find("mozart", 2).isEmpty());
+    }
+
+    @Test
+    void matchesAHalfTypedMisspelling() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("rachmaninoff");
+        assertEquals(List.of(new TrigramIndex.Match("rachmaninoff", 1)), index.find("rachmanin0", 1));
+    }
+
+    @Test
+    void removedTermsAreNotFoundAndTheirIDsAreReused() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("chopin");
+        index.add("chopin");
+        assertEquals(1, index.size());
+        index.remove("chopin");
+        assertTrue(index.find("chopin", 1).isEmpty());
+        index.add("schubert");
+        assertEquals(List.of(new TrigramIndex.Match("schubert", 1)), index.find("shubert", 1));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void prefixDistanceIsMeasuredAgainstTheClosestPrefix() {
+        assertEquals(0, TrigramIndex.prefixDistance("beet", "beethoven", 2));
+        assertEquals(1, TrigramIndex.prefixDistance("bete", "beethoven", 2));
+        assertEquals(3, TrigramIndex.prefixDistance("xyz", "beethoven", 2));
+    }
+}